@@ -0,0 +1,54 @@
+package com.bank.crm.model;
+
+import java.sql.Timestamp;
+
+public class Account {
+    private final int id;
+    private final int userId;
+    private final String accountNumber;
+    private final String type;
+    private final double balance;
+    private final String status;
+    private final Timestamp createdAt;
+
+    public Account(int id, int userId, String accountNumber, String type, double balance, String status,
+                   Timestamp createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.accountNumber = accountNumber;
+        this.type = type;
+        this.balance = balance;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    // SAVINGS or CURRENT
+    public String getType() {
+        return type;
+    }
+
+    // As read; concurrent postings may have changed it since
+    public double getBalance() {
+        return balance;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+}
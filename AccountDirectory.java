@@ -0,0 +1,209 @@
+package com.bank.crm.search;
+
+import com.bank.crm.database.ChangeLog;
+import com.bank.crm.database.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// In-memory set of active account numbers so the transfer dialog can validate and
+// autocomplete recipients without borrowing a database connection
+public class AccountDirectory {
+    private static final Logger LOGGER = Logger.getLogger(AccountDirectory.class.getName());
+
+    // Other instances' openings and closures arrive through the change log; tailing by id and
+    // the periodic full reload are the fallback if an event is missed
+    private static final long REFRESH_INTERVAL_SECONDS = 30;
+    private static final long FULL_RELOAD_MINUTES = 10;
+
+    private static final String TOPIC = "account";
+
+    private static final AccountDirectory INSTANCE = new AccountDirectory();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService scheduler;
+    private AccountNumberTrie trie = new AccountNumberTrie();
+    private int lastAccountId;
+    private volatile boolean ready;
+    private boolean started;
+
+    private AccountDirectory() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "account-directory");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ChangeLog.getInstance().subscribe(TOPIC, this::changedElsewhere);
+    }
+
+    public static AccountDirectory getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                reload();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Error loading account directory", e);
+            }
+        }, 0, FULL_RELOAD_MINUTES, TimeUnit.MINUTES);
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                catchUp();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Error updating account directory", e);
+            }
+        }, REFRESH_INTERVAL_SECONDS, REFRESH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean contains(String accountNumber) {
+        lock.readLock().lock();
+        try {
+            return trie.contains(accountNumber);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<String> complete(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return trie.complete(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void accountOpened(String accountNumber) {
+        add(accountNumber);
+        ChangeLog.getInstance().publish(TOPIC, accountNumber);
+    }
+
+    public void accountClosed(String accountNumber) {
+        remove(accountNumber);
+        ChangeLog.getInstance().publish(TOPIC, accountNumber);
+    }
+
+    // Other instances reload rather than look up each imported account
+    public void accountsImported(Collection<String> accountNumbers) {
+        lock.writeLock().lock();
+        try {
+            for (String accountNumber : accountNumbers) {
+                trie.add(accountNumber);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ChangeLog.getInstance().publish(TOPIC, ChangeLog.ALL);
+    }
+
+    private void add(String accountNumber) {
+        lock.writeLock().lock();
+        try {
+            trie.add(accountNumber);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(String accountNumber) {
+        lock.writeLock().lock();
+        try {
+            trie.remove(accountNumber);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Runs on the change log thread, so the lookup goes to this directory's own thread
+    private void changedElsewhere(String accountNumber) {
+        scheduler.execute(() -> {
+            try {
+                if (ChangeLog.ALL.equals(accountNumber)) {
+                    reload();
+                } else {
+                    refresh(accountNumber);
+                }
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Error refreshing account " + accountNumber, e);
+            }
+        });
+    }
+
+    private void refresh(String accountNumber) throws SQLException {
+        String query = "SELECT status FROM accounts WHERE account_number = ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, accountNumber);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next() && "ACTIVE".equals(rs.getString("status"))) {
+                    add(accountNumber);
+                } else {
+                    remove(accountNumber);
+                }
+            }
+        }
+    }
+
+    private void reload() throws SQLException {
+        long start = System.nanoTime();
+        AccountNumberTrie loaded = new AccountNumberTrie();
+        int maxId = 0;
+        String query = "SELECT id, account_number FROM accounts WHERE status = 'ACTIVE'";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    loaded.add(rs.getString("account_number"));
+                    maxId = Math.max(maxId, rs.getInt("id"));
+                }
+            }
+        }
+
+        // Built aside and swapped in, so lookups never see a half loaded trie
+        lock.writeLock().lock();
+        try {
+            trie = loaded;
+            lastAccountId = Math.max(lastAccountId, maxId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        LOGGER.info("Account directory loaded " + loaded.size() + " accounts in " +
+                (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private void catchUp() throws SQLException {
+        String query = "SELECT id, account_number FROM accounts WHERE id > ? AND status = 'ACTIVE' ORDER BY id";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, lastAccountId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    add(rs.getString("account_number"));
+                    lastAccountId = rs.getInt("id");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.bank.crm.customer;
+
+import com.bank.crm.database.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Hands out account numbers from blocks reserved on the account_number sequence, so a bulk
+// import costs two queries per block instead of a random pick and a lookup per account.
+// Numbers already taken by the random picks made before the sequence existed are skipped when the block is reserved.
+public class AccountNumberAllocator {
+    public static final int DEFAULT_BLOCK_SIZE = 1000;
+    private static final String SEQUENCE = "account_number";
+
+    private final int blockSize;
+    private final Deque<String> available = new ArrayDeque<>();
+
+    public AccountNumberAllocator() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    public AccountNumberAllocator(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.blockSize = blockSize;
+    }
+
+    public synchronized List<String> allocate(int count) throws SQLException {
+        while (available.size() < count) {
+            reserveBlock();
+        }
+        List<String> numbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            numbers.add(available.poll());
+        }
+        return numbers;
+    }
+
+    // Own autocommit connection: a reserved block stays reserved even if the import chunk
+    // that asked for it rolls back, which only leaves a gap in the sequence
+    private void reserveBlock() throws SQLException {
+        long end;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            String reserve = "UPDATE sequences SET next_value = LAST_INSERT_ID(next_value + ?) WHERE name = ?";
+            try (PreparedStatement stmt = conn.prepareStatement(reserve)) {
+                stmt.setInt(1, blockSize);
+                stmt.setString(2, SEQUENCE);
+                if (stmt.executeUpdate() == 0) {
+                    throw new SQLException("Sequence not found: " + SEQUENCE);
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT LAST_INSERT_ID()");
+                 ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                end = rs.getLong(1);
+            }
+
+            long start = end - blockSize;
+            Set<String> taken = new HashSet<>();
+            String query = "SELECT account_number FROM accounts WHERE account_number BETWEEN ? AND ?";
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setString(1, String.valueOf(start));
+                stmt.setString(2, String.valueOf(end - 1));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        taken.add(rs.getString("account_number"));
+                    }
+                }
+            }
+            for (long number = start; number < end; number++) {
+                String accountNumber = String.valueOf(number);
+                if (!taken.contains(accountNumber)) {
+                    available.add(accountNumber);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.bank.crm.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Compact radix trie: each edge holds a run of characters, so the mostly numeric,
+// shared-prefix account numbers need a few nodes per branch point instead of one per digit.
+// Not thread safe; AccountDirectory guards it.
+final class AccountNumberTrie {
+    private final Node root = new Node("");
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean add(String key) {
+        Node node = root;
+        int position = 0;
+        while (true) {
+            if (position == key.length()) {
+                if (node.terminal) {
+                    return false;
+                }
+                node.terminal = true;
+                size++;
+                return true;
+            }
+            int index = node.childIndex(key.charAt(position));
+            if (index < 0) {
+                node.insertChild(-index - 1, new Node(key.substring(position), true));
+                size++;
+                return true;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, position);
+            if (common == child.label.length()) {
+                node = child;
+                position += common;
+                continue;
+            }
+            // Split the edge where the new key diverges
+            Node split = new Node(child.label.substring(0, common));
+            child.label = child.label.substring(common);
+            split.children = new Node[]{child};
+            node.children[index] = split;
+            node = split;
+            position += common;
+        }
+    }
+
+    boolean remove(String key) {
+        Node parent = null;
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = node.childIndex(key.charAt(position));
+            if (index < 0) {
+                return false;
+            }
+            Node child = node.children[index];
+            if (!key.startsWith(child.label, position)) {
+                return false;
+            }
+            parent = node;
+            node = child;
+            position += child.label.length();
+        }
+        if (!node.terminal) {
+            return false;
+        }
+        node.terminal = false;
+        size--;
+
+        // Drop the now empty leaf, then merge a single remaining child back into its parent edge
+        if (parent != null && node.children.length == 0) {
+            parent.removeChild(node.label.charAt(0));
+            node = parent;
+        }
+        if (node != root && !node.terminal && node.children.length == 1) {
+            Node only = node.children[0];
+            node.label = node.label + only.label;
+            node.terminal = only.terminal;
+            node.children = only.children;
+        }
+        return true;
+    }
+
+    boolean contains(String key) {
+        Node node = find(key);
+        return node != null && node.terminal;
+    }
+
+    // Up to limit keys starting with prefix, in lexicographic order
+    List<String> complete(String prefix, int limit) {
+        List<String> results = new ArrayList<>();
+        Node node = root;
+        int position = 0;
+        StringBuilder path = new StringBuilder();
+        while (position < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(position));
+            if (index < 0) {
+                return results;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, prefix, position);
+            if (common < child.label.length() && position + common < prefix.length()) {
+                return results;
+            }
+            path.append(child.label);
+            node = child;
+            position += child.label.length();
+        }
+        collect(node, path, results, limit);
+        return results;
+    }
+
+    private void collect(Node node, StringBuilder path, List<String> results, int limit) {
+        if (results.size() >= limit) {
+            return;
+        }
+        if (node.terminal) {
+            results.add(path.toString());
+        }
+        for (Node child : node.children) {
+            int length = path.length();
+            path.append(child.label);
+            collect(child, path, results, limit);
+            path.setLength(length);
+            if (results.size() >= limit) {
+                return;
+            }
+        }
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = node.childIndex(key.charAt(position));
+            if (index < 0) {
+                return null;
+            }
+            Node child = node.children[index];
+            if (!key.startsWith(child.label, position)) {
+                return null;
+            }
+            node = child;
+            position += child.label.length();
+        }
+        return node;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        String label;
+        boolean terminal;
+        // Sorted by first label character
+        Node[] children = NO_CHILDREN;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node(String label, boolean terminal) {
+            this.label = label;
+            this.terminal = terminal;
+        }
+
+        int childIndex(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insertChild(int index, Node child) {
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, index);
+            grown[index] = child;
+            System.arraycopy(children, index, grown, index + 1, children.length - index);
+            children = grown;
+        }
+
+        void removeChild(char first) {
+            int index = childIndex(first);
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.bank.crm.service;
+
+import com.bank.crm.customer.AccountNumberAllocator;
+import com.bank.crm.customer.Customer360Service;
+import com.bank.crm.database.DatabaseConnection;
+import com.bank.crm.metrics.Metrics;
+import com.bank.crm.model.Account;
+import com.bank.crm.model.Transaction;
+import com.bank.crm.notification.NotificationOutbox;
+import com.bank.crm.report.ReportCache;
+import com.bank.crm.search.AccountDirectory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+// Accounts and single-account postings. Safe to call from any thread; every method uses its
+// own connection, and balance checks are made by the UPDATE itself so concurrent debits
+// cannot overdraw an account.
+public class AccountService {
+    private static final Logger LOGGER = Logger.getLogger(AccountService.class.getName());
+
+    // Interactive openings reserve small blocks so few numbers go unused when the app exits
+    private static final int ACCOUNT_NUMBER_BLOCK = 50;
+    static final String ACCOUNT_COLUMNS = "id, user_id, account_number, type, balance, status, created_at";
+
+    private static final AccountService INSTANCE = new AccountService();
+
+    private final AccountNumberAllocator allocator = new AccountNumberAllocator(ACCOUNT_NUMBER_BLOCK);
+
+    public static AccountService getInstance() {
+        return INSTANCE;
+    }
+
+    // The account the customer dashboard shows and posts to, or null if the user has none
+    public Account getPrimaryAccount(int userId) throws SQLException {
+        return Metrics.time("account.getPrimaryAccount", () -> {
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                return findPrimaryAccount(conn, userId, false);
+            }
+        });
+    }
+
+    public List<Account> getAccounts(int userId) throws SQLException {
+        return Metrics.time("account.getAccounts", () -> {
+            String query = "SELECT " + ACCOUNT_COLUMNS + " FROM accounts WHERE user_id = ? ORDER BY id";
+            List<Account> accounts = new ArrayList<>();
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setInt(1, userId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        accounts.add(readAccount(rs));
+                    }
+                }
+            }
+            return accounts;
+        });
+    }
+
+    public Account openAccount(int userId, String type, double initialBalance) throws SQLException {
+        return Metrics.time("account.openAccount", () -> {
+            Account account;
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                conn.setAutoCommit(false);
+                try {
+                    account = insertAccount(conn, userId, type, initialBalance);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            }
+            accountOpened(account);
+            return account;
+        });
+    }
+
+    public Transaction deposit(int userId, double amount, String description) throws SQLException {
+        return Metrics.time("account.deposit", () -> post(userId, "CREDIT", amount, description));
+    }
+
+    public Transaction withdraw(int userId, double amount, String description) throws SQLException {
+        return Metrics.time("account.withdraw", () -> {
+            Transaction transaction = post(userId, "DEBIT", amount, description);
+            if (amount >= NotificationOutbox.LARGE_DEBIT_THRESHOLD) {
+                NotificationOutbox.getInstance().largeDebit(userId, amount);
+            }
+            return transaction;
+        });
+    }
+
+    // Newest first, across all of the user's accounts
+    public List<Transaction> getTransactions(int userId) throws SQLException {
+        return getTransactions(userId, -1);
+    }
+
+    // The newest limit transactions, or all of them when limit is negative
+    public List<Transaction> getTransactions(int userId, int limit) throws SQLException {
+        return Metrics.time("account.getTransactions", () -> {
+            String query = "SELECT t.id, t.account_id, t.type, t.amount, t.description, t.created_at " +
+                    "FROM transactions t JOIN accounts a ON t.account_id = a.id " +
+                    "WHERE a.user_id = ? ORDER BY t.created_at DESC" + (limit >= 0 ? " LIMIT ?" : "");
+            List<Transaction> transactions = new ArrayList<>();
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setInt(1, userId);
+                if (limit >= 0) {
+                    stmt.setInt(2, limit);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        transactions.add(new Transaction(rs.getInt("id"), rs.getInt("account_id"), rs.getString("type"),
+                                rs.getDouble("amount"), rs.getString("description"), rs.getTimestamp("created_at")));
+                    }
+                }
+            }
+            return transactions;
+        });
+    }
+
+    private Transaction post(int userId, String type, double amount, String description) throws SQLException {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive: " + amount);
+        }
+        Transaction transaction;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Account account = findPrimaryAccount(conn, userId, true);
+                if (account == null) {
+                    throw new SQLException("Account not found");
+                }
+                if (type.equals("CREDIT")) {
+                    credit(conn, account.getId(), amount);
+                } else {
+                    debit(conn, account.getId(), amount);
+                }
+                transaction = insertTransaction(conn, account.getId(), type, amount, description);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        Customer360Service.getInstance().invalidate(userId);
+        return transaction;
+    }
+
+    // Inserts within the caller's transaction; call accountOpened once it commits
+    Account insertAccount(Connection conn, int userId, String type, double initialBalance) throws SQLException {
+        if (initialBalance < 0) {
+            throw new IllegalArgumentException("Initial balance cannot be negative: " + initialBalance);
+        }
+        String accountNumber = allocator.allocate(1).get(0);
+        String query = "INSERT INTO accounts (user_id, account_number, type, balance, status) VALUES (?, ?, ?, ?, 'ACTIVE')";
+        int accountId;
+        try (PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setInt(1, userId);
+            stmt.setString(2, accountNumber);
+            stmt.setString(3, type);
+            stmt.setDouble(4, initialBalance);
+            stmt.executeUpdate();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (!rs.next()) {
+                    throw new SQLException("Error creating account");
+                }
+                accountId = rs.getInt(1);
+            }
+        }
+        if (initialBalance > 0) {
+            insertTransaction(conn, accountId, "CREDIT", initialBalance, "Initial deposit");
+        }
+        return new Account(accountId, userId, accountNumber, type, initialBalance, "ACTIVE", null);
+    }
+
+    void accountOpened(Account account) {
+        ReportCache.getInstance().invalidate(ReportCache.CUSTOMER_STATISTICS);
+        AccountDirectory.getInstance().accountOpened(account.getAccountNumber());
+        Customer360Service.getInstance().invalidate(account.getUserId());
+        LOGGER.info("Opened account " + account.getAccountNumber() + " for user " + account.getUserId());
+    }
+
+    static Account findPrimaryAccount(Connection conn, int userId, boolean forUpdate) throws SQLException {
+        String query = "SELECT " + ACCOUNT_COLUMNS + " FROM accounts WHERE user_id = ? ORDER BY id LIMIT 1" +
+                (forUpdate ? " FOR UPDATE" : "");
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? readAccount(rs) : null;
+            }
+        }
+    }
+
+    // The balance check and the update are one statement, so two debits cannot both pass it
+    static void debit(Connection conn, int accountId, double amount) throws SQLException {
+        String query = "UPDATE accounts SET balance = balance - ? WHERE id = ? AND balance >= ?";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setDouble(1, amount);
+            stmt.setInt(2, accountId);
+            stmt.setDouble(3, amount);
+            if (stmt.executeUpdate() == 0) {
+                throw new SQLException("Insufficient balance");
+            }
+        }
+    }
+
+    static void credit(Connection conn, int accountId, double amount) throws SQLException {
+        String query = "UPDATE accounts SET balance = balance + ? WHERE id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setDouble(1, amount);
+            stmt.setInt(2, accountId);
+            stmt.executeUpdate();
+        }
+    }
+
+    static Transaction insertTransaction(Connection conn, int accountId, String type, double amount,
+                                         String description) throws SQLException {
+        String query = "INSERT INTO transactions (account_id, type, amount, description) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setInt(1, accountId);
+            stmt.setString(2, type);
+            stmt.setDouble(3, amount);
+            stmt.setString(4, description);
+            stmt.executeUpdate();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                int id = rs.next() ? rs.getInt(1) : 0;
+                return new Transaction(id, accountId, type, amount, description, null);
+            }
+        }
+    }
+
+    static Account readAccount(ResultSet rs) throws SQLException {
+        return new Account(rs.getInt("id"), rs.getInt("user_id"), rs.getString("account_number"),
+                rs.getString("type"), rs.getDouble("balance"), rs.getString("status"), rs.getTimestamp("created_at"));
+    }
+}
@@ -0,0 +1,251 @@
+package com.bank.crm.analytics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+public class AnalyticsEngine {
+    private static final Logger LOGGER = Logger.getLogger(AnalyticsEngine.class.getName());
+
+    private static final long REBUILD_INTERVAL_MINUTES = 15;
+    // Rows handled per parallel task; large enough to amortize task overhead
+    private static final int PARTITION_SIZE = 1 << 16;
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private static final Path SNAPSHOT_FILE =
+            Paths.get(System.getProperty("user.home"), ".crm_bank", "transactions.snapshot");
+
+    private static final AnalyticsEngine INSTANCE = new AnalyticsEngine();
+
+    public enum GroupBy {
+        TYPE, STATUS, ACCOUNT_TYPE, DAY
+    }
+
+    private final ScheduledExecutorService scheduler;
+    private volatile TransactionSnapshot snapshot;
+    // Completed by the first snapshot loaded or built, or by the first failure if there is none yet
+    private final CompletableFuture<TransactionSnapshot> ready = new CompletableFuture<>();
+    private boolean started;
+
+    private AnalyticsEngine() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "analytics-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static AnalyticsEngine getInstance() {
+        return INSTANCE;
+    }
+
+    // Returns at once; the persisted snapshot is read and the first rebuild runs on the
+    // snapshot thread, so callers on the EDT use whenReady() to learn when data is available
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        scheduler.execute(this::loadPersisted);
+        scheduler.scheduleWithFixedDelay(this::rebuildQuietly, 0, REBUILD_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    public TransactionSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public CompletableFuture<TransactionSnapshot> whenReady() {
+        return ready;
+    }
+
+    private void loadPersisted() {
+        if (snapshot != null || !Files.exists(SNAPSHOT_FILE)) {
+            return;
+        }
+        try {
+            TransactionSnapshot loaded = TransactionSnapshot.readFrom(SNAPSHOT_FILE);
+            snapshot = loaded;
+            LOGGER.info("Loaded analytics snapshot with " + loaded.getRowCount() + " transactions");
+            ready.complete(loaded);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Ignoring unreadable analytics snapshot", e);
+        }
+    }
+
+    public TransactionSnapshot rebuild() throws SQLException {
+        long start = System.nanoTime();
+        TransactionSnapshot rebuilt = TransactionSnapshot.build();
+        snapshot = rebuilt;
+        ready.complete(rebuilt);
+        LOGGER.info("Analytics snapshot rebuilt with " + rebuilt.getRowCount() + " transactions in " +
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        try {
+            rebuilt.writeTo(SNAPSHOT_FILE);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error persisting analytics snapshot", e);
+        }
+        return rebuilt;
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (SQLException | RuntimeException e) {
+            // Caught so one failed build neither ends the schedule nor leaves whenReady() pending
+            LOGGER.log(Level.WARNING, "Error rebuilding analytics snapshot", e);
+            // Does nothing if a snapshot was already available
+            ready.completeExceptionally(e);
+        }
+    }
+
+    // Sums count and amount per group for transactions created in [fromEpochSecond, toEpochSecond)
+    public List<GroupResult> query(GroupBy groupBy, long fromEpochSecond, long toEpochSecond) {
+        TransactionSnapshot data = snapshot;
+        if (data == null || data.rowCount == 0) {
+            return new ArrayList<>();
+        }
+
+        byte[] codes;
+        int groupCount;
+        long firstDay = 0;
+        switch (groupBy) {
+            case TYPE:
+                codes = data.typeCodes;
+                groupCount = data.typeDictionary.length;
+                break;
+            case STATUS:
+                codes = data.statusCodes;
+                groupCount = data.statusDictionary.length;
+                break;
+            case ACCOUNT_TYPE:
+                codes = data.accountTypeCodes;
+                groupCount = data.accountTypeDictionary.length;
+                break;
+            case DAY:
+                codes = null;
+                firstDay = Math.floorDiv(Math.max(fromEpochSecond, minTimestamp(data)), SECONDS_PER_DAY);
+                long lastDay = Math.floorDiv(Math.min(toEpochSecond - 1, maxTimestamp(data)), SECONDS_PER_DAY);
+                groupCount = (int) Math.max(0, lastDay - firstDay + 1);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported grouping: " + groupBy);
+        }
+        if (groupCount == 0) {
+            return new ArrayList<>();
+        }
+
+        int partitions = (data.rowCount + PARTITION_SIZE - 1) / PARTITION_SIZE;
+        int groups = groupCount;
+        long dayBase = firstDay;
+        long[][] partials = IntStream.range(0, partitions).parallel().mapToObj(partition -> {
+            int from = partition * PARTITION_SIZE;
+            int to = Math.min(from + PARTITION_SIZE, data.rowCount);
+            // counts in [0, groups), sums in [groups, 2 * groups)
+            long[] totals = new long[groups * 2];
+            long[] timestamps = data.createdAtEpochSeconds;
+            long[] amounts = data.amountCents;
+            if (codes != null) {
+                for (int row = from; row < to; row++) {
+                    long ts = timestamps[row];
+                    if (ts >= fromEpochSecond && ts < toEpochSecond) {
+                        int group = codes[row];
+                        totals[group]++;
+                        totals[groups + group] += amounts[row];
+                    }
+                }
+            } else {
+                for (int row = from; row < to; row++) {
+                    long ts = timestamps[row];
+                    if (ts >= fromEpochSecond && ts < toEpochSecond) {
+                        int group = (int) (ts / SECONDS_PER_DAY - dayBase);
+                        totals[group]++;
+                        totals[groups + group] += amounts[row];
+                    }
+                }
+            }
+            return totals;
+        }).toArray(long[][]::new);
+
+        long[] merged = new long[groups * 2];
+        for (long[] partial : partials) {
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += partial[i];
+            }
+        }
+
+        List<GroupResult> results = new ArrayList<>();
+        for (int group = 0; group < groups; group++) {
+            if (merged[group] == 0) {
+                continue;
+            }
+            String label;
+            switch (groupBy) {
+                case TYPE:
+                    label = data.typeDictionary[group];
+                    break;
+                case STATUS:
+                    label = data.statusDictionary[group];
+                    break;
+                case ACCOUNT_TYPE:
+                    label = data.accountTypeDictionary[group];
+                    break;
+                default:
+                    label = LocalDate.ofEpochDay(firstDay + group).toString();
+            }
+            results.add(new GroupResult(label, merged[group], merged[groups + group]));
+        }
+        return results;
+    }
+
+    private static long minTimestamp(TransactionSnapshot data) {
+        long min = Long.MAX_VALUE;
+        for (long ts : data.createdAtEpochSeconds) {
+            min = Math.min(min, ts);
+        }
+        return min;
+    }
+
+    private static long maxTimestamp(TransactionSnapshot data) {
+        long max = Long.MIN_VALUE;
+        for (long ts : data.createdAtEpochSeconds) {
+            max = Math.max(max, ts);
+        }
+        return max;
+    }
+
+    public static final class GroupResult {
+        private final String label;
+        private final long count;
+        private final long amountCents;
+
+        GroupResult(String label, long count, long amountCents) {
+            this.label = label;
+            this.count = count;
+            this.amountCents = amountCents;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getAmount() {
+            return amountCents / 100.0;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.bank.crm.dashboard;
+
+import com.bank.crm.notification.Broadcast;
+import com.bank.crm.notification.BroadcastService;
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Strip along the bottom of a dashboard showing unread announcements for the user's role, one
+// at a time. Hidden until the first load finds something to show; the load runs off the EDT
+// because it may reload broadcasts from the database.
+public class AnnouncementPanel extends JPanel {
+    private static final Logger LOGGER = Logger.getLogger(AnnouncementPanel.class.getName());
+
+    private final int userId;
+    private final JLabel messageLabel = new JLabel();
+    private List<Broadcast> unread;
+
+    public AnnouncementPanel(int userId, String role) {
+        super(new BorderLayout(10, 0));
+        this.userId = userId;
+        setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+        JButton dismissButton = new JButton("Dismiss");
+        add(messageLabel, BorderLayout.CENTER);
+        add(dismissButton, BorderLayout.EAST);
+        setVisible(false);
+
+        dismissButton.addActionListener(e -> dismiss());
+
+        SwingWorker<List<Broadcast>, Void> worker = new SwingWorker<>() {
+            @Override
+            protected List<Broadcast> doInBackground() throws Exception {
+                // Read state is checked against the in-memory bitmaps
+                return BroadcastService.getInstance().getUnread(userId, role);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    unread = get();
+                    showNext();
+                } catch (Exception e) {
+                    LOGGER.log(Level.WARNING, "Error loading announcements", e);
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    private void dismiss() {
+        Broadcast current = unread.remove(0);
+        BroadcastService.getInstance().markRead(current.getId(), userId);
+        showNext();
+    }
+
+    private void showNext() {
+        if (unread.isEmpty()) {
+            setVisible(false);
+            return;
+        }
+        messageLabel.setText("Announcement: " + unread.get(0).getMessage());
+        setVisible(true);
+    }
+}
@@ -0,0 +1,113 @@
+package com.bank.crm.api;
+
+import com.bank.crm.metrics.LatencyHistogram;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fires requests at the API with a fixed number in flight and reports throughput and latency.
+// Without --url it starts an embedded server on a free port, so the default run needs no
+// database and shows how many concurrent connections the executor sustains:
+//
+//   java -cp <app classpath> com.bank.crm.api.ApiLoadTest --requests 50000 --concurrency 5000
+//
+// --email/--password log in first and send the token, e.g. with --path /api/accounts.
+public class ApiLoadTest {
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("--url", null);
+        options.put("--path", "/api/health");
+        options.put("--requests", "20000");
+        options.put("--concurrency", "2000");
+        options.put("--email", null);
+        options.put("--password", null);
+        for (int i = 0; i < args.length; i += 2) {
+            if (!options.containsKey(args[i]) || i + 1 >= args.length) {
+                System.err.println("Unknown or incomplete option " + args[i] + "; options are " + options.keySet());
+                System.exit(2);
+            }
+            options.put(args[i], args[i + 1]);
+        }
+
+        String baseUrl = options.get("--url");
+        boolean embedded = baseUrl == null;
+        if (embedded) {
+            InetSocketAddress address = ApiServer.getInstance().start(0);
+            baseUrl = "http://127.0.0.1:" + address.getPort();
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        String token = null;
+        if (options.get("--email") != null) {
+            token = login(client, baseUrl, options.get("--email"), options.get("--password"));
+        }
+
+        int requests = Integer.parseInt(options.get("--requests"));
+        int concurrency = Integer.parseInt(options.get("--concurrency"));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + options.get("--path")))
+                .timeout(Duration.ofSeconds(60));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.GET().build();
+
+        System.out.printf("Sending %d requests to %s with %d in flight%n", requests, request.uri(), concurrency);
+        LatencyHistogram latency = new LatencyHistogram();
+        ConcurrentMap<String, AtomicLong> outcomes = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                latency.recordNanos(System.nanoTime() - sent);
+                String outcome = error == null ? "HTTP " + response.statusCode() : error.getClass().getSimpleName();
+                outcomes.computeIfAbsent(outcome, key -> new AtomicLong()).incrementAndGet();
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Completed in %.1f s, %.0f requests/s%n", seconds, requests / seconds);
+        System.out.printf("Latency ms: p50 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                latency.getPercentileMillis(50), latency.getPercentileMillis(99),
+                latency.getPercentileMillis(99.9), latency.getMaxMillis());
+        new TreeMap<>(outcomes).forEach((outcome, count) -> System.out.println("  " + outcome + ": " + count));
+        if (embedded) {
+            System.out.println("Server executor: " + ApiServer.getInstance().getExecutorDescription() +
+                    ", peak requests in flight: " + ApiServer.getInstance().getPeakInFlight());
+            ApiServer.getInstance().stop();
+        }
+    }
+
+    private static String login(HttpClient client, String baseUrl, String email, String password) throws Exception {
+        Map<String, Object> credentials = new LinkedHashMap<>();
+        credentials.put("email", email);
+        credentials.put("password", password);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(Json.write(credentials)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return (String) Json.parseObject(response.body()).get("token");
+    }
+}
@@ -0,0 +1,517 @@
+package com.bank.crm.api;
+
+import com.bank.crm.auth.AuthService;
+import com.bank.crm.auth.AuthenticatedUser;
+import com.bank.crm.auth.LoginThrottledException;
+import com.bank.crm.metrics.Metrics;
+import com.bank.crm.metrics.OperationMetrics;
+import com.bank.crm.model.Account;
+import com.bank.crm.model.Ticket;
+import com.bank.crm.model.Transaction;
+import com.bank.crm.service.AccountService;
+import com.bank.crm.service.TicketService;
+import com.bank.crm.service.TransferService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Optional HTTP/JSON API for kiosks and batch systems, started when -Dcrm.api.port is set.
+// It speaks plain HTTP, so it listens on loopback only unless crm.api.host names another
+// interface, which should then sit behind a TLS-terminating proxy.
+// Handlers call the same services as the dashboards. On Java 21+ each request runs on its own
+// virtual thread; older runtimes get a bounded pool that pushes back on the accept loop when
+// full. Either way, at most crm.api.maxDatabaseRequests requests use the database at once,
+// since every service call opens its own MySQL connection.
+//
+//   POST /api/login         {"email", "password"} -> {"token", ...}; then Authorization: Bearer <token>
+//   GET  /api/accounts      the caller's accounts and balances
+//   GET  /api/transactions  the caller's history, newest first (?limit=, default 50, at most 500)
+//   POST /api/transfers     {"recipientAccountNumber", "amount", "description"}
+//   GET  /api/tickets       own tickets for customers, assigned for employees, all for managers
+//   POST /api/tickets       {"subject", "description", "priority": LOW, MEDIUM (default) or HIGH}
+//   GET  /api/health        no authentication, no database
+public class ApiServer {
+    private static final Logger LOGGER = Logger.getLogger(ApiServer.class.getName());
+
+    private static final int DEFAULT_POOL_THREADS = 200;
+    private static final int DEFAULT_MAX_DATABASE_REQUESTS = 100;
+    private static final int DEFAULT_BACKLOG = 4096;
+    private static final int POOL_QUEUE_CAPACITY = 10_000;
+    private static final long DATABASE_WAIT_SECONDS = 5;
+    private static final long SESSION_TTL_MS = TimeUnit.MINUTES.toMillis(30);
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int DEFAULT_HISTORY_LIMIT = 50;
+    private static final int MAX_HISTORY_LIMIT = 500;
+    // Values of tickets.priority
+    private static final Set<String> TICKET_PRIORITIES = Set.of("LOW", "MEDIUM", "HIGH");
+
+    private static final ApiServer INSTANCE = new ApiServer();
+
+    private final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final Semaphore databasePermits =
+            new Semaphore(Integer.getInteger("crm.api.maxDatabaseRequests", DEFAULT_MAX_DATABASE_REQUESTS));
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private HttpServer server;
+    private ExecutorService executor;
+    private String executorDescription;
+    private volatile long lastSessionPurge;
+
+    public static ApiServer getInstance() {
+        return INSTANCE;
+    }
+
+    // Port 0 picks a free port; returns the bound address
+    public synchronized InetSocketAddress start(int port) throws IOException {
+        if (server != null) {
+            return server.getAddress();
+        }
+        // Without TCP_NODELAY the server writes headers and body separately and each small
+        // response waits out the client's delayed ACK, about 40 ms. Read once when the first
+        // server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        String host = System.getProperty("crm.api.host");
+        InetSocketAddress address = host == null
+                ? new InetSocketAddress(InetAddress.getLoopbackAddress(), port)
+                : new InetSocketAddress(host, port);
+        server = HttpServer.create(address, Integer.getInteger("crm.api.backlog", DEFAULT_BACKLOG));
+        executor = createExecutor();
+        server.setExecutor(executor);
+        route("/api/health", this::health, false);
+        route("/api/login", this::login, false);
+        route("/api/accounts", this::accounts, true);
+        route("/api/transactions", this::transactions, true);
+        route("/api/transfers", this::transfers, true);
+        route("/api/tickets", this::tickets, true);
+        server.start();
+        LOGGER.info("API server listening on " + server.getAddress() + " using " + executorDescription);
+        return server.getAddress();
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(1);
+            executor.shutdown();
+            server = null;
+        }
+    }
+
+    public String getExecutorDescription() {
+        return executorDescription;
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    private ExecutorService createExecutor() {
+        if (Runtime.version().feature() >= 21) {
+            try {
+                // Looked up reflectively so the build keeps targeting Java 11
+                ExecutorService virtual = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                executorDescription = "virtual threads";
+                return virtual;
+            } catch (ReflectiveOperationException e) {
+                LOGGER.log(Level.WARNING, "Virtual threads unavailable, using a thread pool", e);
+            }
+        }
+        int threads = Integer.getInteger("crm.api.threads", DEFAULT_POOL_THREADS);
+        AtomicInteger threadCount = new AtomicInteger();
+        // When the queue is full the dispatcher thread runs the request itself, which stops it
+        // accepting more until there is room
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(POOL_QUEUE_CAPACITY), r -> {
+                    Thread thread = new Thread(r, "api-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        executorDescription = "a pool of " + threads + " threads";
+        return pool;
+    }
+
+    private void route(String path, Route route, boolean authenticated) {
+        server.createContext(path, exchange -> {
+            OperationMetrics metrics = Metrics.getInstance().operation("api." + exchange.getRequestMethod() + " " + path);
+            long start = System.nanoTime();
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            int status;
+            try {
+                Request request = new Request(exchange, authenticated ? authenticate(exchange) : null);
+                Response response = route.handle(request);
+                status = send(exchange, response.status, response.body);
+            } catch (ApiException e) {
+                status = sendError(exchange, e.status, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                status = sendError(exchange, 400, e.getMessage());
+            } catch (SQLIntegrityConstraintViolationException e) {
+                status = sendError(exchange, 409, e.getMessage());
+            } catch (SQLException e) {
+                // The services raise business errors without a SQL state; anything else is the database
+                if (e.getSQLState() == null) {
+                    status = sendError(exchange, 422, e.getMessage());
+                } else {
+                    LOGGER.log(Level.SEVERE, "Database error on " + path, e);
+                    status = sendError(exchange, 500, "Database error");
+                }
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error handling " + path, e);
+                status = sendError(exchange, 500, "Internal error");
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+            if (status >= 500) {
+                metrics.recordError();
+            } else {
+                metrics.record(System.nanoTime() - start);
+            }
+        });
+    }
+
+    private Response health(Request request) throws ApiException {
+        request.requireMethod("GET");
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "ok");
+        body.put("executor", executorDescription);
+        body.put("inFlight", inFlight.get());
+        body.put("peakInFlight", peakInFlight.get());
+        return Response.ok(body);
+    }
+
+    private Response login(Request request) throws Exception {
+        request.requireMethod("POST");
+        Map<String, Object> body = request.body();
+        String email = request.requireString(body, "email");
+        String password = request.requireString(body, "password");
+        String source = "api/" + request.exchange.getRemoteAddress().getAddress().getHostAddress();
+
+        AuthenticatedUser user;
+        try {
+            user = withDatabase(() -> {
+                try {
+                    return AuthService.getInstance().authenticate(email, password, source).join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            });
+        } catch (LoginThrottledException e) {
+            request.exchange.getResponseHeaders().set("Retry-After",
+                    String.valueOf((e.getRetryAfterMillis() + 999) / 1000));
+            throw new ApiException(429, e.getMessage());
+        } catch (RejectedExecutionException e) {
+            throw new ApiException(503, e.getMessage());
+        }
+        if (user == null) {
+            throw new ApiException(401, "Invalid email or password");
+        }
+
+        purgeExpiredSessions();
+        byte[] tokenBytes = new byte[32];
+        random.nextBytes(tokenBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+        sessions.put(token, new Session(user));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("token", token);
+        response.put("userId", user.getUserId());
+        response.put("name", user.getName());
+        response.put("role", user.getRole());
+        response.put("expiresInSeconds", TimeUnit.MILLISECONDS.toSeconds(SESSION_TTL_MS));
+        return Response.ok(response);
+    }
+
+    private Response accounts(Request request) throws Exception {
+        request.requireMethod("GET");
+        List<Object> accounts = new ArrayList<>();
+        for (Account account : withDatabase(() -> AccountService.getInstance().getAccounts(request.user.getUserId()))) {
+            accounts.add(toJson(account));
+        }
+        return Response.ok(accounts);
+    }
+
+    private Response transactions(Request request) throws Exception {
+        request.requireMethod("GET");
+        int limit = request.intParameter("limit", DEFAULT_HISTORY_LIMIT);
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        int clamped = Math.min(limit, MAX_HISTORY_LIMIT);
+        List<Transaction> history = withDatabase(() ->
+                AccountService.getInstance().getTransactions(request.user.getUserId(), clamped));
+        List<Object> transactions = new ArrayList<>();
+        for (Transaction transaction : history) {
+            transactions.add(toJson(transaction));
+        }
+        return Response.ok(transactions);
+    }
+
+    private Response transfers(Request request) throws Exception {
+        request.requireMethod("POST");
+        request.requireRole("CUSTOMER");
+        Map<String, Object> body = request.body();
+        String recipient = request.requireString(body, "recipientAccountNumber");
+        double amount = request.requireNumber(body, "amount");
+        Object description = body.get("description");
+        Transaction transaction = withDatabase(() -> TransferService.getInstance().transfer(request.user.getUserId(),
+                recipient, amount, description == null ? "" : description.toString()));
+        return new Response(201, toJson(transaction));
+    }
+
+    private Response tickets(Request request) throws Exception {
+        TicketService service = TicketService.getInstance();
+        int userId = request.user.getUserId();
+        if ("POST".equals(request.exchange.getRequestMethod())) {
+            request.requireRole("CUSTOMER");
+            Map<String, Object> body = request.body();
+            String subject = request.requireString(body, "subject");
+            String description = request.requireString(body, "description");
+            Object priorityValue = body.get("priority");
+            String priority = priorityValue == null ? "MEDIUM" : priorityValue.toString();
+            if (!TICKET_PRIORITIES.contains(priority)) {
+                throw new IllegalArgumentException("priority must be LOW, MEDIUM or HIGH");
+            }
+            Ticket ticket = withDatabase(() -> service.createTicket(userId, subject, description, priority));
+            return new Response(201, toJson(ticket));
+        }
+        request.requireMethod("GET");
+        String role = request.user.getRole();
+        List<Ticket> tickets = withDatabase(() -> "MANAGER".equals(role) ? service.getAllTickets()
+                : "EMPLOYEE".equals(role) ? service.getAssignedTickets(userId)
+                : service.getCustomerTickets(userId));
+        List<Object> result = new ArrayList<>();
+        for (Ticket ticket : tickets) {
+            result.add(toJson(ticket));
+        }
+        return Response.ok(result);
+    }
+
+    private <T> T withDatabase(DatabaseCall<T> call) throws Exception {
+        if (!databasePermits.tryAcquire(DATABASE_WAIT_SECONDS, TimeUnit.SECONDS)) {
+            throw new ApiException(503, "Server busy, please retry");
+        }
+        try {
+            return call.run();
+        } finally {
+            databasePermits.release();
+        }
+    }
+
+    private AuthenticatedUser authenticate(HttpExchange exchange) throws ApiException {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new ApiException(401, "Missing bearer token");
+        }
+        Session session = sessions.get(header.substring("Bearer ".length()).trim());
+        long now = System.currentTimeMillis();
+        if (session == null || session.expiresAt < now) {
+            throw new ApiException(401, "Session expired, please log in again");
+        }
+        session.expiresAt = now + SESSION_TTL_MS;
+        return session.user;
+    }
+
+    private void purgeExpiredSessions() {
+        long now = System.currentTimeMillis();
+        if (now - lastSessionPurge > TimeUnit.MINUTES.toMillis(1)) {
+            lastSessionPurge = now;
+            sessions.values().removeIf(session -> session.expiresAt < now);
+        }
+    }
+
+    private static int send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        return status;
+    }
+
+    private static int sendError(HttpExchange exchange, int status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", message);
+        try {
+            return send(exchange, status, body);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Client went away before the error response", e);
+            return status;
+        }
+    }
+
+    private static Map<String, Object> toJson(Account account) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("accountNumber", account.getAccountNumber());
+        json.put("type", account.getType());
+        json.put("balance", account.getBalance());
+        json.put("status", account.getStatus());
+        json.put("createdAt", account.getCreatedAt());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(Transaction transaction) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", transaction.getId());
+        json.put("type", transaction.getType());
+        json.put("amount", transaction.getAmount());
+        json.put("description", transaction.getDescription());
+        json.put("createdAt", transaction.getCreatedAt());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(Ticket ticket) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", ticket.getId());
+        json.put("customerName", ticket.getCustomerName());
+        json.put("subject", ticket.getSubject());
+        json.put("priority", ticket.getPriority());
+        json.put("status", ticket.getStatus());
+        json.put("assignedTo", ticket.getAssignedTo());
+        json.put("createdAt", ticket.getCreatedAt());
+        return json;
+    }
+
+    private interface Route {
+        Response handle(Request request) throws Exception;
+    }
+
+    private interface DatabaseCall<T> {
+        T run() throws Exception;
+    }
+
+    private static final class Session {
+        final AuthenticatedUser user;
+        volatile long expiresAt;
+
+        Session(AuthenticatedUser user) {
+            this.user = user;
+            this.expiresAt = System.currentTimeMillis() + SESSION_TTL_MS;
+        }
+    }
+
+    private static final class Response {
+        final int status;
+        final Object body;
+
+        Response(int status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static Response ok(Object body) {
+            return new Response(200, body);
+        }
+    }
+
+    private static final class ApiException extends Exception {
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private static final class Request {
+        final HttpExchange exchange;
+        final AuthenticatedUser user;
+
+        Request(HttpExchange exchange, AuthenticatedUser user) {
+            this.exchange = exchange;
+            this.user = user;
+        }
+
+        void requireMethod(String method) throws ApiException {
+            if (!method.equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", method);
+                throw new ApiException(405, "Use " + method);
+            }
+        }
+
+        void requireRole(String role) throws ApiException {
+            if (!role.equals(user.getRole())) {
+                throw new ApiException(403, "Only available to " + role.toLowerCase() + "s");
+            }
+        }
+
+        Map<String, Object> body() throws IOException, ApiException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (InputStream in = exchange.getRequestBody()) {
+                byte[] chunk = new byte[8192];
+                int read;
+                while ((read = in.read(chunk)) != -1) {
+                    if (buffer.size() + read > MAX_BODY_BYTES) {
+                        throw new ApiException(413, "Request body too large");
+                    }
+                    buffer.write(chunk, 0, read);
+                }
+            }
+            return Json.parseObject(buffer.toString(StandardCharsets.UTF_8));
+        }
+
+        String requireString(Map<String, Object> body, String name) {
+            Object value = body.get(name);
+            if (!(value instanceof String) || ((String) value).trim().isEmpty()) {
+                throw new IllegalArgumentException("Missing " + name);
+            }
+            return ((String) value).trim();
+        }
+
+        double requireNumber(Map<String, Object> body, String name) {
+            Object value = body.get(name);
+            if (!(value instanceof Double)) {
+                throw new IllegalArgumentException("Missing or non-numeric " + name);
+            }
+            return (Double) value;
+        }
+
+        int intParameter(String name, int defaultValue) {
+            String query = exchange.getRequestURI().getRawQuery();
+            if (query != null) {
+                for (String pair : query.split("&")) {
+                    if (pair.startsWith(name + "=")) {
+                        try {
+                            return Integer.parseInt(pair.substring(name.length() + 1));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid " + name);
+                        }
+                    }
+                }
+            }
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.bank.crm.auth;
+
+import com.bank.crm.database.DatabaseConnection;
+import com.bank.crm.metrics.Metrics;
+import com.bank.crm.metrics.OperationMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Password hashing and verification on a small dedicated pool: hashing is deliberately slow,
+// so it must never run on the EDT, and a burst of logins queues here instead of taking
+// every core away from the dashboards and background jobs.
+public class AuthService {
+    private static final Logger LOGGER = Logger.getLogger(AuthService.class.getName());
+
+    // Raise with -Dcrm.auth.iterations; existing hashes are upgraded as their users log in
+    private static final int DEFAULT_ITERATIONS = 310_000;
+    private static final int DEFAULT_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    // Beyond this many waiting requests new ones fail fast instead of piling up
+    private static final int QUEUE_CAPACITY = 64;
+
+    // Activation codes: 12 characters from an alphabet without look-alikes, about 60 bits
+    public static final int ACTIVATION_CODE_DAYS = 30;
+    private static final String ACTIVATION_ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final int ACTIVATION_CODE_LENGTH = 12;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final AuthService INSTANCE = new AuthService(
+            Integer.getInteger("crm.auth.iterations", DEFAULT_ITERATIONS),
+            Integer.getInteger("crm.auth.threads", DEFAULT_THREADS));
+
+    private final PasswordHasher hasher;
+    private final ThreadPoolExecutor executor;
+    // Verified against for unknown emails so they take as long as a wrong password
+    private volatile String dummyHash;
+
+    // A separate service with its own pool and cost; the application uses getInstance()
+    public AuthService(int iterations, int threads) {
+        hasher = new PasswordHasher(iterations);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+                    Thread thread = new Thread(r, "auth-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public static AuthService getInstance() {
+        return INSTANCE;
+    }
+
+    // Stored for accounts that cannot sign in until a password is set through activate(), e.g. bulk imports
+    public static String disabledPassword() {
+        return PasswordHasher.DISABLED;
+    }
+
+    // One-time code, formatted XXXX-XXXX-XXXX, that lets a customer created without a password
+    // choose one through activate(). Only activationCodeHash(code) is stored.
+    public static String newActivationCode() {
+        StringBuilder code = new StringBuilder(ACTIVATION_CODE_LENGTH + 2);
+        for (int i = 0; i < ACTIVATION_CODE_LENGTH; i++) {
+            if (i > 0 && i % 4 == 0) {
+                code.append('-');
+            }
+            code.append(ACTIVATION_ALPHABET.charAt(RANDOM.nextInt(ACTIVATION_ALPHABET.length())));
+        }
+        return code.toString();
+    }
+
+    // Codes are random enough that a plain SHA-256 suffices; dashes, spaces and case are ignored
+    public static String activationCodeHash(String code) {
+        String normalized = code.replaceAll("[\\s-]", "").toUpperCase(Locale.ROOT);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // True for values produced by hashPassword, so migrated hashes can be stored as they are
+    public static boolean isPasswordHash(String value) {
+        return value != null && PasswordHasher.isHash(value);
+    }
+
+    int getIterations() {
+        return hasher.getIterations();
+    }
+
+    public int getThreads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public CompletableFuture<String> hashPassword(String password) {
+        return submit(() -> hasher.hash(password));
+    }
+
+    public CompletableFuture<AuthenticatedUser> authenticate(String email, String password) {
+        return authenticate(email, password, LoginThrottle.getInstance().getLocalSource());
+    }
+
+    // Completes with null when the email or password is wrong. While the email or source is
+    // locked out it fails with LoginThrottledException without queueing or touching the database.
+    public CompletableFuture<AuthenticatedUser> authenticate(String email, String password, String source) {
+        LoginThrottle throttle = LoginThrottle.getInstance();
+        long retryAfter = throttle.retryAfter(email, source);
+        if (retryAfter > 0) {
+            return CompletableFuture.failedFuture(new LoginThrottledException(retryAfter));
+        }
+        // Timed from the request, so waiting for an auth worker counts
+        OperationMetrics metrics = Metrics.getInstance().operation("auth.authenticate");
+        long start = System.nanoTime();
+        return submit(() -> {
+            AuthenticatedUser user;
+            try {
+                user = checkCredentials(email, password);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+            if (user == null) {
+                throttle.recordFailure(email, source);
+            } else {
+                throttle.recordSuccess(email);
+            }
+            return user;
+        }).whenComplete((user, error) -> {
+            if (error == null) {
+                metrics.record(System.nanoTime() - start);
+            } else {
+                metrics.recordError();
+            }
+        });
+    }
+
+    // Sets the password of an account that was issued an activation code, and uses up the code.
+    // Completes with false for an unknown email or a wrong, used or expired code; those count
+    // towards the same lockout as wrong passwords, so codes cannot be guessed online.
+    public CompletableFuture<Boolean> activate(String email, String code, String newPassword) {
+        LoginThrottle throttle = LoginThrottle.getInstance();
+        String source = throttle.getLocalSource();
+        long retryAfter = throttle.retryAfter(email, source);
+        if (retryAfter > 0) {
+            return CompletableFuture.failedFuture(new LoginThrottledException(retryAfter));
+        }
+        return submit(() -> {
+            boolean activated;
+            try {
+                activated = redeemActivationCode(email, code, newPassword);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+            if (activated) {
+                throttle.recordSuccess(email);
+                LOGGER.info("Account activated for " + email);
+            } else {
+                throttle.recordFailure(email, source);
+            }
+            return activated;
+        });
+    }
+
+    private boolean redeemActivationCode(String email, String code, String newPassword) throws SQLException {
+        // Hashed before taking the token's row lock, which is then held only for two statements
+        String passwordHash = hasher.hash(newPassword);
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                String query = "SELECT t.user_id FROM activation_tokens t JOIN users u ON u.id = t.user_id " +
+                        "WHERE u.email = ? AND t.token_hash = ? AND t.expires_at > NOW() FOR UPDATE";
+                int userId;
+                try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                    stmt.setString(1, email);
+                    stmt.setString(2, activationCodeHash(code));
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next()) {
+                            conn.rollback();
+                            return false;
+                        }
+                        userId = rs.getInt(1);
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM activation_tokens WHERE user_id = ?")) {
+                    stmt.setInt(1, userId);
+                    stmt.executeUpdate();
+                }
+                try (PreparedStatement stmt = conn.prepareStatement("UPDATE users SET password = ? WHERE id = ?")) {
+                    stmt.setString(1, passwordHash);
+                    stmt.setInt(2, userId);
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    // Checks a password against a stored hash on the auth pool, without the user lookup or throttle
+    public CompletableFuture<Boolean> verify(String password, String stored) {
+        return submit(() -> hasher.verify(password, stored));
+    }
+
+    private AuthenticatedUser checkCredentials(String email, String password) throws SQLException {
+        String query = "SELECT id, name, role, password FROM users WHERE email = ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, email);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    hasher.verify(password, getDummyHash());
+                    return null;
+                }
+                int userId = rs.getInt("id");
+                String stored = rs.getString("password");
+                if (!hasher.verify(password, stored)) {
+                    return null;
+                }
+                if (hasher.needsRehash(stored)) {
+                    rehash(conn, userId, password, stored);
+                }
+                return new AuthenticatedUser(userId, rs.getString("name"), rs.getString("role"));
+            }
+        }
+    }
+
+    // Only replaces the value that was just verified, so a concurrent password change wins
+    private void rehash(Connection conn, int userId, String password, String stored) {
+        String update = "UPDATE users SET password = ? WHERE id = ? AND password = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(update)) {
+            stmt.setString(1, hasher.hash(password));
+            stmt.setInt(2, userId);
+            stmt.setString(3, stored);
+            if (stmt.executeUpdate() > 0) {
+                LOGGER.info("Upgraded password hash for user " + userId + " to " + hasher.getIterations() + " iterations");
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error upgrading password hash for user " + userId, e);
+        }
+    }
+
+    private String getDummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = hasher.hash("not-a-real-password");
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warning("Authentication queue full, rejecting request");
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Too many sign-in requests, please try again", e));
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
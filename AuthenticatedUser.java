@@ -0,0 +1,25 @@
+package com.bank.crm.auth;
+
+public class AuthenticatedUser {
+    private final int userId;
+    private final String name;
+    private final String role;
+
+    AuthenticatedUser(int userId, String name, String role) {
+        this.userId = userId;
+        this.name = name;
+        this.role = role;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getRole() {
+        return role;
+    }
+}
@@ -2,11 +2,23 @@ package com.bank.crm.dashboard;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
 
 public abstract class BaseDashboard extends JFrame {
+    private static final Logger LOGGER = Logger.getLogger(BaseDashboard.class.getName());
+
+    // Idle delay before the tab after the selected one is built ahead of its selection
+    private static final int PREFETCH_DELAY_MS = 500;
+    private static final String LAZY_TABS_INSTALLED = "lazyTabsInstalled";
+
     protected final int userId;
     protected final String userName;
 
+    private final long createdAt = System.nanoTime();
+    private boolean firstPaintLogged;
+
     public BaseDashboard(int userId, String userName) {
         this.userId = userId;
         this.userName = userName;
@@ -30,6 +42,83 @@ public abstract class BaseDashboard extends JFrame {
 
     protected abstract void initializeComponents();
 
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        if (!firstPaintLogged) {
+            firstPaintLogged = true;
+            LOGGER.info(getClass().getSimpleName() + " time to first paint: " +
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - createdAt) + " ms");
+        }
+    }
+
+    // Registers a tab whose content, and whatever queries it fires, is only created on first selection
+    protected void addLazyTab(JTabbedPane tabbedPane, String title, Supplier<? extends JComponent> factory) {
+        addLazyTab(tabbedPane, title, factory, false);
+    }
+
+    // Prefetched tabs are also built shortly after the tab before them is selected. Builds run
+    // on the EDT, so only pass true for factories that create components and leave their
+    // queries to a SwingWorker or another background thread.
+    protected void addLazyTab(JTabbedPane tabbedPane, String title, Supplier<? extends JComponent> factory,
+                              boolean prefetch) {
+        if (tabbedPane.getClientProperty(LAZY_TABS_INSTALLED) == null) {
+            tabbedPane.putClientProperty(LAZY_TABS_INSTALLED, Boolean.TRUE);
+            tabbedPane.addChangeListener(e -> onTabSelected(tabbedPane));
+        }
+        tabbedPane.addTab(title, new LazyTab(title, factory, prefetch));
+    }
+
+    private void onTabSelected(JTabbedPane tabbedPane) {
+        Component selected = tabbedPane.getSelectedComponent();
+        if (selected instanceof LazyTab) {
+            ((LazyTab) selected).build();
+        }
+
+        // Resolved when the timer fires, so the first tab also prefetches tabs added after it
+        Timer prefetch = new Timer(PREFETCH_DELAY_MS, e -> prefetchAfter(tabbedPane));
+        prefetch.setRepeats(false);
+        prefetch.start();
+    }
+
+    private void prefetchAfter(JTabbedPane tabbedPane) {
+        int next = tabbedPane.getSelectedIndex() + 1;
+        if (next > 0 && next < tabbedPane.getTabCount() && tabbedPane.getComponentAt(next) instanceof LazyTab) {
+            LazyTab tab = (LazyTab) tabbedPane.getComponentAt(next);
+            if (tab.prefetch) {
+                tab.build();
+            }
+        }
+    }
+
+    private static final class LazyTab extends JPanel {
+        private final String title;
+        private final boolean prefetch;
+        private Supplier<? extends JComponent> factory;
+
+        LazyTab(String title, Supplier<? extends JComponent> factory, boolean prefetch) {
+            super(new BorderLayout());
+            this.title = title;
+            this.prefetch = prefetch;
+            this.factory = factory;
+            add(new JLabel("Loading...", SwingConstants.CENTER), BorderLayout.CENTER);
+        }
+
+        void build() {
+            if (factory == null) {
+                return;
+            }
+            long start = System.nanoTime();
+            JComponent content = factory.get();
+            factory = null;
+            removeAll();
+            add(content, BorderLayout.CENTER);
+            revalidate();
+            repaint();
+            LOGGER.info("Tab '" + title + "' built in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        }
+    }
+
     protected JPanel createHeaderPanel() {
         JPanel headerPanel = new JPanel(new BorderLayout());
         headerPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
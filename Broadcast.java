@@ -0,0 +1,47 @@
+package com.bank.crm.notification;
+
+import java.sql.Timestamp;
+
+public class Broadcast {
+    private final int id;
+    private final String audience;
+    private final String message;
+    private final Timestamp createdAt;
+    private final ReadBitmap readBy;
+
+    public Broadcast(int id, String audience, String message, Timestamp createdAt, ReadBitmap readBy) {
+        this.id = id;
+        this.audience = audience;
+        this.message = message;
+        this.createdAt = createdAt;
+        this.readBy = readBy;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getAudience() {
+        return audience;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isFor(String role) {
+        return "ALL".equals(audience) || audience.equals(role);
+    }
+
+    public boolean isReadBy(int userId) {
+        return readBy.contains(userId);
+    }
+
+    ReadBitmap getReadBy() {
+        return readBy;
+    }
+}
@@ -0,0 +1,179 @@
+package com.bank.crm.notification;
+
+import com.bank.crm.database.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class BroadcastService {
+    private static final Logger LOGGER = Logger.getLogger(BroadcastService.class.getName());
+
+    // Only recent announcements are kept in memory and shown to users
+    private static final int ACTIVE_DAYS = 30;
+    private static final long RELOAD_INTERVAL_MS = 60_000;
+    private static final long PERSIST_INTERVAL_SECONDS = 2;
+
+    private static final BroadcastService INSTANCE = new BroadcastService();
+
+    private final ConcurrentSkipListMap<Integer, Broadcast> active = new ConcurrentSkipListMap<>();
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService persister;
+    private volatile long lastLoadedAt;
+
+    private BroadcastService() {
+        persister = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "broadcast-read-persister");
+            thread.setDaemon(true);
+            return thread;
+        });
+        persister.scheduleWithFixedDelay(this::persistDirty, PERSIST_INTERVAL_SECONDS,
+                PERSIST_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::persistDirty, "broadcast-read-persister-shutdown"));
+    }
+
+    public static BroadcastService getInstance() {
+        return INSTANCE;
+    }
+
+    public int send(String message, String audience) throws SQLException {
+        // A single row regardless of how many users it reaches
+        String query = "INSERT INTO broadcasts (audience, message, read_bitmap) VALUES (?, ?, ?)";
+        ReadBitmap readBy = new ReadBitmap();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, audience);
+            stmt.setString(2, message);
+            stmt.setBytes(3, readBy.serialize());
+            stmt.executeUpdate();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (!rs.next()) {
+                    throw new SQLException("Failed to create broadcast");
+                }
+                int id = rs.getInt(1);
+                active.put(id, new Broadcast(id, audience, message, new Timestamp(System.currentTimeMillis()), readBy));
+                LOGGER.info("Broadcast " + id + " sent to " + audience);
+                return id;
+            }
+        }
+    }
+
+    public void preload() {
+        try {
+            reloadIfStale();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error preloading broadcasts", e);
+        }
+    }
+
+    public List<Broadcast> getUnread(int userId, String role) throws SQLException {
+        reloadIfStale();
+        List<Broadcast> unread = new ArrayList<>();
+        for (Broadcast broadcast : active.descendingMap().values()) {
+            if (broadcast.isFor(role) && !broadcast.isReadBy(userId)) {
+                unread.add(broadcast);
+            }
+        }
+        return unread;
+    }
+
+    public void markRead(int broadcastId, int userId) {
+        Broadcast broadcast = active.get(broadcastId);
+        if (broadcast != null && broadcast.getReadBy().add(userId)) {
+            dirty.add(broadcastId);
+        }
+    }
+
+    private synchronized void reloadIfStale() throws SQLException {
+        long now = System.currentTimeMillis();
+        if (lastLoadedAt != 0 && now - lastLoadedAt < RELOAD_INTERVAL_MS) {
+            return;
+        }
+
+        // Broadcasts already in memory keep their object, since panels hold on to it, and have
+        // the reads other clients persisted merged into their bitmap
+        String query = "SELECT id, audience, message, read_bitmap, created_at FROM broadcasts " +
+                "WHERE created_at >= NOW() - INTERVAL " + ACTIVE_DAYS + " DAY ORDER BY id";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                int id = rs.getInt("id");
+                ReadBitmap readBy = ReadBitmap.deserialize(rs.getBytes("read_bitmap"));
+                Broadcast known = active.get(id);
+                if (known != null) {
+                    known.getReadBy().or(readBy);
+                    continue;
+                }
+                active.put(id, new Broadcast(
+                    id,
+                    rs.getString("audience"),
+                    rs.getString("message"),
+                    rs.getTimestamp("created_at"),
+                    readBy
+                ));
+            }
+        }
+
+        long cutoff = now - TimeUnit.DAYS.toMillis(ACTIVE_DAYS);
+        active.values().removeIf(broadcast -> broadcast.getCreatedAt().getTime() < cutoff);
+        lastLoadedAt = now;
+    }
+
+    private void persistDirty() {
+        for (Integer broadcastId : dirty) {
+            dirty.remove(broadcastId);
+            Broadcast broadcast = active.get(broadcastId);
+            if (broadcast == null) {
+                continue;
+            }
+            try {
+                persist(broadcast);
+            } catch (SQLException e) {
+                dirty.add(broadcastId);
+                LOGGER.log(Level.WARNING, "Error persisting read state for broadcast " + broadcastId, e);
+            }
+        }
+    }
+
+    private void persist(Broadcast broadcast) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // Merge with reads recorded by other clients since we loaded the row
+                String selectQuery = "SELECT read_bitmap FROM broadcasts WHERE id = ? FOR UPDATE";
+                try (PreparedStatement stmt = conn.prepareStatement(selectQuery)) {
+                    stmt.setInt(1, broadcast.getId());
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            broadcast.getReadBy().or(ReadBitmap.deserialize(rs.getBytes("read_bitmap")));
+                        }
+                    }
+                }
+
+                String updateQuery = "UPDATE broadcasts SET read_bitmap = ? WHERE id = ?";
+                try (PreparedStatement stmt = conn.prepareStatement(updateQuery)) {
+                    stmt.setBytes(1, broadcast.getReadBy().serialize());
+                    stmt.setInt(2, broadcast.getId());
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+}
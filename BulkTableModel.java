@@ -0,0 +1,142 @@
+package com.bank.crm.dashboard;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Vector;
+
+// Read-only table model that replaces its rows in one step instead of one event per addRow
+public class BulkTableModel extends DefaultTableModel {
+
+    public BulkTableModel(Object[] columnNames) {
+        super(columnNames, 0);
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    // Swaps the whole data vector and fires a single data-changed event
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void replaceRows(List<Object[]> rows) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> replaceRows(rows));
+            return;
+        }
+        Vector<Vector> data = new Vector<>(rows.size());
+        for (Object[] row : rows) {
+            data.add(toVector(row));
+        }
+        dataVector = data;
+        fireTableDataChanged();
+    }
+
+    // Reconciles the current rows with a fresh result keyed by keyColumn, firing only
+    // deletes, inserts and updates for the rows that actually changed. This keeps the
+    // selection and scroll position intact on a refresh. Falls back to replaceRows when
+    // surviving rows were reordered or keys are not unique.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void applyDiff(List<Object[]> rows, int keyColumn) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> applyDiff(rows, keyColumn));
+            return;
+        }
+        Map<Object, Integer> newPositions = new HashMap<>(rows.size() * 2);
+        for (int i = 0; i < rows.size(); i++) {
+            if (newPositions.put(rows.get(i)[keyColumn], i) != null) {
+                replaceRows(rows);
+                return;
+            }
+        }
+
+        Vector<Vector> data = dataVector;
+        int lastPosition = -1;
+        for (Vector row : data) {
+            Integer position = newPositions.get(row.get(keyColumn));
+            if (position != null) {
+                if (position < lastPosition) {
+                    replaceRows(rows);
+                    return;
+                }
+                lastPosition = position;
+            }
+        }
+
+        // Delete vanished rows bottom-up, one event per contiguous run
+        int i = data.size() - 1;
+        while (i >= 0) {
+            if (newPositions.containsKey(data.get(i).get(keyColumn))) {
+                i--;
+                continue;
+            }
+            int last = i;
+            while (i >= 0 && !newPositions.containsKey(data.get(i).get(keyColumn))) {
+                i--;
+            }
+            data.subList(i + 1, last + 1).clear();
+            fireTableRowsDeleted(i + 1, last);
+        }
+
+        // Survivors are now in result order, so walk both lists together
+        int updatedFrom = -1;
+        int position = 0;
+        while (position < rows.size()) {
+            Object[] row = rows.get(position);
+            if (position < data.size() && Objects.equals(data.get(position).get(keyColumn), row[keyColumn])) {
+                if (!sameValues(data.get(position), row)) {
+                    data.set(position, toVector(row));
+                    if (updatedFrom < 0) {
+                        updatedFrom = position;
+                    }
+                } else if (updatedFrom >= 0) {
+                    fireTableRowsUpdated(updatedFrom, position - 1);
+                    updatedFrom = -1;
+                }
+                position++;
+                continue;
+            }
+            if (updatedFrom >= 0) {
+                fireTableRowsUpdated(updatedFrom, position - 1);
+                updatedFrom = -1;
+            }
+
+            // New rows up to the next survivor go in as one block
+            Object nextSurvivor = position < data.size() ? data.get(position).get(keyColumn) : null;
+            List<Vector> inserted = new ArrayList<>();
+            int end = position;
+            while (end < rows.size() && (nextSurvivor == null || !nextSurvivor.equals(rows.get(end)[keyColumn]))) {
+                inserted.add(toVector(rows.get(end)));
+                end++;
+            }
+            data.addAll(position, inserted);
+            fireTableRowsInserted(position, end - 1);
+            position = end;
+        }
+        if (updatedFrom >= 0) {
+            fireTableRowsUpdated(updatedFrom, position - 1);
+        }
+    }
+
+    private static Vector<Object> toVector(Object[] row) {
+        return new Vector<>(Arrays.asList(row));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static boolean sameValues(Vector current, Object[] row) {
+        if (current.size() != row.length) {
+            return false;
+        }
+        for (int i = 0; i < row.length; i++) {
+            if (!Objects.equals(current.get(i), row[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,290 @@
+package com.bank.crm.database;
+
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Keeps in-memory caches coherent across every client running against the database. A cache
+// that changes something publishes (topic, key) after updating its own copy; the event is
+// appended to change_log and every other instance, tailing the table from its last seen id,
+// hands the key to that topic's listeners. Invalidations reach other instances within about
+// a second, so caches can keep entries for minutes.
+//
+// Listeners run on the change-log thread and must hand anything slow to their own executor.
+// The key ALL means anything in the topic may have changed.
+public class ChangeLog {
+    private static final Logger LOGGER = Logger.getLogger(ChangeLog.class.getName());
+
+    public static final String ALL = "*";
+
+    private static final long POLL_INTERVAL_MS = 250;
+    private static final int POLL_LIMIT = 1000;
+    // More distinct keys than this waiting for one flush are sent as a single ALL per topic
+    private static final int MAX_PENDING = 1000;
+    // An id skipped by the tail may belong to an insert that has not committed yet; look for it
+    // again until this long has passed, then assume it was rolled back
+    private static final long GAP_WAIT_MS = TimeUnit.SECONDS.toMillis(10);
+    private static final int MAX_TRACKED_GAPS = 1000;
+    private static final long RETENTION_MINUTES = 60;
+    private static final long PRUNE_INTERVAL_MINUTES = 10;
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private static final ChangeLog INSTANCE = new ChangeLog();
+
+    // Tells this instance's rows apart from everyone else's
+    private final String origin = newOrigin();
+    private final ConcurrentMap<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> pending = new LinkedHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private int pendingCount;
+    private volatile boolean started;
+
+    // Only touched on the change-log thread
+    private Connection connection;
+    private long watermark;
+    private final Map<Long, Long> gaps = new HashMap<>();
+    private long lastPollMillis;
+    private long lastPruneMillis;
+    private boolean failing;
+
+    private ChangeLog() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "change-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static ChangeLog getInstance() {
+        return INSTANCE;
+    }
+
+    public void subscribe(String topic, Consumer<String> listener) {
+        listeners.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    // Starts tailing from the current end of the log; caches loaded from now on are fresh
+    public synchronized void start() throws SQLException {
+        if (started) {
+            return;
+        }
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(id), 0) FROM change_log")) {
+            rs.next();
+            watermark = rs.getLong(1);
+        }
+        lastPollMillis = System.currentTimeMillis();
+        started = true;
+        scheduler.scheduleWithFixedDelay(this::tick, POLL_INTERVAL_MS, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        LOGGER.info("Change log tailing from id " + watermark + " as " + origin);
+    }
+
+    // Tells the other instances; the caller has already updated its own cache. Does nothing
+    // until start(), so tools that run without the tail do not queue events.
+    public void publish(String topic, String key) {
+        if (!started) {
+            return;
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            key = ALL;
+        }
+        synchronized (pending) {
+            Set<String> keys = pending.computeIfAbsent(topic, t -> new LinkedHashSet<>());
+            if (keys.contains(ALL)) {
+                return;
+            }
+            if (ALL.equals(key) || pendingCount >= MAX_PENDING) {
+                pendingCount -= keys.size() - 1;
+                keys.clear();
+                keys.add(ALL);
+            } else if (keys.add(key)) {
+                pendingCount++;
+            }
+        }
+    }
+
+    private void tick() {
+        try {
+            if (connection == null) {
+                connection = DatabaseConnection.getConnection();
+            }
+            flush();
+            poll();
+            prune();
+            if (failing) {
+                failing = false;
+                LOGGER.info("Change log reachable again");
+            }
+        } catch (SQLException e) {
+            // Retried every tick, so an outage is reported once
+            LOGGER.log(failing ? Level.FINE : Level.WARNING, "Error tailing change log", e);
+            failing = true;
+            closeConnection();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Unexpected error in change log", e);
+        }
+    }
+
+    private void flush() throws SQLException {
+        Map<String, Set<String>> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new LinkedHashMap<>(pending);
+            pending.clear();
+            pendingCount = 0;
+        }
+        String query = "INSERT INTO change_log (topic, change_key, origin) VALUES (?, ?, ?)";
+        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+            for (Map.Entry<String, Set<String>> entry : batch.entrySet()) {
+                for (String key : entry.getValue()) {
+                    stmt.setString(1, entry.getKey());
+                    stmt.setString(2, key);
+                    stmt.setString(3, origin);
+                    stmt.addBatch();
+                }
+            }
+            stmt.executeBatch();
+        } catch (SQLException e) {
+            // Put the events back for the next attempt
+            synchronized (pending) {
+                for (Map.Entry<String, Set<String>> entry : batch.entrySet()) {
+                    for (String key : entry.getValue()) {
+                        publish(entry.getKey(), key);
+                    }
+                }
+            }
+            throw e;
+        }
+    }
+
+    private void poll() throws SQLException {
+        long now = System.currentTimeMillis();
+        if (now - lastPollMillis > TimeUnit.MINUTES.toMillis(RETENTION_MINUTES)) {
+            // Down long enough that the rows we missed may have been pruned
+            LOGGER.warning("Change log unreachable for too long, invalidating every cache");
+            for (String topic : listeners.keySet()) {
+                deliver(topic, ALL);
+            }
+        }
+
+        if (!gaps.isEmpty()) {
+            StringBuilder query = new StringBuilder("SELECT id, topic, change_key, origin FROM change_log WHERE id IN (");
+            for (int i = 0; i < gaps.size(); i++) {
+                query.append(i == 0 ? "?" : ", ?");
+            }
+            query.append(")");
+            try (PreparedStatement stmt = connection.prepareStatement(query.toString())) {
+                int index = 1;
+                for (Long id : gaps.keySet()) {
+                    stmt.setLong(index++, id);
+                }
+                read(stmt, now);
+            }
+            gaps.values().removeIf(deadline -> deadline < now);
+        }
+
+        int read;
+        do {
+            String query = "SELECT id, topic, change_key, origin FROM change_log WHERE id > ? ORDER BY id LIMIT " + POLL_LIMIT;
+            try (PreparedStatement stmt = connection.prepareStatement(query)) {
+                stmt.setLong(1, watermark);
+                read = read(stmt, now);
+            }
+        } while (read == POLL_LIMIT);
+        lastPollMillis = now;
+    }
+
+    private int read(PreparedStatement stmt, long now) throws SQLException {
+        int read = 0;
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                read++;
+                long id = rs.getLong("id");
+                if (id > watermark) {
+                    for (long missing = watermark + 1; missing < id && gaps.size() < MAX_TRACKED_GAPS; missing++) {
+                        gaps.put(missing, now + GAP_WAIT_MS);
+                    }
+                    watermark = id;
+                } else if (gaps.remove(id) == null) {
+                    continue;
+                }
+                if (!origin.equals(rs.getString("origin"))) {
+                    deliver(rs.getString("topic"), rs.getString("change_key"));
+                }
+            }
+        }
+        return read;
+    }
+
+    private void deliver(String topic, String key) {
+        List<Consumer<String>> topicListeners = listeners.get(topic);
+        if (topicListeners == null) {
+            return;
+        }
+        for (Consumer<String> listener : topicListeners) {
+            try {
+                listener.accept(key);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Change listener for " + topic + " failed", e);
+            }
+        }
+    }
+
+    // Every instance prunes; the deletes are idempotent and cheap on the created_at index
+    private void prune() throws SQLException {
+        long now = System.currentTimeMillis();
+        if (now - lastPruneMillis < TimeUnit.MINUTES.toMillis(PRUNE_INTERVAL_MINUTES)) {
+            return;
+        }
+        lastPruneMillis = now;
+        String query = "DELETE FROM change_log WHERE created_at < NOW() - INTERVAL " + RETENTION_MINUTES + " MINUTE";
+        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+            int deleted = stmt.executeUpdate();
+            if (deleted > 0) {
+                LOGGER.fine("Pruned " + deleted + " change log rows");
+            }
+        }
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Error closing change log connection", e);
+            }
+            connection = null;
+        }
+    }
+
+    private static String newOrigin() {
+        byte[] bytes = new byte[6];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.bank.crm.customer;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+// Everything an employee needs about one customer, as rows ready for the dashboard tables
+public class Customer360 {
+    private final int customerId;
+    private String name;
+    private String email;
+    private String phone;
+    private String status;
+    private Timestamp memberSince;
+    private final List<Object[]> accounts = new ArrayList<>();
+    private final List<Object[]> recentTransactions = new ArrayList<>();
+    private final List<Object[]> openTickets = new ArrayList<>();
+    private final List<Object[]> unreadNotifications = new ArrayList<>();
+    private long loadMillis;
+
+    Customer360(int customerId) {
+        this.customerId = customerId;
+    }
+
+    void setProfile(String name, String email, String phone, String status, Timestamp memberSince) {
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.status = status;
+        this.memberSince = memberSince;
+    }
+
+    void setLoadMillis(long loadMillis) {
+        this.loadMillis = loadMillis;
+    }
+
+    public int getCustomerId() {
+        return customerId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Timestamp getMemberSince() {
+        return memberSince;
+    }
+
+    // Account Number, Type, Balance, Status, Opened
+    public List<Object[]> getAccounts() {
+        return accounts;
+    }
+
+    // Account Number, Type, Amount, Description, Date
+    public List<Object[]> getRecentTransactions() {
+        return recentTransactions;
+    }
+
+    // ID, Subject, Priority, Status, Assigned To, Created At
+    public List<Object[]> getOpenTickets() {
+        return openTickets;
+    }
+
+    // ID, Message, Received
+    public List<Object[]> getUnreadNotifications() {
+        return unreadNotifications;
+    }
+
+    // Database time of the load that produced this view, not of cache hits
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+}
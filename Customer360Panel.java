@@ -0,0 +1,102 @@
+package com.bank.crm.dashboard;
+
+import com.bank.crm.customer.Customer360;
+import com.bank.crm.customer.Customer360Service;
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class Customer360Panel extends JPanel {
+    private static final Logger LOGGER = Logger.getLogger(Customer360Panel.class.getName());
+
+    private final JLabel nameLabel = new JLabel("Loading...");
+    private final JLabel contactLabel = new JLabel(" ");
+    private final JLabel statusLabel = new JLabel(" ");
+    private final JLabel timingLabel = new JLabel(" ");
+    private final BulkTableModel accountModel =
+            new BulkTableModel(new String[]{"Account Number", "Type", "Balance", "Status", "Opened"});
+    private final BulkTableModel transactionModel =
+            new BulkTableModel(new String[]{"Account", "Type", "Amount", "Description", "Date"});
+    private final BulkTableModel ticketModel =
+            new BulkTableModel(new String[]{"ID", "Subject", "Priority", "Status", "Assigned To", "Created At"});
+    private final BulkTableModel notificationModel =
+            new BulkTableModel(new String[]{"ID", "Message", "Received"});
+
+    public Customer360Panel() {
+        super(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JPanel profilePanel = new JPanel(new GridLayout(3, 1));
+        nameLabel.setFont(new Font("Arial", Font.BOLD, 16));
+        profilePanel.add(nameLabel);
+        profilePanel.add(contactLabel);
+        profilePanel.add(statusLabel);
+        add(profilePanel, BorderLayout.NORTH);
+
+        JTabbedPane sections = new JTabbedPane();
+        sections.addTab("Accounts", new JScrollPane(new JTable(accountModel)));
+        sections.addTab("Recent Transactions", new JScrollPane(new JTable(transactionModel)));
+        sections.addTab("Open Tickets", new JScrollPane(new JTable(ticketModel)));
+        sections.addTab("Unread Notifications", new JScrollPane(new JTable(notificationModel)));
+        add(sections, BorderLayout.CENTER);
+        add(timingLabel, BorderLayout.SOUTH);
+    }
+
+    public static void showDialog(Frame owner, int customerId, String customerName) {
+        Customer360Panel panel = new Customer360Panel();
+        JDialog dialog = new JDialog(owner, "Customer 360 - " + customerName, false);
+        dialog.add(panel);
+        dialog.setSize(800, 500);
+        dialog.setLocationRelativeTo(owner);
+        dialog.setVisible(true);
+        panel.load(customerId);
+    }
+
+    // Warms the cache while the user is still deciding, so opening the view is a cache hit
+    public static void prefetch(int customerId) {
+        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                Customer360Service.getInstance().load(customerId);
+                return null;
+            }
+        };
+        worker.execute();
+    }
+
+    public void load(int customerId) {
+        long start = System.nanoTime();
+        SwingWorker<Customer360, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Customer360 doInBackground() throws Exception {
+                return Customer360Service.getInstance().load(customerId);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    show(get());
+                    timingLabel.setText("Opened in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) +
+                            " ms (database " + get().getLoadMillis() + " ms)");
+                } catch (Exception e) {
+                    LOGGER.log(Level.SEVERE, "Error loading customer 360 for " + customerId, e);
+                    nameLabel.setText("Failed to load customer");
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    private void show(Customer360 view) {
+        nameLabel.setText(view.getName() + " (ID " + view.getCustomerId() + ")");
+        contactLabel.setText(view.getEmail() + "  |  " + view.getPhone());
+        statusLabel.setText("Status: " + view.getStatus() + "  |  Customer since " +
+                (view.getMemberSince() == null ? "-" : view.getMemberSince().toLocalDateTime().toLocalDate()));
+        accountModel.replaceRows(view.getAccounts());
+        transactionModel.replaceRows(view.getRecentTransactions());
+        ticketModel.replaceRows(view.getOpenTickets());
+        notificationModel.replaceRows(view.getUnreadNotifications());
+    }
+}
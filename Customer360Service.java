@@ -0,0 +1,137 @@
+package com.bank.crm.customer;
+
+import com.bank.crm.database.DatabaseConnection;
+import com.bank.crm.report.ReportCache;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+public class Customer360Service {
+    private static final Logger LOGGER = Logger.getLogger(Customer360Service.class.getName());
+
+    // One report id per customer so a write only evicts that customer's view
+    private static final String REPORT_ID_PREFIX = "customer-360:";
+    // Short enough that a customer's own activity shows up on the next open
+    private static final long TTL_MS = TimeUnit.SECONDS.toMillis(30);
+    private static final int MAX_CUSTOMERS = 500;
+    private static final int RECENT_TRANSACTIONS = 50;
+    private static final int UNREAD_NOTIFICATIONS = 50;
+
+    // All five sections in one round trip; every statement takes the customer id once
+    private static final String QUERY =
+            "SELECT name, email, phone, status, created_at FROM users WHERE id = ? AND role = 'CUSTOMER';" +
+            "SELECT account_number, type, balance, status, created_at FROM accounts WHERE user_id = ? ORDER BY id;" +
+            "SELECT a.account_number, t.type, t.amount, t.description, t.created_at " +
+            "FROM transactions t JOIN accounts a ON t.account_id = a.id " +
+            "WHERE a.user_id = ? ORDER BY t.created_at DESC LIMIT " + RECENT_TRANSACTIONS + ";" +
+            "SELECT t.id, t.subject, t.priority, t.status, e.name AS assigned_to, t.created_at " +
+            "FROM tickets t LEFT JOIN users e ON t.assigned_to = e.id " +
+            "WHERE t.user_id = ? AND t.status NOT IN ('RESOLVED', 'CLOSED') ORDER BY t.created_at DESC;" +
+            "SELECT id, message, created_at FROM notifications " +
+            "WHERE user_id = ? AND is_read = FALSE ORDER BY id DESC LIMIT " + UNREAD_NOTIFICATIONS;
+    private static final int STATEMENTS = 5;
+
+    private static final Customer360Service INSTANCE = new Customer360Service();
+
+    private final ReportCache cache = new ReportCache("customer-360", TTL_MS, MAX_CUSTOMERS);
+
+    public static Customer360Service getInstance() {
+        return INSTANCE;
+    }
+
+    public Customer360 load(int customerId) throws SQLException {
+        return cache.get(REPORT_ID_PREFIX + customerId, () -> query(customerId));
+    }
+
+    public void invalidate(int customerId) {
+        cache.invalidate(REPORT_ID_PREFIX + customerId);
+    }
+
+    private Customer360 query(int customerId) throws SQLException {
+        long start = System.nanoTime();
+        Customer360 view = new Customer360(customerId);
+        try (Connection conn = DatabaseConnection.getMultiQueryConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            for (int i = 1; i <= STATEMENTS; i++) {
+                stmt.setInt(i, customerId);
+            }
+
+            boolean hasResults = stmt.execute();
+            int section = 0;
+            while (hasResults || stmt.getUpdateCount() != -1) {
+                if (hasResults) {
+                    try (ResultSet rs = stmt.getResultSet()) {
+                        readSection(view, section, rs);
+                    }
+                    section++;
+                }
+                hasResults = stmt.getMoreResults();
+            }
+        }
+        if (view.getName() == null) {
+            throw new SQLException("Customer " + customerId + " not found");
+        }
+        view.setLoadMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        LOGGER.fine("Customer 360 for " + customerId + " loaded in " + view.getLoadMillis() + " ms");
+        return view;
+    }
+
+    private void readSection(Customer360 view, int section, ResultSet rs) throws SQLException {
+        switch (section) {
+            case 0:
+                if (rs.next()) {
+                    view.setProfile(rs.getString("name"), rs.getString("email"), rs.getString("phone"),
+                            rs.getString("status"), rs.getTimestamp("created_at"));
+                }
+                break;
+            case 1:
+                while (rs.next()) {
+                    view.getAccounts().add(new Object[]{
+                        rs.getString("account_number"),
+                        rs.getString("type"),
+                        rs.getDouble("balance"),
+                        rs.getString("status"),
+                        rs.getTimestamp("created_at")
+                    });
+                }
+                break;
+            case 2:
+                while (rs.next()) {
+                    view.getRecentTransactions().add(new Object[]{
+                        rs.getString("account_number"),
+                        rs.getString("type"),
+                        rs.getDouble("amount"),
+                        rs.getString("description"),
+                        rs.getTimestamp("created_at")
+                    });
+                }
+                break;
+            case 3:
+                while (rs.next()) {
+                    view.getOpenTickets().add(new Object[]{
+                        rs.getInt("id"),
+                        rs.getString("subject"),
+                        rs.getString("priority"),
+                        rs.getString("status"),
+                        rs.getString("assigned_to"),
+                        rs.getTimestamp("created_at")
+                    });
+                }
+                break;
+            case 4:
+                while (rs.next()) {
+                    view.getUnreadNotifications().add(new Object[]{
+                        rs.getInt("id"),
+                        rs.getString("message"),
+                        rs.getTimestamp("created_at")
+                    });
+                }
+                break;
+            default:
+                throw new SQLException("Unexpected result set " + section + " in customer 360 query");
+        }
+    }
+}
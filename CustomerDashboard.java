@@ -1,20 +1,33 @@
 package com.bank.crm.dashboard;
 
-import com.bank.crm.database.DatabaseConnection;
+import com.bank.crm.model.Account;
+import com.bank.crm.model.Ticket;
+import com.bank.crm.model.Transaction;
+import com.bank.crm.search.AccountDirectory;
+import com.bank.crm.service.AccountService;
+import com.bank.crm.service.TicketService;
+import com.bank.crm.service.TransferService;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
-import java.sql.*;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class CustomerDashboard extends BaseDashboard {
+    private static final int MAX_RECIPIENT_SUGGESTIONS = 8;
+
     private JLabel accountNumberLabel;
+    // Set with the account details; null until they have loaded
+    private String accountNumber;
     private JLabel accountTypeLabel;
     private JLabel balanceLabel;
     private JTextField amountField;
     private JTextField descriptionField;
     private JTable transactionTable;
     private JTable ticketTable;
-    private DefaultTableModel ticketModel;
+    private BulkTableModel ticketModel;
 
     public CustomerDashboard(int userId, String userName) {
         super(userId, userName);
@@ -27,10 +40,12 @@ public class CustomerDashboard extends BaseDashboard {
 
         // Create main panel with tabs
         JTabbedPane tabbedPane = new JTabbedPane();
-        tabbedPane.addTab("Account Overview", createAccountPanel());
-        tabbedPane.addTab("Transactions", createTransactionPanel());
-        tabbedPane.addTab("Support Tickets", createTicketPanel());
+        addLazyTab(tabbedPane, "Account Overview", this::createAccountPanel);
+        addLazyTab(tabbedPane, "Transactions", this::createTransactionPanel);
+        addLazyTab(tabbedPane, "Support Tickets", this::createTicketPanel);
+        addLazyTab(tabbedPane, "Notifications", () -> new NotificationPanel(userId), true);
         add(tabbedPane, BorderLayout.CENTER);
+        add(new AnnouncementPanel(userId, "CUSTOMER"), BorderLayout.SOUTH);
 
         // Refresh account details
         refreshAccountDetails();
@@ -107,10 +122,43 @@ public class CustomerDashboard extends BaseDashboard {
         JTextField amountField = new JTextField(20);
         JTextField descriptionField = new JTextField(20);
 
+        // Recipient suggestions and validation come from the in-memory account directory
+        AccountDirectory directory = AccountDirectory.getInstance();
+        DefaultListModel<String> suggestionModel = new DefaultListModel<>();
+        JList<String> suggestionList = new JList<>(suggestionModel);
+        suggestionList.setVisibleRowCount(4);
+        suggestionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        JLabel accountStatusLabel = new JLabel(" ");
+
+        accountNumberField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                updateRecipientSuggestions(accountNumberField.getText().trim(), suggestionModel, accountStatusLabel);
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                updateRecipientSuggestions(accountNumberField.getText().trim(), suggestionModel, accountStatusLabel);
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                updateRecipientSuggestions(accountNumberField.getText().trim(), suggestionModel, accountStatusLabel);
+            }
+        });
+        suggestionList.addListSelectionListener(e -> {
+            String selected = suggestionList.getSelectedValue();
+            if (!e.getValueIsAdjusting() && selected != null) {
+                SwingUtilities.invokeLater(() -> accountNumberField.setText(selected));
+            }
+        });
+
         // Add components to dialog
         addDialogComponent(dialog, "Recipient Account Number:", accountNumberField, gbc, 0);
-        addDialogComponent(dialog, "Amount:", amountField, gbc, 1);
-        addDialogComponent(dialog, "Description:", descriptionField, gbc, 2);
+        addDialogComponent(dialog, "", new JScrollPane(suggestionList), gbc, 1);
+        addDialogComponent(dialog, "", accountStatusLabel, gbc, 2);
+        addDialogComponent(dialog, "Amount:", amountField, gbc, 3);
+        addDialogComponent(dialog, "Description:", descriptionField, gbc, 4);
 
         // Add buttons
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
@@ -128,6 +176,16 @@ public class CustomerDashboard extends BaseDashboard {
                     return;
                 }
 
+                // Reject typos locally instead of inside a database transaction
+                if (recipientAccount.equals(accountNumber)) {
+                    JOptionPane.showMessageDialog(dialog, "You cannot transfer to your own account.");
+                    return;
+                }
+                if (directory.isReady() && !directory.contains(recipientAccount)) {
+                    JOptionPane.showMessageDialog(dialog, "Recipient account not found.");
+                    return;
+                }
+
                 performTransfer(recipientAccount, amount, description);
                 dialog.dispose();
             } catch (NumberFormatException ex) {
@@ -140,7 +198,7 @@ public class CustomerDashboard extends BaseDashboard {
         buttonPanel.add(transferButton);
         buttonPanel.add(cancelButton);
 
-        gbc.gridy = 3;
+        gbc.gridy = 5;
         gbc.gridwidth = 2;
         dialog.add(buttonPanel, gbc);
 
@@ -149,6 +207,23 @@ public class CustomerDashboard extends BaseDashboard {
         dialog.setVisible(true);
     }
 
+    private void updateRecipientSuggestions(String prefix, DefaultListModel<String> suggestions, JLabel statusLabel) {
+        AccountDirectory directory = AccountDirectory.getInstance();
+        suggestions.clear();
+        if (!directory.isReady() || prefix.isEmpty()) {
+            statusLabel.setText(" ");
+            return;
+        }
+        for (String accountNumber : directory.complete(prefix, MAX_RECIPIENT_SUGGESTIONS)) {
+            suggestions.addElement(accountNumber);
+        }
+        if (directory.contains(prefix)) {
+            statusLabel.setText("Account found");
+        } else {
+            statusLabel.setText(suggestions.isEmpty() ? "No matching account" : " ");
+        }
+    }
+
     private void addDialogComponent(JDialog dialog, String label, JComponent component, 
                                   GridBagConstraints gbc, int row) {
         gbc.gridx = 0;
@@ -160,85 +235,11 @@ public class CustomerDashboard extends BaseDashboard {
     }
 
     private void performTransfer(String recipientAccount, double amount, String description) {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            conn.setAutoCommit(false);
-            try {
-                // Get sender's account details
-                String senderQuery = "SELECT id, balance FROM accounts WHERE user_id = ?";
-                int senderAccountId;
-                double senderBalance;
-                try (PreparedStatement pstmt = conn.prepareStatement(senderQuery)) {
-                    pstmt.setInt(1, userId);
-                    try (ResultSet rs = pstmt.executeQuery()) {
-                        if (!rs.next()) {
-                            throw new SQLException("Sender account not found");
-                        }
-                        senderAccountId = rs.getInt("id");
-                        senderBalance = rs.getDouble("balance");
-                    }
-                }
-
-                // Check if sufficient balance
-                if (amount > senderBalance) {
-                    throw new SQLException("Insufficient balance");
-                }
-
-                // Get recipient's account details
-                String recipientQuery = "SELECT id FROM accounts WHERE account_number = ? AND user_id != ?";
-                int recipientAccountId;
-                try (PreparedStatement pstmt = conn.prepareStatement(recipientQuery)) {
-                    pstmt.setString(1, recipientAccount);
-                    pstmt.setInt(2, userId);
-                    try (ResultSet rs = pstmt.executeQuery()) {
-                        if (!rs.next()) {
-                            throw new SQLException("Recipient account not found");
-                        }
-                        recipientAccountId = rs.getInt("id");
-                    }
-                }
-
-                // Update sender's balance
-                String updateSenderQuery = "UPDATE accounts SET balance = balance - ? WHERE id = ?";
-                try (PreparedStatement pstmt = conn.prepareStatement(updateSenderQuery)) {
-                    pstmt.setDouble(1, amount);
-                    pstmt.setInt(2, senderAccountId);
-                    pstmt.executeUpdate();
-                }
-
-                // Update recipient's balance
-                String updateRecipientQuery = "UPDATE accounts SET balance = balance + ? WHERE id = ?";
-                try (PreparedStatement pstmt = conn.prepareStatement(updateRecipientQuery)) {
-                    pstmt.setDouble(1, amount);
-                    pstmt.setInt(2, recipientAccountId);
-                    pstmt.executeUpdate();
-                }
-
-                // Record sender's transaction
-                String senderTransactionQuery = "INSERT INTO transactions (account_id, type, amount, description) VALUES (?, 'TRANSFER_OUT', ?, ?)";
-                try (PreparedStatement pstmt = conn.prepareStatement(senderTransactionQuery)) {
-                    pstmt.setInt(1, senderAccountId);
-                    pstmt.setDouble(2, amount);
-                    pstmt.setString(3, "Transfer to " + recipientAccount + ": " + description);
-                    pstmt.executeUpdate();
-                }
-
-                // Record recipient's transaction
-                String recipientTransactionQuery = "INSERT INTO transactions (account_id, type, amount, description) VALUES (?, 'TRANSFER_IN', ?, ?)";
-                try (PreparedStatement pstmt = conn.prepareStatement(recipientTransactionQuery)) {
-                    pstmt.setInt(1, recipientAccountId);
-                    pstmt.setDouble(2, amount);
-                    pstmt.setString(3, "Transfer from " + accountNumberLabel.getText().split(": ")[1] + ": " + description);
-                    pstmt.executeUpdate();
-                }
-
-                conn.commit();
-                JOptionPane.showMessageDialog(this, "Transfer successful!");
-                refreshTransactionHistory();
-                refreshAccountDetails();
-            } catch (SQLException e) {
-                conn.rollback();
-                throw e;
-            }
+        try {
+            TransferService.getInstance().transfer(userId, recipientAccount, amount, description);
+            JOptionPane.showMessageDialog(this, "Transfer successful!");
+            refreshTransactionHistory();
+            refreshAccountDetails();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error: " + e.getMessage());
         }
@@ -250,12 +251,7 @@ public class CustomerDashboard extends BaseDashboard {
 
         // Create transaction table
         String[] columns = {"Type", "Amount", "Description", "Date"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        BulkTableModel model = new BulkTableModel(columns);
         transactionTable = new JTable(model);
         JScrollPane scrollPane = new JScrollPane(transactionTable);
         panel.add(scrollPane, BorderLayout.CENTER);
@@ -279,60 +275,17 @@ public class CustomerDashboard extends BaseDashboard {
                 return;
             }
 
-            try (Connection conn = DatabaseConnection.getConnection()) {
-                conn.setAutoCommit(false);
-                try {
-                    // Get current balance
-                    String balanceQuery = "SELECT balance FROM accounts WHERE user_id = ?";
-                    double currentBalance;
-                    try (PreparedStatement pstmt = conn.prepareStatement(balanceQuery)) {
-                        pstmt.setInt(1, userId);
-                        try (ResultSet rs = pstmt.executeQuery()) {
-                            if (!rs.next()) {
-                                throw new SQLException("Account not found");
-                            }
-                            currentBalance = rs.getDouble("balance");
-                        }
-                    }
-
-                    // Check if sufficient balance for debit
-                    if (type.equals("DEBIT") && amount > currentBalance) {
-                        throw new SQLException("Insufficient balance");
-                    }
-
-                    // Update balance
-                    String updateQuery = "UPDATE accounts SET balance = balance " + 
-                        (type.equals("CREDIT") ? "+" : "-") + 
-                        "? WHERE user_id = ?";
-                    try (PreparedStatement pstmt = conn.prepareStatement(updateQuery)) {
-                        pstmt.setDouble(1, amount);
-                        pstmt.setInt(2, userId);
-                        pstmt.executeUpdate();
-                    }
-
-                    // Record transaction
-                    String transactionQuery = "INSERT INTO transactions (account_id, type, amount, description) " +
-                        "SELECT id, ?, ?, ? FROM accounts WHERE user_id = ?";
-                    try (PreparedStatement pstmt = conn.prepareStatement(transactionQuery)) {
-                        pstmt.setString(1, type);
-                        pstmt.setDouble(2, amount);
-                        pstmt.setString(3, descriptionField.getText());
-                        pstmt.setInt(4, userId);
-                        pstmt.executeUpdate();
-                    }
-
-                    conn.commit();
-                    JOptionPane.showMessageDialog(this, type + " successful!");
-                    refreshTransactionHistory();
-                    refreshAccountDetails();
-                    amountField.setText("");
-                    descriptionField.setText("");
-
-                } catch (SQLException e) {
-                    conn.rollback();
-                    throw e;
-                }
+            AccountService accounts = AccountService.getInstance();
+            if (type.equals("CREDIT")) {
+                accounts.deposit(userId, amount, descriptionField.getText());
+            } else {
+                accounts.withdraw(userId, amount, descriptionField.getText());
             }
+            JOptionPane.showMessageDialog(this, type + " successful!");
+            refreshTransactionHistory();
+            refreshAccountDetails();
+            amountField.setText("");
+            descriptionField.setText("");
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Please enter a valid amount.");
         } catch (SQLException e) {
@@ -341,45 +294,34 @@ public class CustomerDashboard extends BaseDashboard {
     }
 
     private void refreshTransactionHistory() {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT t.type, t.amount, t.description, t.created_at " +
-                          "FROM transactions t " +
-                          "JOIN accounts a ON t.account_id = a.id " +
-                          "WHERE a.user_id = ? " +
-                          "ORDER BY t.created_at DESC";
-            
-            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                pstmt.setInt(1, userId);
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    DefaultTableModel model = (DefaultTableModel) transactionTable.getModel();
-                    model.setRowCount(0);
-                    while (rs.next()) {
-                        model.addRow(new Object[]{
-                            rs.getString("type"),
-                            rs.getDouble("amount"),
-                            rs.getString("description"),
-                            rs.getTimestamp("created_at")
-                        });
-                    }
-                }
+        // Transactions tab not opened yet; it loads its own history when first built
+        if (transactionTable == null) {
+            return;
+        }
+        try {
+            List<Object[]> rows = new ArrayList<>();
+            for (Transaction transaction : AccountService.getInstance().getTransactions(userId)) {
+                rows.add(new Object[]{
+                    transaction.getType(),
+                    transaction.getAmount(),
+                    transaction.getDescription(),
+                    transaction.getCreatedAt()
+                });
             }
+            ((BulkTableModel) transactionTable.getModel()).replaceRows(rows);
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error refreshing transaction history: " + e.getMessage());
         }
     }
 
     private void refreshAccountDetails() {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT account_number, type, balance FROM accounts WHERE user_id = ?";
-            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                pstmt.setInt(1, userId);
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    if (rs.next()) {
-                        accountNumberLabel.setText("Account Number: " + rs.getString("account_number"));
-                        accountTypeLabel.setText("Account Type: " + rs.getString("type"));
-                        balanceLabel.setText("Balance: $" + String.format("%.2f", rs.getDouble("balance")));
-                    }
-                }
+        try {
+            Account account = AccountService.getInstance().getPrimaryAccount(userId);
+            if (account != null) {
+                accountNumber = account.getAccountNumber();
+                accountNumberLabel.setText("Account Number: " + account.getAccountNumber());
+                accountTypeLabel.setText("Account Type: " + account.getType());
+                balanceLabel.setText("Balance: $" + String.format("%.2f", account.getBalance()));
             }
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error refreshing account details: " + e.getMessage());
@@ -392,12 +334,7 @@ public class CustomerDashboard extends BaseDashboard {
 
         // Create table for existing tickets
         String[] columns = {"ID", "Subject", "Priority", "Status", "Created At"};
-        ticketModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        ticketModel = new BulkTableModel(columns);
         ticketTable = new JTable(ticketModel);
         JScrollPane scrollPane = new JScrollPane(ticketTable);
         panel.add(scrollPane, BorderLayout.CENTER);
@@ -415,24 +352,19 @@ public class CustomerDashboard extends BaseDashboard {
         return panel;
     }
 
-    private void loadTickets(DefaultTableModel model) {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT id, subject, priority, status, created_at FROM tickets WHERE user_id = ? ORDER BY created_at DESC";
-            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                pstmt.setInt(1, userId);
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    model.setRowCount(0);
-                    while (rs.next()) {
-                        model.addRow(new Object[]{
-                            rs.getInt("id"),
-                            rs.getString("subject"),
-                            rs.getString("priority"),
-                            rs.getString("status"),
-                            rs.getTimestamp("created_at")
-                        });
-                    }
-                }
+    private void loadTickets(BulkTableModel model) {
+        try {
+            List<Object[]> rows = new ArrayList<>();
+            for (Ticket ticket : TicketService.getInstance().getCustomerTickets(userId)) {
+                rows.add(new Object[]{
+                    ticket.getId(),
+                    ticket.getSubject(),
+                    ticket.getPriority(),
+                    ticket.getStatus(),
+                    ticket.getCreatedAt()
+                });
             }
+            model.applyDiff(rows, 0);
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error loading tickets: " + e.getMessage());
         }
@@ -486,22 +418,13 @@ public class CustomerDashboard extends BaseDashboard {
                 return;
             }
 
-            try (Connection conn = DatabaseConnection.getConnection()) {
-                String query = "INSERT INTO tickets (user_id, subject, description, priority) VALUES (?, ?, ?, ?)";
-                try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                    pstmt.setInt(1, userId);
-                    pstmt.setString(2, subjectField.getText().trim());
-                    pstmt.setString(3, descriptionArea.getText().trim());
-                    pstmt.setString(4, (String) priorityCombo.getSelectedItem());
-
-                    int result = pstmt.executeUpdate();
-                    if (result > 0) {
-                        JOptionPane.showMessageDialog(dialog, "Ticket created successfully!");
-                        dialog.dispose();
-                        // Refresh the ticket list
-                        loadTickets((DefaultTableModel) ticketTable.getModel());
-                    }
-                }
+            try {
+                TicketService.getInstance().createTicket(userId, subjectField.getText().trim(),
+                        descriptionArea.getText().trim(), (String) priorityCombo.getSelectedItem());
+                JOptionPane.showMessageDialog(dialog, "Ticket created successfully!");
+                dialog.dispose();
+                // Refresh the ticket list
+                loadTickets(ticketModel);
             } catch (SQLException ex) {
                 JOptionPane.showMessageDialog(dialog, "Error creating ticket: " + ex.getMessage());
             }
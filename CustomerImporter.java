@@ -0,0 +1,546 @@
+package com.bank.crm.customer;
+
+import com.bank.crm.auth.AuthService;
+import com.bank.crm.database.DatabaseConnection;
+import com.bank.crm.report.ReportCache;
+import com.bank.crm.search.AccountDirectory;
+import com.bank.crm.search.EmailRegistry;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Onboards customers from a CSV export of another bank's book. The file is streamed, emails
+// are de-duplicated in memory against the file and the users table, and each chunk of rows
+// becomes three multi-row inserts (users, accounts, initial deposits) in one transaction.
+//
+// Columns, by header name: name, email, phone, account_type, initial_deposit and optionally
+// password_hash. Hashes in this application's format are kept; everyone else is imported
+// with a disabled password, since hashing hundreds of thousands of passwords at login cost
+// would take hours, and is issued a one-time activation code instead. The codes are written
+// to <file>.activation.csv (email, code, valid days) for the bank to send to its customers,
+// who use them to choose a password on the login screen.
+public class CustomerImporter {
+    private static final Logger LOGGER = Logger.getLogger(CustomerImporter.class.getName());
+
+    // Rows per transaction; also the number of tuples in each multi-row insert
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final String[] REQUIRED_COLUMNS = {"name", "email", "phone", "account_type", "initial_deposit"};
+    private static final int MAX_LOGGED_REJECTS = 20;
+
+    private final int chunkSize;
+    private final AccountNumberAllocator allocator;
+    private int loggedRejects;
+
+    public CustomerImporter() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public CustomerImporter(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+        this.allocator = new AccountNumberAllocator(chunkSize);
+    }
+
+    // progress is called on the importing thread after every chunk and may throw
+    // CancellationException to stop the import. A failure part way through does not throw:
+    // the chunks committed so far stay imported and the report says why the import stopped.
+    public ImportReport importFile(Path file, Consumer<ImportReport> progress) throws IOException, SQLException {
+        long start = System.nanoTime();
+        Totals totals = new Totals(Files.size(file));
+        Set<String> emails = loadExistingEmails();
+        Path codesFile = activationCodesFile(file);
+        String stoppedReason = null;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             BufferedWriter codes = openActivationCodes(codesFile);
+             Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            codes.write("email,activation_code,valid_days");
+            codes.newLine();
+
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IOException("Empty import file: " + file);
+            }
+            totals.lineRead(header);
+            Map<String, Integer> columns = parseHeader(header);
+
+            try {
+                List<ImportRow> chunk = new ArrayList<>(chunkSize);
+                String line;
+                int lineNumber = 1;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    totals.lineRead(line);
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+                    totals.rowsRead++;
+
+                    ImportRow row = parseRow(line, columns, lineNumber);
+                    if (row == null) {
+                        totals.invalid++;
+                        continue;
+                    }
+                    if (!emails.add(row.email.toLowerCase(Locale.ROOT))) {
+                        totals.duplicates++;
+                        continue;
+                    }
+
+                    chunk.add(row);
+                    if (chunk.size() == chunkSize) {
+                        writeChunk(conn, chunk, totals, codes);
+                        chunk.clear();
+                        if (progress != null) {
+                            progress.accept(totals.report(start, null, null));
+                        }
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    writeChunk(conn, chunk, totals, codes);
+                }
+            } catch (CancellationException e) {
+                stoppedReason = "canceled";
+            } catch (IOException | SQLException e) {
+                LOGGER.log(Level.SEVERE, "Customer import of " + file + " stopped", e);
+                stoppedReason = e.getMessage();
+            }
+        } finally {
+            // Whatever ended the import, the chunks already committed are announced
+            if (totals.activationCodes == 0) {
+                Files.deleteIfExists(codesFile);
+            }
+            if (totals.imported > 0) {
+                ReportCache.getInstance().invalidate(ReportCache.CUSTOMER_STATISTICS);
+                AccountDirectory.getInstance().accountsImported(totals.importedAccounts);
+                EmailRegistry registry = EmailRegistry.getInstance();
+                for (String email : totals.importedEmails) {
+                    registry.registered(email);
+                }
+            }
+        }
+
+        ImportReport report = totals.report(start, totals.activationCodes == 0 ? null : codesFile, stoppedReason);
+        LOGGER.info("Customer import of " + file + ": " + report);
+        return report;
+    }
+
+    private Set<String> loadExistingEmails() throws SQLException {
+        Set<String> emails = new HashSet<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT email FROM users",
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    emails.add(rs.getString(1).toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return emails;
+    }
+
+    private static Path activationCodesFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".activation.csv");
+    }
+
+    // The codes are credentials until used, so the file is readable by its owner only where
+    // the file system supports it
+    private static BufferedWriter openActivationCodes(Path codesFile) throws IOException {
+        Files.deleteIfExists(codesFile);
+        try {
+            Files.createFile(codesFile, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (UnsupportedOperationException e) {
+            Files.createFile(codesFile);
+        }
+        return Files.newBufferedWriter(codesFile, StandardCharsets.UTF_8);
+    }
+
+    // A failed chunk is rolled back. Rows whose email was registered by someone else while
+    // the import ran are dropped as duplicates and the rest retried once; any other failure
+    // counts the whole chunk as failed and the import carries on with the next one.
+    private void writeChunk(Connection conn, List<ImportRow> chunk, Totals totals,
+                            BufferedWriter codes) throws SQLException, IOException {
+        int firstLine = chunk.get(0).lineNumber;
+        try {
+            insertChunk(conn, chunk, totals, codes);
+            return;
+        } catch (SQLIntegrityConstraintViolationException e) {
+            conn.rollback();
+            if (dropRegisteredEmails(conn, chunk, totals) > 0) {
+                if (chunk.isEmpty()) {
+                    return;
+                }
+                try {
+                    insertChunk(conn, chunk, totals, codes);
+                    return;
+                } catch (SQLException retry) {
+                    conn.rollback();
+                    logFailedChunk(chunk.size(), firstLine, retry);
+                }
+            } else {
+                logFailedChunk(chunk.size(), firstLine, e);
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            logFailedChunk(chunk.size(), firstLine, e);
+        }
+        totals.failed += chunk.size();
+    }
+
+    // Activation codes are written only once their chunk has committed
+    private void insertChunk(Connection conn, List<ImportRow> chunk, Totals totals,
+                             BufferedWriter codes) throws SQLException, IOException {
+        List<String> accountNumbers = allocator.allocate(chunk.size());
+        List<String> activationCodes = new ArrayList<>(chunk.size());
+        int[] userIds = insertUsers(conn, chunk);
+        int[] accountIds = insertAccounts(conn, chunk, userIds, accountNumbers);
+        insertDeposits(conn, chunk, accountIds);
+        insertActivationTokens(conn, chunk, userIds, activationCodes);
+        conn.commit();
+        totals.imported += chunk.size();
+        totals.importedAccounts.addAll(accountNumbers);
+        int next = 0;
+        for (ImportRow row : chunk) {
+            totals.importedEmails.add(row.email);
+            if (row.needsActivation()) {
+                codes.write(csvField(row.email) + "," + activationCodes.get(next++) + "," +
+                        AuthService.ACTIVATION_CODE_DAYS);
+                codes.newLine();
+            }
+        }
+        codes.flush();
+        totals.activationCodes += activationCodes.size();
+    }
+
+    // Removes the rows whose email is now in the users table and returns how many
+    private static int dropRegisteredEmails(Connection conn, List<ImportRow> chunk, Totals totals) throws SQLException {
+        String query = "SELECT email FROM users WHERE email IN (" + placeholders(chunk.size()) + ")";
+        Set<String> registered = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            for (int i = 0; i < chunk.size(); i++) {
+                stmt.setString(i + 1, chunk.get(i).email);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    registered.add(rs.getString(1).toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        int before = chunk.size();
+        chunk.removeIf(row -> registered.contains(row.email.toLowerCase(Locale.ROOT)));
+        int dropped = before - chunk.size();
+        totals.duplicates += dropped;
+        return dropped;
+    }
+
+    private static void logFailedChunk(int rows, int firstLine, SQLException e) {
+        LOGGER.log(Level.WARNING, "Import chunk of " + rows + " rows starting at line " + firstLine + " failed", e);
+    }
+
+    private int[] insertUsers(Connection conn, List<ImportRow> chunk) throws SQLException {
+        String query = multiRowInsert("INSERT INTO users (name, email, phone, password, role) VALUES ",
+                "(?, ?, ?, ?, 'CUSTOMER')", chunk.size());
+        try (PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            int index = 1;
+            for (ImportRow row : chunk) {
+                stmt.setString(index++, row.name);
+                stmt.setString(index++, row.email);
+                stmt.setString(index++, row.phone);
+                stmt.setString(index++, row.passwordHash);
+            }
+            stmt.executeUpdate();
+            return generatedKeys(stmt, chunk.size());
+        }
+    }
+
+    private int[] insertAccounts(Connection conn, List<ImportRow> chunk, int[] userIds,
+                                 List<String> accountNumbers) throws SQLException {
+        String query = multiRowInsert("INSERT INTO accounts (user_id, account_number, type, balance, status) VALUES ",
+                "(?, ?, ?, ?, 'ACTIVE')", chunk.size());
+        try (PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            int index = 1;
+            for (int i = 0; i < chunk.size(); i++) {
+                ImportRow row = chunk.get(i);
+                stmt.setInt(index++, userIds[i]);
+                stmt.setString(index++, accountNumbers.get(i));
+                stmt.setString(index++, row.accountType);
+                stmt.setDouble(index++, row.initialDeposit);
+            }
+            stmt.executeUpdate();
+            return generatedKeys(stmt, chunk.size());
+        }
+    }
+
+    private void insertDeposits(Connection conn, List<ImportRow> chunk, int[] accountIds) throws SQLException {
+        int deposits = 0;
+        for (ImportRow row : chunk) {
+            if (row.initialDeposit > 0) {
+                deposits++;
+            }
+        }
+        if (deposits == 0) {
+            return;
+        }
+        String query = multiRowInsert("INSERT INTO transactions (account_id, type, amount, description) VALUES ",
+                "(?, 'CREDIT', ?, 'Initial deposit')", deposits);
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            int index = 1;
+            for (int i = 0; i < chunk.size(); i++) {
+                ImportRow row = chunk.get(i);
+                if (row.initialDeposit > 0) {
+                    stmt.setInt(index++, accountIds[i]);
+                    stmt.setDouble(index++, row.initialDeposit);
+                }
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    // One code per customer imported without a password hash, in chunk order
+    private void insertActivationTokens(Connection conn, List<ImportRow> chunk, int[] userIds,
+                                        List<String> activationCodes) throws SQLException {
+        int tokens = 0;
+        for (ImportRow row : chunk) {
+            if (row.needsActivation()) {
+                tokens++;
+            }
+        }
+        if (tokens == 0) {
+            return;
+        }
+        String query = multiRowInsert("INSERT INTO activation_tokens (user_id, token_hash, expires_at) VALUES ",
+                "(?, ?, NOW() + INTERVAL " + AuthService.ACTIVATION_CODE_DAYS + " DAY)", tokens);
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            int index = 1;
+            for (int i = 0; i < chunk.size(); i++) {
+                if (chunk.get(i).needsActivation()) {
+                    String code = AuthService.newActivationCode();
+                    activationCodes.add(code);
+                    stmt.setInt(index++, userIds[i]);
+                    stmt.setString(index++, AuthService.activationCodeHash(code));
+                }
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder in = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            in.append(i == 0 ? "?" : ", ?");
+        }
+        return in.toString();
+    }
+
+    private static String multiRowInsert(String prefix, String tuple, int rows) {
+        StringBuilder sql = new StringBuilder(prefix.length() + rows * (tuple.length() + 2));
+        sql.append(prefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(tuple);
+        }
+        return sql.toString();
+    }
+
+    // The driver reports one key per inserted tuple, in insert order
+    private static int[] generatedKeys(PreparedStatement stmt, int expected) throws SQLException {
+        int[] keys = new int[expected];
+        int count = 0;
+        try (ResultSet rs = stmt.getGeneratedKeys()) {
+            while (rs.next() && count < expected) {
+                keys[count++] = rs.getInt(1);
+            }
+        }
+        if (count != expected) {
+            throw new SQLException("Expected " + expected + " generated keys, got " + count);
+        }
+        return keys;
+    }
+
+    private static Map<String, Integer> parseHeader(String header) throws IOException {
+        List<String> names = parseCsvLine(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IOException("Import file is missing the " + required + " column");
+            }
+        }
+        return columns;
+    }
+
+    private ImportRow parseRow(String line, Map<String, Integer> columns, int lineNumber) {
+        List<String> fields = parseCsvLine(line);
+        String name = field(fields, columns, "name");
+        String email = field(fields, columns, "email");
+        String phone = field(fields, columns, "phone");
+        String accountType = field(fields, columns, "account_type").toUpperCase(Locale.ROOT);
+        String deposit = field(fields, columns, "initial_deposit");
+        String passwordHash = field(fields, columns, "password_hash");
+
+        String problem = null;
+        double initialDeposit = 0;
+        if (name.isEmpty() || email.isEmpty() || phone.isEmpty()) {
+            problem = "missing name, email or phone";
+        } else if (!email.matches("^[A-Za-z0-9+_.-]+@(.+)$")) {
+            problem = "invalid email " + email;
+        } else if (!accountType.equals("SAVINGS") && !accountType.equals("CURRENT")) {
+            problem = "invalid account type " + accountType;
+        } else {
+            try {
+                initialDeposit = deposit.isEmpty() ? 0 : Double.parseDouble(deposit);
+                if (initialDeposit < 0) {
+                    problem = "negative initial deposit";
+                }
+            } catch (NumberFormatException e) {
+                problem = "invalid initial deposit " + deposit;
+            }
+        }
+        if (problem != null) {
+            if (loggedRejects++ < MAX_LOGGED_REJECTS) {
+                LOGGER.warning("Skipping import line " + lineNumber + ": " + problem);
+            }
+            return null;
+        }
+        if (!AuthService.isPasswordHash(passwordHash)) {
+            passwordHash = AuthService.disabledPassword();
+        }
+        return new ImportRow(lineNumber, name, email, phone, accountType, initialDeposit, passwordHash);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= fields.size() ? "" : fields.get(index).trim();
+    }
+
+    // RFC 4180 fields within one line: quoted fields may contain commas and doubled quotes
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    public static void main(String[] args) throws IOException, SQLException {
+        if (args.length < 1) {
+            System.err.println("Usage: CustomerImporter <file.csv> [chunk size]");
+            System.exit(2);
+        }
+        int chunkSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CHUNK_SIZE;
+        ImportReport report = new CustomerImporter(chunkSize).importFile(Paths.get(args[0]),
+                progress -> System.out.printf("%3d%%  %,d imported  %,.0f rows/s%n",
+                        progress.getPercentRead(), progress.getImported(), progress.getRowsPerSecond()));
+        System.out.println(report);
+    }
+
+    // Running totals, touched by the importing thread only
+    private static final class Totals {
+        final long fileSize;
+        final List<String> importedAccounts = new ArrayList<>();
+        final List<String> importedEmails = new ArrayList<>();
+        long charsRead;
+        int rowsRead;
+        int imported;
+        int duplicates;
+        int invalid;
+        int failed;
+        int activationCodes;
+
+        Totals(long fileSize) {
+            this.fileSize = fileSize;
+        }
+
+        void lineRead(String line) {
+            charsRead += line.length() + 1;
+        }
+
+        ImportReport report(long startNanos, Path activationCodesFile, String stoppedReason) {
+            return new ImportReport(fileSize, charsRead, rowsRead, imported, duplicates, invalid, failed,
+                    activationCodes, activationCodesFile,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), stoppedReason);
+        }
+    }
+
+    private static final class ImportRow {
+        final int lineNumber;
+        final String name;
+        final String email;
+        final String phone;
+        final String accountType;
+        final double initialDeposit;
+        final String passwordHash;
+
+        ImportRow(int lineNumber, String name, String email, String phone, String accountType,
+                  double initialDeposit, String passwordHash) {
+            this.lineNumber = lineNumber;
+            this.name = name;
+            this.email = email;
+            this.phone = phone;
+            this.accountType = accountType;
+            this.initialDeposit = initialDeposit;
+            this.passwordHash = passwordHash;
+        }
+
+        boolean needsActivation() {
+            return AuthService.disabledPassword().equals(passwordHash);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.bank.crm.search;
+
+public class CustomerMatch {
+    private final int id;
+    private final String name;
+    private final String email;
+    private final String phone;
+    private final String status;
+    private final int score;
+
+    CustomerMatch(int id, String name, String email, String phone, String status, int score) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.status = status;
+        this.score = score;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,89 @@
+package com.bank.crm.dashboard;
+
+import com.bank.crm.search.CustomerMatch;
+import com.bank.crm.search.CustomerSearchService;
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+// Search-as-you-type box that fills a customer table (ID, Name, Email, Phone, Status)
+public class CustomerSearchPanel extends JPanel {
+    private static final int MAX_RESULTS = 200;
+    private static final int DEBOUNCE_MS = 150;
+    private static final int RETRY_MS = 1000;
+
+    private final BulkTableModel model;
+    private final Runnable onCleared;
+    private final JTextField searchField = new JTextField(20);
+    private final JLabel statusLabel = new JLabel();
+    private final Timer debounce;
+
+    public CustomerSearchPanel(BulkTableModel model, Runnable onCleared) {
+        super(new FlowLayout(FlowLayout.LEFT));
+        this.model = model;
+        this.onCleared = onCleared;
+
+        debounce = new Timer(DEBOUNCE_MS, e -> runSearch());
+        debounce.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                debounce.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                debounce.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                debounce.restart();
+            }
+        });
+
+        add(new JLabel("Search:"));
+        add(searchField);
+        add(statusLabel);
+
+        CustomerSearchService.getInstance().start();
+    }
+
+    public boolean hasQuery() {
+        return !searchField.getText().trim().isEmpty();
+    }
+
+    public void runSearch() {
+        if (!hasQuery()) {
+            statusLabel.setText("");
+            onCleared.run();
+            return;
+        }
+        CustomerSearchService service = CustomerSearchService.getInstance();
+        if (!service.isReady()) {
+            statusLabel.setText("Search index loading...");
+            debounce.setInitialDelay(RETRY_MS);
+            debounce.restart();
+            debounce.setInitialDelay(DEBOUNCE_MS);
+            return;
+        }
+
+        // Served from memory, fast enough to run on the EDT per keystroke
+        long start = System.nanoTime();
+        List<CustomerMatch> matches = service.search(searchField.getText(), MAX_RESULTS);
+        long elapsedMicros = (System.nanoTime() - start) / 1000;
+
+        List<Object[]> rows = new ArrayList<>(matches.size());
+        for (CustomerMatch match : matches) {
+            rows.add(new Object[]{
+                match.getId(), match.getName(), match.getEmail(), match.getPhone(), match.getStatus()
+            });
+        }
+        model.replaceRows(rows);
+        statusLabel.setText(matches.size() + (matches.size() == MAX_RESULTS ? "+" : "") +
+                " matches in " + elapsedMicros + " \u00b5s");
+    }
+}
@@ -0,0 +1,312 @@
+package com.bank.crm.search;
+
+import com.bank.crm.database.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class CustomerSearchService {
+    private static final Logger LOGGER = Logger.getLogger(CustomerSearchService.class.getName());
+
+    private static final long REFRESH_INTERVAL_SECONDS = 10;
+    // Re-read a few seconds behind the watermark so rows committed late with an older
+    // updated_at are not skipped; unchanged rows are ignored when applied again
+    private static final long WATERMARK_OVERLAP_MS = 5_000;
+    private static final int APPLY_BATCH_SIZE = 10_000;
+    // Changed customers are scanned directly until this many pile up, then merged in
+    private static final int COMPACT_THRESHOLD = 4_096;
+
+    private static final int FIELD_NAME = 0;
+    private static final int FIELD_EMAIL = 1;
+    private static final int FIELD_PHONE = 2;
+
+    private static final int SCORE_EXACT = 100;
+    private static final int SCORE_FIELD_PREFIX = 80;
+    private static final int SCORE_WORD_PREFIX = 60;
+    private static final int SCORE_SUBSTRING = 40;
+
+    private static final CustomerSearchService INSTANCE = new CustomerSearchService();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService scheduler;
+    private final TrigramIndex trigrams = new TrigramIndex();
+    private final PrefixIndex fieldStarts = new PrefixIndex(this::key, 3, false);
+    private final PrefixIndex wordStarts = new PrefixIndex(this::key, 3, true);
+    private final Map<Integer, Integer> slotsById = new HashMap<>();
+
+    // Document store, one slot per customer
+    private int size;
+    private int[] ids = new int[1024];
+    private String[] names = new String[1024];
+    private String[] emails = new String[1024];
+    private String[] phones = new String[1024];
+    private String[] statuses = new String[1024];
+    private String[] nameKeys = new String[1024];
+    private String[] emailKeys = new String[1024];
+    private String[] phoneKeys = new String[1024];
+
+    private volatile long watermark;
+    private volatile boolean ready;
+    private boolean started;
+
+    private CustomerSearchService() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "customer-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static CustomerSearchService getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                catchUp();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Error updating customer search index", e);
+            }
+        }, 0, REFRESH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Applies every customer row changed since the watermark
+    public int catchUp() throws SQLException {
+        long start = System.nanoTime();
+        String query = "SELECT id, name, email, phone, status, updated_at FROM users " +
+                "WHERE role = 'CUSTOMER' AND updated_at >= ? ORDER BY updated_at";
+        int changed = 0;
+        long maxSeen = watermark;
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Streamed so the first full load of millions of rows is not buffered by the driver
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setTimestamp(1, new Timestamp(Math.max(0, watermark - WATERMARK_OVERLAP_MS)));
+            try (ResultSet rs = stmt.executeQuery()) {
+                List<String[]> batch = new ArrayList<>(APPLY_BATCH_SIZE);
+                while (rs.next()) {
+                    batch.add(new String[]{
+                        rs.getString("id"), rs.getString("name"), rs.getString("email"),
+                        rs.getString("phone"), rs.getString("status")
+                    });
+                    Timestamp updatedAt = rs.getTimestamp("updated_at");
+                    if (updatedAt != null) {
+                        maxSeen = Math.max(maxSeen, updatedAt.getTime());
+                    }
+                    if (batch.size() == APPLY_BATCH_SIZE) {
+                        changed += apply(batch);
+                        batch.clear();
+                    }
+                }
+                changed += apply(batch);
+            }
+        }
+        if (!ready || fieldStarts.dirtyCount() >= COMPACT_THRESHOLD) {
+            compact();
+        }
+        watermark = maxSeen;
+        if (!ready) {
+            ready = true;
+            LOGGER.info("Customer search index built with " + size() + " customers, " + fieldStarts.size() +
+                    " prefixes, " + wordStarts.size() + " word prefixes and " + trigrams.trigramCount() +
+                    " trigrams in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } else if (changed > 0) {
+            LOGGER.info("Customer search index applied " + changed + " changes");
+        }
+        return changed;
+    }
+
+    private int apply(List<String[]> rows) {
+        int changed = 0;
+        // Applied in batches so searches are never blocked for a whole initial load
+        lock.writeLock().lock();
+        try {
+            for (String[] row : rows) {
+                int id = Integer.parseInt(row[0]);
+                Integer slot = slotsById.get(id);
+                if (slot != null && row[1].equals(names[slot]) && row[2].equals(emails[slot])
+                        && row[3].equals(phones[slot])) {
+                    statuses[slot] = row[4];
+                    continue;
+                }
+                if (slot == null) {
+                    slot = size++;
+                    ensureCapacity(size);
+                    slotsById.put(id, slot);
+                }
+                ids[slot] = id;
+                names[slot] = row[1];
+                emails[slot] = row[2];
+                phones[slot] = row[3];
+                statuses[slot] = row[4];
+                nameKeys[slot] = row[1].toLowerCase(Locale.ROOT);
+                emailKeys[slot] = row[2].toLowerCase(Locale.ROOT);
+                phoneKeys[slot] = digitsOnly(row[3]);
+                trigrams.add(slot, nameKeys[slot]);
+                trigrams.add(slot, emailKeys[slot]);
+                trigrams.add(slot, phoneKeys[slot]);
+                fieldStarts.markDirty(slot);
+                wordStarts.markDirty(slot);
+                changed++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return changed;
+    }
+
+    private void compact() {
+        // Only this thread mutates the index, so the merge can run while searches continue
+        PrefixIndex.Compacted compactedFieldStarts = fieldStarts.buildCompacted();
+        PrefixIndex.Compacted compactedWordStarts = wordStarts.buildCompacted();
+        lock.writeLock().lock();
+        try {
+            fieldStarts.install(compactedFieldStarts);
+            wordStarts.install(compactedWordStarts);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ranked as exact field matches, then field prefixes, then word prefixes, then
+    // substrings; each tier in key order. Every tier stops as soon as the limit is
+    // reached, so common prefixes cost the same as rare ones.
+    public List<CustomerMatch> search(String text, int limit) {
+        String query = normalizeQuery(text);
+        List<CustomerMatch> matches = new ArrayList<>();
+        if (query.isEmpty() || limit <= 0) {
+            return matches;
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet seen = new BitSet(size);
+            List<CustomerMatch> prefixMatches = new ArrayList<>();
+            fieldStarts.find(query, (slot, field, offset) -> {
+                if (!seen.get(slot)) {
+                    seen.set(slot);
+                    int score = key(slot, field).length() == query.length() ? SCORE_EXACT : SCORE_FIELD_PREFIX;
+                    prefixMatches.add(match(slot, score));
+                }
+                return prefixMatches.size() < limit;
+            });
+            // Exact matches sort first in key order per field, but not across fields
+            prefixMatches.sort(Comparator.comparingInt(CustomerMatch::getScore).reversed());
+            matches.addAll(prefixMatches);
+
+            if (matches.size() < limit) {
+                wordStarts.find(query, (slot, field, offset) -> {
+                    if (!seen.get(slot)) {
+                        seen.set(slot);
+                        matches.add(match(slot, SCORE_WORD_PREFIX));
+                    }
+                    return matches.size() < limit;
+                });
+            }
+
+            // Infix matches need a full trigram; postings are verified since they are never pruned
+            if (matches.size() < limit && query.length() >= 3) {
+                trigrams.forEachCandidate(query, slot -> {
+                    if (!seen.get(slot)) {
+                        seen.set(slot);
+                        if (nameKeys[slot].contains(query) || emailKeys[slot].contains(query)
+                                || phoneKeys[slot].contains(query)) {
+                            matches.add(match(slot, SCORE_SUBSTRING));
+                        }
+                    }
+                    return matches.size() < limit;
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    private CustomerMatch match(int slot, int score) {
+        return new CustomerMatch(ids[slot], names[slot], emails[slot], phones[slot], statuses[slot], score);
+    }
+
+    private String key(int slot, int field) {
+        switch (field) {
+            case FIELD_NAME:
+                return nameKeys[slot];
+            case FIELD_EMAIL:
+                return emailKeys[slot];
+            case FIELD_PHONE:
+                return phoneKeys[slot];
+            default:
+                throw new IllegalArgumentException("Unknown field: " + field);
+        }
+    }
+
+    static String normalizeQuery(String text) {
+        String query = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+        // Phone numbers are indexed as bare digits, so drop the usual separators
+        if (!query.isEmpty() && query.matches("[0-9 ()+.-]+")) {
+            return digitsOnly(query);
+        }
+        return query;
+    }
+
+    private static String digitsOnly(String value) {
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newLength);
+        names = Arrays.copyOf(names, newLength);
+        emails = Arrays.copyOf(emails, newLength);
+        phones = Arrays.copyOf(phones, newLength);
+        statuses = Arrays.copyOf(statuses, newLength);
+        nameKeys = Arrays.copyOf(nameKeys, newLength);
+        emailKeys = Arrays.copyOf(emailKeys, newLength);
+        phoneKeys = Arrays.copyOf(phoneKeys, newLength);
+    }
+}
@@ -0,0 +1,222 @@
+package com.bank.crm.report;
+
+import com.bank.crm.database.DatabaseConnection;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Precomputed first screen of ManagerDashboard: statistics plus the first page of each list
+public class DashboardSnapshot {
+    public static final String EMPLOYEES = "employees";
+    public static final String CUSTOMERS = "customers";
+    public static final String TICKETS = "tickets";
+    public static final String CUSTOMER_STATISTICS = "customer-statistics";
+    public static final String TICKET_STATISTICS = "ticket-statistics";
+
+    private static final int MAGIC = 0x44534E50; // "DSNP"
+    private static final int VERSION = 1;
+    private static final int FIRST_PAGE = 200;
+
+    private static final byte NULL_VALUE = 0;
+    private static final byte INT_VALUE = 1;
+    private static final byte STRING_VALUE = 2;
+    private static final byte TIMESTAMP_VALUE = 3;
+    private static final byte LONG_VALUE = 4;
+    private static final byte DECIMAL_VALUE = 5;
+
+    private final long createdAt;
+    private final Map<String, List<Object[]>> sections;
+
+    private DashboardSnapshot(long createdAt, Map<String, List<Object[]>> sections) {
+        this.createdAt = createdAt;
+        this.sections = sections;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public List<Object[]> getSection(String name) {
+        return sections.getOrDefault(name, Collections.emptyList());
+    }
+
+    public static DashboardSnapshot compute() throws SQLException {
+        Map<String, List<Object[]>> sections = new LinkedHashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            sections.put(EMPLOYEES, queryRows(conn,
+                    "SELECT id, name, email, phone FROM users WHERE role = 'EMPLOYEE' ORDER BY name LIMIT " + FIRST_PAGE));
+            sections.put(CUSTOMERS, queryRows(conn,
+                    "SELECT u.id, u.name, u.email, u.phone, u.status FROM users u " +
+                    "WHERE u.role = 'CUSTOMER' ORDER BY u.name LIMIT " + FIRST_PAGE));
+            sections.put(TICKETS, queryRows(conn,
+                    "SELECT t.id, u.name as customer_name, t.subject, t.priority, t.status, " +
+                    "e.name as assigned_to, t.created_at " +
+                    "FROM tickets t " +
+                    "JOIN users u ON t.user_id = u.id " +
+                    "LEFT JOIN users e ON t.assigned_to = e.id " +
+                    "ORDER BY t.created_at DESC LIMIT " + FIRST_PAGE));
+        }
+        sections.put(CUSTOMER_STATISTICS, DashboardStatistics.loadCustomerStatistics());
+        sections.put(TICKET_STATISTICS, DashboardStatistics.loadTicketStatistics());
+        return new DashboardSnapshot(System.currentTimeMillis(), sections);
+    }
+
+    private static List<Object[]> queryRows(Connection conn, String query) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columns = metaData.getColumnCount();
+            while (rs.next()) {
+                Object[] row = new Object[columns];
+                for (int i = 0; i < columns; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    public void writeTo(Path file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(createdAt);
+            out.writeInt(sections.size());
+            for (Map.Entry<String, List<Object[]>> section : sections.entrySet()) {
+                out.writeUTF(section.getKey());
+                out.writeInt(section.getValue().size());
+                for (Object[] row : section.getValue()) {
+                    out.writeShort(row.length);
+                    for (Object value : row) {
+                        writeValue(out, value);
+                    }
+                }
+            }
+        }
+        byte[] data = bytes.toByteArray();
+
+        // Swap in atomically so a dashboard opening mid-write never reads half a file. Not
+        // memory-mapped: Windows cannot replace a file while a mapping of it awaits collection.
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        createOwnerOnly(temp);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static DashboardSnapshot readFrom(Path file) throws IOException {
+        byte[] data = Files.readAllBytes(file);
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported dashboard snapshot format: " + file);
+            }
+            long createdAt = in.readLong();
+            int sectionCount = in.readInt();
+            Map<String, List<Object[]>> sections = new LinkedHashMap<>();
+            for (int s = 0; s < sectionCount; s++) {
+                String name = in.readUTF();
+                int rowCount = in.readInt();
+                List<Object[]> rows = new ArrayList<>(rowCount);
+                for (int r = 0; r < rowCount; r++) {
+                    Object[] row = new Object[in.readShort()];
+                    for (int c = 0; c < row.length; c++) {
+                        row[c] = readValue(in);
+                    }
+                    rows.add(row);
+                }
+                sections.put(name, rows);
+            }
+            return new DashboardSnapshot(createdAt, sections);
+        }
+    }
+
+    // The file holds customer names, emails and phones, so only its owner may read it where
+    // the file system supports permissions
+    private static void createOwnerOnly(Path file) throws IOException {
+        Files.deleteIfExists(file);
+        try {
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (UnsupportedOperationException e) {
+            Files.createFile(file);
+        }
+    }
+
+    // Types a column can hold are listed explicitly; anything else fails the write rather than
+    // coming back changed
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(INT_VALUE);
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            out.writeByte(LONG_VALUE);
+            out.writeLong((Long) value);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(DECIMAL_VALUE);
+            out.writeUTF(value.toString());
+        } else if (value instanceof Timestamp) {
+            out.writeByte(TIMESTAMP_VALUE);
+            out.writeLong(((Timestamp) value).getTime());
+        } else if (value instanceof java.time.LocalDateTime) {
+            out.writeByte(TIMESTAMP_VALUE);
+            out.writeLong(Timestamp.valueOf((java.time.LocalDateTime) value).getTime());
+        } else if (value instanceof String) {
+            out.writeByte(STRING_VALUE);
+            out.writeUTF((String) value);
+        } else {
+            throw new IOException("Unsupported value type in dashboard snapshot: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL_VALUE:
+                return null;
+            case INT_VALUE:
+                return in.readInt();
+            case LONG_VALUE:
+                return in.readLong();
+            case DECIMAL_VALUE:
+                return new BigDecimal(in.readUTF());
+            case TIMESTAMP_VALUE:
+                return new Timestamp(in.readLong());
+            case STRING_VALUE:
+                return in.readUTF();
+            default:
+                throw new IOException("Unknown value tag in dashboard snapshot: " + tag);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.bank.crm.report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class DashboardSnapshotJob {
+    private static final Logger LOGGER = Logger.getLogger(DashboardSnapshotJob.class.getName());
+
+    private static final Path SNAPSHOT_FILE =
+            Paths.get(System.getProperty("user.home"), ".crm_bank", "manager-dashboard.snapshot");
+    // Off-peak run so the heavy aggregates never compete with daytime traffic
+    private static final LocalTime NIGHTLY_RUN = LocalTime.of(2, 0);
+    private static final long MAX_AGE_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    private static final DashboardSnapshotJob INSTANCE = new DashboardSnapshotJob();
+
+    private final ScheduledExecutorService scheduler;
+    private boolean started;
+
+    private DashboardSnapshotJob() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "dashboard-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static DashboardSnapshotJob getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        // A missing or day-old snapshot is rebuilt now rather than waiting for the night
+        DashboardSnapshot latest = loadLatest();
+        if (latest == null || System.currentTimeMillis() - latest.getCreatedAt() > MAX_AGE_MILLIS) {
+            scheduler.execute(this::runSafely);
+        }
+
+        long initialDelay = Duration.between(LocalDateTime.now(), nextRun()).toMillis();
+        scheduler.scheduleAtFixedRate(this::runSafely, initialDelay, TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+    }
+
+    public DashboardSnapshot loadLatest() {
+        if (!Files.exists(SNAPSHOT_FILE)) {
+            return null;
+        }
+        try {
+            return DashboardSnapshot.readFrom(SNAPSHOT_FILE);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Ignoring unreadable dashboard snapshot", e);
+            return null;
+        }
+    }
+
+    public void rebuild() throws SQLException, IOException {
+        long start = System.nanoTime();
+        DashboardSnapshot snapshot = DashboardSnapshot.compute();
+        snapshot.writeTo(SNAPSHOT_FILE);
+        LOGGER.info("Dashboard snapshot rebuilt in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private void runSafely() {
+        try {
+            rebuild();
+        } catch (SQLException | IOException e) {
+            LOGGER.log(Level.WARNING, "Error rebuilding dashboard snapshot", e);
+        }
+    }
+
+    private static LocalDateTime nextRun() {
+        LocalDateTime next = LocalDateTime.now().with(NIGHTLY_RUN);
+        return next.isAfter(LocalDateTime.now()) ? next : next.plusDays(1);
+    }
+}
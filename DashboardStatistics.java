@@ -0,0 +1,72 @@
+package com.bank.crm.report;
+
+import com.bank.crm.database.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DashboardStatistics {
+    private DashboardStatistics() {
+    }
+
+    public static List<Object[]> loadCustomerStatistics() throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+        	String query = "SELECT " +
+                    "(SELECT COUNT(*) FROM users WHERE role = 'CUSTOMER') as total_customers, " +
+                    "(SELECT COUNT(*) FROM users WHERE role = 'CUSTOMER' AND status = 'ACTIVE') as active_customers, " +
+                    "(SELECT COUNT(*) FROM users WHERE role = 'CUSTOMER' AND status = 'INACTIVE') as inactive_customers, " +
+                    "(SELECT COUNT(*) FROM accounts WHERE type = 'SAVINGS') as savings_accounts, " +
+                    "(SELECT COUNT(*) FROM accounts WHERE type = 'CURRENT') as current_accounts, " +
+                    "(SELECT COUNT(*) FROM accounts WHERE type = 'FIXED_DEPOSIT') as fixed_deposit_accounts";
+            
+            try (PreparedStatement stmt = conn.prepareStatement(query);
+                 ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    rows.add(new Object[]{"Total Customers", rs.getInt("total_customers")});
+                    rows.add(new Object[]{"Active Customers", rs.getInt("active_customers")});
+                    rows.add(new Object[]{"Inactive Customers", rs.getInt("inactive_customers")});
+                    rows.add(new Object[]{"Savings Accounts", rs.getInt("savings_accounts")});
+                    rows.add(new Object[]{"Current Accounts", rs.getInt("current_accounts")});
+                    rows.add(new Object[]{"Fixed Deposit Accounts", rs.getInt("fixed_deposit_accounts")});
+                }
+            }
+        }
+        return rows;
+    }
+
+    public static List<Object[]> loadTicketStatistics() throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+        	String query = "SELECT " +
+                    "(SELECT COUNT(*) FROM tickets) as total_tickets, " +
+                    "(SELECT COUNT(*) FROM tickets WHERE status = 'OPEN') as open_tickets, " +
+                    "(SELECT COUNT(*) FROM tickets WHERE status = 'ASSIGNED') as assigned_tickets, " +
+                    "(SELECT COUNT(*) FROM tickets WHERE status = 'IN_PROGRESS') as in_progress_tickets, " +
+                    "(SELECT COUNT(*) FROM tickets WHERE status = 'RESOLVED') as resolved_tickets, " +
+                    "(SELECT COUNT(*) FROM tickets WHERE status = 'CLOSED') as closed_tickets, " +
+                    "(SELECT COUNT(*) FROM tickets WHERE priority = 'HIGH') as high_priority_tickets, " +
+                    "(SELECT COUNT(*) FROM tickets WHERE priority = 'MEDIUM') as medium_priority_tickets, " +
+                    "(SELECT COUNT(*) FROM tickets WHERE priority = 'LOW') as low_priority_tickets";
+            
+            try (PreparedStatement stmt = conn.prepareStatement(query);
+                 ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    rows.add(new Object[]{"Total Tickets", rs.getInt("total_tickets")});
+                    rows.add(new Object[]{"Open Tickets", rs.getInt("open_tickets")});
+                    rows.add(new Object[]{"Assigned Tickets", rs.getInt("assigned_tickets")});
+                    rows.add(new Object[]{"In Progress Tickets", rs.getInt("in_progress_tickets")});
+                    rows.add(new Object[]{"Resolved Tickets", rs.getInt("resolved_tickets")});
+                    rows.add(new Object[]{"Closed Tickets", rs.getInt("closed_tickets")});
+                    rows.add(new Object[]{"High Priority Tickets", rs.getInt("high_priority_tickets")});
+                    rows.add(new Object[]{"Medium Priority Tickets", rs.getInt("medium_priority_tickets")});
+                    rows.add(new Object[]{"Low Priority Tickets", rs.getInt("low_priority_tickets")});
+                }
+            }
+        }
+        return rows;
+    }
+}
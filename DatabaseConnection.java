@@ -3,11 +3,21 @@ package com.bank.crm.database;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
 
 public class DatabaseConnection {
-    private static final String URL = "jdbc:mysql://localhost:3306/crm_bank?createDatabaseIfNotExist=true&allowPublicKeyRetrieval=true&useSSL=false";
-    private static final String USER = "root";
-    private static final String PASSWORD = "krishna";
+    private static final String DEFAULT_URL = "jdbc:mysql://localhost:3306/crm_bank?createDatabaseIfNotExist=true&allowPublicKeyRetrieval=true&useSSL=false&rewriteBatchedStatements=true";
+    // Overridable so benchmarks and load tests can point at a scratch database
+    private static final String URL = System.getProperty("crm.db.url", DEFAULT_URL);
+    // Separate URL so only callers that batch several statements get multi-query support
+    private static final String MULTI_QUERY_URL = URL + "&allowMultiQueries=true";
+    private static final String USER = System.getProperty("crm.db.user", "root");
+    private static final String PASSWORD = System.getProperty("crm.db.password", "krishna");
+
+    // System.nanoTime() by which statements created on this thread must finish, if any
+    private static final ThreadLocal<Long> QUERY_DEADLINE = new ThreadLocal<>();
 
     static {
         try {
@@ -19,11 +29,43 @@ public class DatabaseConnection {
     }
 
     public static Connection getConnection() throws SQLException {
+        return connect(URL);
+    }
+
+    public static Connection getMultiQueryConnection() throws SQLException {
+        return connect(MULTI_QUERY_URL);
+    }
+
+    // Statements created on this thread until clearQueryDeadline() get the time left as their
+    // query timeout, so the server cancels a query once its caller has given up on it
+    public static void setQueryDeadline(long deadlineNanos) {
+        QUERY_DEADLINE.set(deadlineNanos);
+    }
+
+    public static void clearQueryDeadline() {
+        QUERY_DEADLINE.remove();
+    }
+
+    static void applyQueryDeadline(Statement stmt) throws SQLException {
+        Long deadline = QUERY_DEADLINE.get();
+        if (deadline == null) {
+            return;
+        }
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0) {
+            stmt.close();
+            throw new SQLTimeoutException("Query deadline already passed");
+        }
+        // Rounded up; setQueryTimeout(0) would mean no limit
+        stmt.setQueryTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos + 999_999_999)));
+    }
+
+    private static Connection connect(String url) throws SQLException {
         try {
-            return DriverManager.getConnection(URL, USER, PASSWORD);
+            return TrackedConnection.wrap(DriverManager.getConnection(url, USER, PASSWORD));
         } catch (SQLException e) {
             System.err.println("Failed to connect to database. Please check your MySQL credentials and ensure MySQL is running.");
-            System.err.println("URL: " + URL);
+            System.err.println("URL: " + url);
             System.err.println("User: " + USER);
             throw e;
         }
@@ -31,6 +31,9 @@ public class DatabaseInitializer {
                         stmt.execute(statement);
                     }
                 }
+
+                // Columns and indexes added to tables that already existed
+                SchemaMigrations.apply(conn);
                 System.out.println("Database initialized successfully!");
             }
         } catch (Exception e) {
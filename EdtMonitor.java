@@ -0,0 +1,32 @@
+package com.bank.crm.metrics;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+
+// Times every event the EDT dispatches, so queries or rendering that block the UI show up in
+// the edt.dispatch histogram and the stall counters.
+public class EdtMonitor extends EventQueue {
+    private static boolean installed;
+
+    private EdtMonitor() {
+    }
+
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new EdtMonitor());
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        long start = System.nanoTime();
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            Metrics.getInstance().eventDispatched(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.bank.crm.search;
+
+import com.bank.crm.database.ChangeLog;
+import com.bank.crm.database.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Bloom filter of registered emails in front of the uniqueness check. Almost every email
+// typed into a signup form is new, and a negative answer from the filter is certain, so that
+// case needs no round trip. A positive may be a false one and is confirmed by the database,
+// which stays authoritative; the UNIQUE constraint still catches races with other instances.
+public class EmailRegistry {
+    private static final Logger LOGGER = Logger.getLogger(EmailRegistry.class.getName());
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // Sized for twice the current users so the rate holds while signups come in
+    private static final int MIN_CAPACITY = 100_000;
+    private static final long REFRESH_INTERVAL_SECONDS = 30;
+
+    // Events carry no key, so emails never reach the change log
+    private static final String TOPIC = "user-email";
+
+    private static final EmailRegistry INSTANCE = new EmailRegistry();
+
+    private final ScheduledExecutorService scheduler;
+    private final AtomicInteger added = new AtomicInteger();
+    private final AtomicBoolean catchUpQueued = new AtomicBoolean();
+    private volatile BloomFilter filter;
+    private int lastUserId;
+    private boolean started;
+
+    private EmailRegistry() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "email-registry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ChangeLog.getInstance().subscribe(TOPIC, key -> changedElsewhere());
+    }
+
+    public static EmailRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        scheduler.execute(() -> {
+            try {
+                rebuild();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Error loading email registry", e);
+            }
+        });
+        // Fallback for missed change log events; rebuilds once the filter is over capacity
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                if (filter != null && added.get() > filter.capacity()) {
+                    rebuild();
+                } else {
+                    catchUp();
+                }
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Error updating email registry", e);
+            }
+        }, REFRESH_INTERVAL_SECONDS, REFRESH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    public boolean isRegistered(String email) throws SQLException {
+        if (definitelyNew(email)) {
+            return false;
+        }
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return existsInDatabase(conn, email);
+        }
+    }
+
+    // Same check on a connection the caller already holds, e.g. inside its transaction
+    public boolean isRegistered(Connection conn, String email) throws SQLException {
+        return !definitelyNew(email) && existsInDatabase(conn, email);
+    }
+
+    public void registered(String email) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(normalize(email));
+            added.incrementAndGet();
+        }
+        ChangeLog.getInstance().publish(TOPIC, ChangeLog.ALL);
+    }
+
+    // Another instance added users; one catch-up covers however many events arrive meanwhile
+    private void changedElsewhere() {
+        if (catchUpQueued.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                catchUpQueued.set(false);
+                try {
+                    catchUp();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error updating email registry", e);
+                }
+            });
+        }
+    }
+
+    private boolean definitelyNew(String email) {
+        BloomFilter current = filter;
+        return current != null && !current.mightContain(normalize(email));
+    }
+
+    private static boolean existsInDatabase(Connection conn, String email) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM users WHERE email = ? LIMIT 1")) {
+            stmt.setString(1, email);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private void rebuild() throws SQLException {
+        long start = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            int users;
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM users");
+                 ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                users = rs.getInt(1);
+            }
+
+            BloomFilter built = new BloomFilter(Math.max(MIN_CAPACITY, users * 2), FALSE_POSITIVE_RATE);
+            int maxId = 0;
+            int count = 0;
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT id, email FROM users",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(Integer.MIN_VALUE);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        built.add(normalize(rs.getString("email")));
+                        maxId = Math.max(maxId, rs.getInt("id"));
+                        count++;
+                    }
+                }
+            }
+
+            // Emails registered locally during the scan may be missing from it; the next
+            // catch-up re-adds everything above the scanned id
+            lastUserId = maxId;
+            added.set(count);
+            filter = built;
+            LOGGER.info("Email registry loaded " + count + " emails (capacity " + built.capacity() + ") in " +
+                    (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+        catchUp();
+    }
+
+    private void catchUp() throws SQLException {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        String query = "SELECT id, email FROM users WHERE id > ? ORDER BY id";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, lastUserId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    current.add(normalize(rs.getString("email")));
+                    added.incrementAndGet();
+                    lastUserId = rs.getInt("id");
+                }
+            }
+        }
+    }
+
+    // MySQL compares emails case-insensitively, so the filter must too
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,13 +1,19 @@
 package com.bank.crm.dashboard;
 
-import com.bank.crm.database.DatabaseConnection;
+import com.bank.crm.model.Account;
+import com.bank.crm.model.Ticket;
+import com.bank.crm.model.User;
+import com.bank.crm.service.AccountService;
+import com.bank.crm.service.TicketService;
+import com.bank.crm.service.UserService;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -20,8 +26,9 @@ public class EmployeeDashboard extends BaseDashboard {
     private JTable ticketTable;
     
     // Table Models
-    private DefaultTableModel customerModel;
-    private DefaultTableModel ticketModel;
+    private BulkTableModel customerModel;
+    private BulkTableModel ticketModel;
+    private CustomerSearchPanel customerSearch;
 
     public EmployeeDashboard(int userId, String userName) {
         super(userId, userName);
@@ -41,16 +48,14 @@ public class EmployeeDashboard extends BaseDashboard {
         // Create tabbed pane
         tabbedPane = new JTabbedPane();
         
-        // Create panels
-        JPanel customerPanel = createCustomerPanel();
-        JPanel ticketPanel = createTicketPanel();
-        
-        // Add panels to tabbed pane
-        tabbedPane.addTab("Customers", customerPanel);
-        tabbedPane.addTab("Tickets", ticketPanel);
+        // Add panels to tabbed pane; each is built on first selection
+        addLazyTab(tabbedPane, "Customers", this::createCustomerPanel);
+        addLazyTab(tabbedPane, "Tickets", this::createTicketPanel);
+        addLazyTab(tabbedPane, "Notifications", () -> new NotificationPanel(userId), true);
         
         // Add tabbed pane to main panel
         add(tabbedPane, BorderLayout.CENTER);
+        add(new AnnouncementPanel(userId, "EMPLOYEE"), BorderLayout.SOUTH);
         
         LOGGER.info("EmployeeDashboard components initialized successfully");
     }
@@ -60,19 +65,37 @@ public class EmployeeDashboard extends BaseDashboard {
         
         // Create table model
         String[] columnNames = {"ID", "Name", "Email", "Phone", "Status"};
-        customerModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        customerModel = new BulkTableModel(columnNames);
         
         // Create table
         customerTable = new JTable(customerModel);
         JScrollPane scrollPane = new JScrollPane(customerTable);
         
+        // Selecting a row prefetches its 360 view; double click or the button opens it
+        customerTable.getSelectionModel().addListSelectionListener(e -> {
+            int row = customerTable.getSelectedRow();
+            if (!e.getValueIsAdjusting() && row != -1) {
+                Customer360Panel.prefetch((int) customerModel.getValueAt(row, 0));
+            }
+        });
+        customerTable.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    showCustomer360();
+                }
+            }
+        });
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton customer360Button = new JButton("Customer 360");
+        customer360Button.addActionListener(e -> showCustomer360());
+        buttonPanel.add(customer360Button);
+
         // Add components to panel
+        customerSearch = new CustomerSearchPanel(customerModel, this::loadCustomerData);
+        panel.add(customerSearch, BorderLayout.NORTH);
         panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
         
         // Refresh customer list
         refreshCustomerList();
@@ -85,12 +108,7 @@ public class EmployeeDashboard extends BaseDashboard {
         
         // Create table model
         String[] columnNames = {"ID", "Customer", "Subject", "Priority", "Status", "Created At"};
-        ticketModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        ticketModel = new BulkTableModel(columnNames);
         
         // Create table
         ticketTable = new JTable(ticketModel);
@@ -119,38 +137,27 @@ public class EmployeeDashboard extends BaseDashboard {
 
     private void refreshCustomerList() {
         LOGGER.info("Customer list refresh requested");
-        // Implementation for refreshing customer list
+        if (customerSearch.hasQuery()) {
+            customerSearch.runSearch();
+        } else {
+            loadCustomerData();
+        }
     }
 
     private void refreshTicketList() {
         try {
-        	String query = "SELECT t.id, u.name as customer_name, t.subject, t.priority, t.status, t.created_at\n" +
-                    "FROM tickets t\n" +
-                    "JOIN users u ON t.user_id = u.id\n" +
-                    "WHERE t.assigned_to = ?\n" +
-                    "ORDER BY t.created_at DESC";
-
-            
-            try (Connection conn = DatabaseConnection.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(query)) {
-                
-                stmt.setInt(1, userId);
-                
-                try (ResultSet rs = stmt.executeQuery()) {
-                    ticketModel.setRowCount(0);
-                    while (rs.next()) {
-                        Object[] row = {
-                            rs.getInt("id"),
-                            rs.getString("customer_name"),
-                            rs.getString("subject"),
-                            rs.getString("priority"),
-                            rs.getString("status"),
-                            rs.getTimestamp("created_at")
-                        };
-                        ticketModel.addRow(row);
-                    }
-                }
+            List<Object[]> rows = new ArrayList<>();
+            for (Ticket ticket : TicketService.getInstance().getAssignedTickets(userId)) {
+                rows.add(new Object[]{
+                    ticket.getId(),
+                    ticket.getCustomerName(),
+                    ticket.getSubject(),
+                    ticket.getPriority(),
+                    ticket.getStatus(),
+                    ticket.getCreatedAt()
+                });
             }
+            ticketModel.applyDiff(rows, 0);
             LOGGER.info("Ticket list refreshed successfully");
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error refreshing ticket list", e);
@@ -193,20 +200,12 @@ public class EmployeeDashboard extends BaseDashboard {
 
         updateButton.addActionListener(e -> {
             String newStatus = (String) statusCombo.getSelectedItem();
-            try (Connection conn = DatabaseConnection.getConnection()) {
-                String query = "UPDATE tickets SET status = ? WHERE id = ? AND assigned_to = ?";
-                try (PreparedStatement stmt = conn.prepareStatement(query)) {
-                    stmt.setString(1, newStatus);
-                    stmt.setInt(2, ticketId);
-                    stmt.setInt(3, userId);
-
-                    int result = stmt.executeUpdate();
-                    if (result > 0) {
-                        LOGGER.info("Ticket status updated successfully");
-                        JOptionPane.showMessageDialog(dialog, "Status updated successfully!");
-                        refreshTicketList();
-                        dialog.dispose();
-                    }
+            try {
+                if (TicketService.getInstance().updateAssignedTicketStatus(ticketId, userId, newStatus)) {
+                    LOGGER.info("Ticket status updated successfully");
+                    JOptionPane.showMessageDialog(dialog, "Status updated successfully!");
+                    refreshTicketList();
+                    dialog.dispose();
                 }
             } catch (SQLException ex) {
                 LOGGER.log(Level.SEVERE, "Error updating ticket status", ex);
@@ -229,53 +228,32 @@ public class EmployeeDashboard extends BaseDashboard {
     }
 
     private void loadCustomerData() {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT id, name, email, phone, status FROM users WHERE role = 'CUSTOMER'";
-            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    customerModel.setRowCount(0);
-                    while (rs.next()) {
-                        customerModel.addRow(new Object[]{
-                            rs.getInt("id"),
-                            rs.getString("name"),
-                            rs.getString("email"),
-                            rs.getString("phone"),
-                            rs.getString("status")
-                        });
-                    }
-                }
+        try {
+            List<Object[]> rows = new ArrayList<>();
+            for (User customer : UserService.getInstance().getCustomers()) {
+                rows.add(new Object[]{
+                    customer.getId(),
+                    customer.getName(),
+                    customer.getEmail(),
+                    customer.getPhone(),
+                    customer.getStatus()
+                });
             }
+            customerModel.applyDiff(rows, 0);
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error loading customer data: " + e.getMessage());
         }
     }
 
-    private void loadTicketData() {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT t.id, u.name as customer_name, t.subject, t.priority, t.status, t.created_at " +
-                          "FROM tickets t " +
-                          "JOIN users u ON t.user_id = u.id " +
-                          "WHERE t.assigned_to = ? OR t.assigned_to IS NULL " +
-                          "ORDER BY t.created_at DESC";
-            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                pstmt.setInt(1, userId);
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    ticketModel.setRowCount(0);
-                    while (rs.next()) {
-                        ticketModel.addRow(new Object[]{
-                            rs.getInt("id"),
-                            rs.getString("customer_name"),
-                            rs.getString("subject"),
-                            rs.getString("priority"),
-                            rs.getString("status"),
-                            rs.getTimestamp("created_at")
-                        });
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error loading ticket data: " + e.getMessage());
+    private void showCustomer360() {
+        int selectedRow = customerTable.getSelectedRow();
+        if (selectedRow == -1) {
+            JOptionPane.showMessageDialog(this, "Please select a customer first.");
+            return;
         }
+        int customerId = (int) customerModel.getValueAt(selectedRow, 0);
+        String customerName = (String) customerModel.getValueAt(selectedRow, 1);
+        Customer360Panel.showDialog(this, customerId, customerName);
     }
 
     private void showCustomerAccounts() {
@@ -301,20 +279,14 @@ public class EmployeeDashboard extends BaseDashboard {
         JScrollPane scrollPane = new JScrollPane(table);
         panel.add(scrollPane, BorderLayout.CENTER);
 
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT account_number, type, balance, status FROM accounts WHERE user_id = ?";
-            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                pstmt.setInt(1, customerId);
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    while (rs.next()) {
-                        model.addRow(new Object[]{
-                            rs.getString("account_number"),
-                            rs.getString("type"),
-                            rs.getDouble("balance"),
-                            rs.getString("status")
-                        });
-                    }
-                }
+        try {
+            for (Account account : AccountService.getInstance().getAccounts(customerId)) {
+                model.addRow(new Object[]{
+                    account.getAccountNumber(),
+                    account.getType(),
+                    account.getBalance(),
+                    account.getStatus()
+                });
             }
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(dialog, "Error loading accounts: " + e.getMessage());
@@ -373,24 +345,10 @@ public class EmployeeDashboard extends BaseDashboard {
                 }
 
                 String type = (String) typeCombo.getSelectedItem();
-                String accountNumber = generateAccountNumber();
-
-                try (Connection conn = DatabaseConnection.getConnection()) {
-                    String query = "INSERT INTO accounts (user_id, account_number, type, balance) VALUES (?, ?, ?, ?)";
-                    try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                        pstmt.setInt(1, customerId);
-                        pstmt.setString(2, accountNumber);
-                        pstmt.setString(3, type);
-                        pstmt.setDouble(4, balance);
-
-                        int rowsAffected = pstmt.executeUpdate();
-                        if (rowsAffected > 0) {
-                            JOptionPane.showMessageDialog(dialog, "Account created successfully!");
-                            showCustomerAccounts();
-                            dialog.dispose();
-                        }
-                    }
-                }
+                AccountService.getInstance().openAccount(customerId, type, balance);
+                JOptionPane.showMessageDialog(dialog, "Account created successfully!");
+                showCustomerAccounts();
+                dialog.dispose();
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(dialog, "Please enter a valid balance.");
             } catch (SQLException ex) {
@@ -411,8 +369,4 @@ public class EmployeeDashboard extends BaseDashboard {
         dialog.add(panel);
         dialog.setVisible(true);
     }
-
-    private String generateAccountNumber() {
-        return "ACC" + System.currentTimeMillis();
-    }
 } 
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.bank.crm.customer;
+
+import java.nio.file.Path;
+
+// Totals of a bulk import at one point in time. The importer hands out a new report after
+// every chunk, so a report can be passed to another thread while the import carries on.
+public class ImportReport {
+    private final long fileSize;
+    private final long charsRead;
+    private final int rowsRead;
+    private final int imported;
+    private final int duplicates;
+    private final int invalid;
+    private final int failed;
+    private final int activationCodes;
+    private final Path activationCodesFile;
+    private final long elapsedMillis;
+    private final String stoppedReason;
+
+    ImportReport(long fileSize, long charsRead, int rowsRead, int imported, int duplicates, int invalid, int failed,
+                 int activationCodes, Path activationCodesFile, long elapsedMillis, String stoppedReason) {
+        this.fileSize = fileSize;
+        this.charsRead = charsRead;
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.duplicates = duplicates;
+        this.invalid = invalid;
+        this.failed = failed;
+        this.activationCodes = activationCodes;
+        this.activationCodesFile = activationCodesFile;
+        this.elapsedMillis = elapsedMillis;
+        this.stoppedReason = stoppedReason;
+    }
+
+    public int getRowsRead() {
+        return rowsRead;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    // Emails already in the file, in the users table, or registered while the import ran
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    // Rows in chunks that were rolled back
+    public int getFailed() {
+        return failed;
+    }
+
+    // Customers imported without a password, who need their code to sign in
+    public int getActivationCodes() {
+        return activationCodes;
+    }
+
+    // Null when every imported customer had a password hash
+    public Path getActivationCodesFile() {
+        return activationCodesFile;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    // Why the import ended before the end of the file, or null if it read the whole file.
+    // Chunks committed before that stay imported.
+    public String getStoppedReason() {
+        return stoppedReason;
+    }
+
+    public boolean isComplete() {
+        return stoppedReason == null;
+    }
+
+    // Estimated from characters read, which matches bytes for the usual ASCII exports
+    public int getPercentRead() {
+        return fileSize <= 0 ? 100 : (int) Math.min(100, charsRead * 100 / fileSize);
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? 0 : imported * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        String summary = String.format("%,d rows read: %,d imported, %,d duplicate emails, %,d invalid, %,d failed " +
+                "in %.1f s (%,.0f rows/s)", rowsRead, imported, duplicates, invalid, failed,
+                elapsedMillis / 1000.0, getRowsPerSecond());
+        if (activationCodesFile != null) {
+            summary += String.format("; %,d activation codes written to %s", activationCodes, activationCodesFile);
+        }
+        if (stoppedReason != null) {
+            summary += "; stopped early: " + stoppedReason;
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,119 @@
+package com.bank.crm.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Log-linear histogram in the style of HdrHistogram: values in microseconds, exact below 32 us
+// and within about 3% above, up to days. Recording is a few lock-free increments, so it can sit
+// on every query and on the event dispatch thread.
+public class LatencyHistogram {
+    private static final int LINEAR_BUCKETS = 32;
+    private static final int SUB_BUCKETS = LINEAR_BUCKETS / 2;
+    private static final int LINEAR_BITS = 5;
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKET_COUNT = LINEAR_BUCKETS + (MAX_EXPONENT - LINEAR_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(bucketOf(micros));
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMeanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalMicros.sum() / 1000.0 / n;
+    }
+
+    public double getMaxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    // Upper bound of the bucket holding the given percentile, never above the recorded maximum
+    public double getPercentileMillis(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long n = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            n += snapshot[i];
+        }
+        return percentileMillis(snapshot, n, percentile, maxMicros.get());
+    }
+
+    // Percentiles over several histograms at once, e.g. the slots of a rolling window
+    static double[] percentilesMillis(LatencyHistogram[] histograms, double... percentiles) {
+        long[] merged = new long[BUCKET_COUNT];
+        long n = 0;
+        long max = 0;
+        for (LatencyHistogram histogram : histograms) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long c = histogram.counts.get(i);
+                merged[i] += c;
+                n += c;
+            }
+            max = Math.max(max, histogram.maxMicros.get());
+        }
+        double[] result = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            result[i] = percentileMillis(merged, n, percentiles[i], max);
+        }
+        return result;
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        totalMicros.reset();
+        maxMicros.set(0);
+    }
+
+    private static double percentileMillis(long[] buckets, long n, double percentile, long maxMicros) {
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxMicros) / 1000.0;
+            }
+        }
+        return maxMicros / 1000.0;
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - (LINEAR_BITS - 1);
+        return LINEAR_BUCKETS + (exponent - LINEAR_BITS) * SUB_BUCKETS + (int) (micros >> shift) - SUB_BUCKETS;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int offset = bucket - LINEAR_BUCKETS;
+        int exponent = offset / SUB_BUCKETS + LINEAR_BITS;
+        int shift = exponent - (LINEAR_BITS - 1);
+        return ((long) (offset % SUB_BUCKETS + SUB_BUCKETS + 1) << shift) - 1;
+    }
+}
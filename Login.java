@@ -1,13 +1,9 @@
 package com.bank.crm.auth;
 
 import com.bank.crm.dashboard.*;
-import com.bank.crm.database.DatabaseConnection;
 import javax.swing.*;
 import java.awt.*;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.concurrent.CompletionException;
 
 public class Login extends JFrame {
     private JTextField emailField;
@@ -44,12 +40,15 @@ public class Login extends JFrame {
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
         JButton loginButton = new JButton("Login");
         JButton signupButton = new JButton("Sign Up");
+        JButton activateButton = new JButton("Activate Account");
 
         loginButton.addActionListener(e -> handleLogin());
         signupButton.addActionListener(e -> showSignupDialog());
+        activateButton.addActionListener(e -> showActivationDialog());
 
         buttonPanel.add(loginButton);
         buttonPanel.add(signupButton);
+        buttonPanel.add(activateButton);
 
         gbc.gridx = 0;
         gbc.gridy = 2;
@@ -68,43 +67,114 @@ public class Login extends JFrame {
             return;
         }
 
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT id, name, role FROM users WHERE email = ? AND password = ?";
-            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                pstmt.setString(1, email);
-                pstmt.setString(2, password);
-
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    if (rs.next()) {
-                        int userId = rs.getInt("id");
-                        String userName = rs.getString("name");
-                        String role = rs.getString("role");
-
-                        dispose(); // Close login window
-                        BaseDashboard dashboard;
-
-                        switch (role) {
-                            case "MANAGER":
-                                dashboard = new ManagerDashboard(userId, userName);
-                                break;
-                            case "CUSTOMER":
-                                dashboard = new CustomerDashboard(userId, userName);
-                                break;
-                            case "EMPLOYEE":
-                                dashboard = new EmployeeDashboard(userId, userName);
-                                break;
-                            default:
-                                throw new IllegalStateException("Invalid role: " + role);
+        // Hashing is slow on purpose; verify on the auth pool and come back to the EDT
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        AuthService.getInstance().authenticate(email, password).whenComplete((user, error) ->
+                SwingUtilities.invokeLater(() -> {
+                    setCursor(Cursor.getDefaultCursor());
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                        if (cause instanceof LoginThrottledException) {
+                            JOptionPane.showMessageDialog(this, cause.getMessage());
+                        } else {
+                            JOptionPane.showMessageDialog(this, "Error during login: " + cause.getMessage());
                         }
-                        dashboard.setVisible(true);
-                    } else {
+                    } else if (user == null) {
                         JOptionPane.showMessageDialog(this, "Invalid email or password.");
+                    } else {
+                        openDashboard(user);
                     }
-                }
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error during login: " + e.getMessage());
+                }));
+    }
+
+    private void openDashboard(AuthenticatedUser user) {
+        int userId = user.getUserId();
+        String userName = user.getName();
+
+        dispose(); // Close login window
+        BaseDashboard dashboard;
+
+        switch (user.getRole()) {
+            case "MANAGER":
+                dashboard = new ManagerDashboard(userId, userName);
+                break;
+            case "CUSTOMER":
+                dashboard = new CustomerDashboard(userId, userName);
+                break;
+            case "EMPLOYEE":
+                dashboard = new EmployeeDashboard(userId, userName);
+                break;
+            default:
+                throw new IllegalStateException("Invalid role: " + user.getRole());
         }
+        dashboard.setVisible(true);
+    }
+
+    // For customers whose account was created for them, e.g. by a bulk import, with an
+    // activation code instead of a password
+    private void showActivationDialog() {
+        JDialog dialog = new JDialog(this, "Activate Account", true);
+        dialog.setLayout(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        JTextField activationEmailField = new JTextField(emailField.getText().trim(), 20);
+        JTextField codeField = new JTextField(20);
+        JPasswordField newPasswordField = new JPasswordField(20);
+        JPasswordField confirmField = new JPasswordField(20);
+        String[] labels = {"Email:", "Activation Code:", "New Password:", "Confirm Password:"};
+        JComponent[] fields = {activationEmailField, codeField, newPasswordField, confirmField};
+        for (int i = 0; i < labels.length; i++) {
+            gbc.gridx = 0;
+            gbc.gridy = i;
+            dialog.add(new JLabel(labels[i]), gbc);
+            gbc.gridx = 1;
+            dialog.add(fields[i], gbc);
+        }
+
+        JButton activateButton = new JButton("Activate");
+        activateButton.addActionListener(e -> {
+            String email = activationEmailField.getText().trim();
+            String code = codeField.getText().trim();
+            String password = new String(newPasswordField.getPassword());
+            if (email.isEmpty() || code.isEmpty() || password.isEmpty()) {
+                JOptionPane.showMessageDialog(dialog, "Please fill in all fields.");
+                return;
+            }
+            if (!password.equals(new String(confirmField.getPassword()))) {
+                JOptionPane.showMessageDialog(dialog, "Passwords do not match.");
+                return;
+            }
+
+            activateButton.setEnabled(false);
+            dialog.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+            AuthService.getInstance().activate(email, code, password).whenComplete((activated, error) ->
+                    SwingUtilities.invokeLater(() -> {
+                        dialog.setCursor(Cursor.getDefaultCursor());
+                        activateButton.setEnabled(true);
+                        if (error != null) {
+                            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                            JOptionPane.showMessageDialog(dialog, cause instanceof LoginThrottledException
+                                    ? cause.getMessage() : "Error during activation: " + cause.getMessage());
+                        } else if (!activated) {
+                            JOptionPane.showMessageDialog(dialog, "Invalid email or activation code, or the code has expired.");
+                        } else {
+                            JOptionPane.showMessageDialog(dialog, "Account activated. You can now log in.");
+                            emailField.setText(email);
+                            passwordField.setText("");
+                            dialog.dispose();
+                        }
+                    }));
+        });
+        gbc.gridx = 0;
+        gbc.gridy = labels.length;
+        gbc.gridwidth = 2;
+        dialog.add(activateButton, gbc);
+
+        dialog.pack();
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
     }
 
     private void showSignupDialog() {
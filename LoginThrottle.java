@@ -0,0 +1,324 @@
+package com.bank.crm.auth;
+
+import com.bank.crm.database.DatabaseConnection;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Sliding-window failure counters per email and per source, with lockouts that double on
+// every repeat. Checks are answered from memory so a locked identity never reaches MySQL;
+// the counters are written back periodically so a restart does not clear a lockout.
+public class LoginThrottle {
+    private static final Logger LOGGER = Logger.getLogger(LoginThrottle.class.getName());
+
+    // 15 one-minute buckets make up the sliding window
+    private static final long BUCKET_MS = TimeUnit.MINUTES.toMillis(1);
+    private static final int WINDOW_BUCKETS = 15;
+    private static final int MAX_EMAIL_FAILURES = 5;
+    // A source (one machine) legitimately serves many users, so it gets more room
+    private static final int MAX_SOURCE_FAILURES = 20;
+    private static final long BASE_LOCKOUT_MS = TimeUnit.SECONDS.toMillis(30);
+    private static final long MAX_LOCKOUT_MS = TimeUnit.HOURS.toMillis(1);
+    // Strikes are forgotten after a quiet day
+    private static final long STRIKE_RESET_MS = TimeUnit.DAYS.toMillis(1);
+    private static final long PERSIST_INTERVAL_SECONDS = 30;
+
+    // Power of two so the stripe is a mask of the key hash
+    private static final int STRIPES = 64;
+
+    private static final LoginThrottle INSTANCE = new LoginThrottle();
+
+    private final Object[] locks = new Object[STRIPES];
+    private final List<Map<String, Entry>> stripes = new ArrayList<>(STRIPES);
+    private final String localSource;
+    private final ScheduledExecutorService scheduler;
+    private boolean started;
+
+    // Package-private so tests can start from an empty throttle
+    LoginThrottle() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+            stripes.add(new HashMap<>());
+        }
+        localSource = resolveLocalSource();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "login-throttle");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static LoginThrottle getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        scheduler.execute(() -> {
+            try {
+                load();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Error loading login throttle state", e);
+            }
+        });
+        scheduler.scheduleWithFixedDelay(this::persistQuietly,
+                PERSIST_INTERVAL_SECONDS, PERSIST_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::persistQuietly, "login-throttle-flush"));
+    }
+
+    // The desktop client logs in from this machine; other front ends pass their own source
+    public String getLocalSource() {
+        return localSource;
+    }
+
+    // Milliseconds until either identity may try again, or 0 when the attempt is allowed
+    public long retryAfter(String email, String source) {
+        return retryAfter(email, source, System.currentTimeMillis());
+    }
+
+    long retryAfter(String email, String source, long now) {
+        return Math.max(lockRemaining(emailKey(email), now), lockRemaining(sourceKey(source), now));
+    }
+
+    public void recordFailure(String email, String source) {
+        recordFailure(email, source, System.currentTimeMillis());
+    }
+
+    void recordFailure(String email, String source, long now) {
+        fail(emailKey(email), MAX_EMAIL_FAILURES, now);
+        fail(sourceKey(source), MAX_SOURCE_FAILURES, now);
+    }
+
+    // A correct password clears the account's history; the source keeps counting
+    public void recordSuccess(String email) {
+        String key = emailKey(email);
+        int stripe = stripe(key);
+        synchronized (locks[stripe]) {
+            Entry entry = stripes.get(stripe).get(key);
+            if (entry != null) {
+                entry.reset();
+            }
+        }
+    }
+
+    private long lockRemaining(String key, long now) {
+        int stripe = stripe(key);
+        synchronized (locks[stripe]) {
+            Entry entry = stripes.get(stripe).get(key);
+            return entry == null ? 0 : Math.max(0, entry.lockedUntil - now);
+        }
+    }
+
+    private void fail(String key, int maxFailures, long now) {
+        int stripe = stripe(key);
+        synchronized (locks[stripe]) {
+            Entry entry = stripes.get(stripe).computeIfAbsent(key, k -> new Entry());
+            if (entry.strikes > 0 && now - entry.lastFailure > STRIKE_RESET_MS) {
+                entry.strikes = 0;
+            }
+            entry.add(now, 1);
+            entry.lastFailure = now;
+            entry.dirty = true;
+            if (entry.lockedUntil <= now && entry.failures(now) >= maxFailures) {
+                entry.strikes++;
+                long lockout = Math.min(MAX_LOCKOUT_MS, BASE_LOCKOUT_MS << Math.min(entry.strikes - 1, 20));
+                entry.lockedUntil = now + lockout;
+                LOGGER.warning("Locked " + key + " for " + lockout / 1000 + " s after " +
+                        entry.failures(now) + " failed logins (strike " + entry.strikes + ")");
+            }
+        }
+    }
+
+    private void load() throws SQLException {
+        long now = System.currentTimeMillis();
+        String query = "SELECT throttle_key, failures, last_failure_at, locked_until, strikes FROM login_throttle " +
+                "WHERE locked_until > ? OR last_failure_at > ?";
+        int loaded = 0;
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setTimestamp(1, new Timestamp(now));
+            stmt.setTimestamp(2, new Timestamp(now - STRIKE_RESET_MS));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String key = rs.getString("throttle_key");
+                    Timestamp lastFailure = rs.getTimestamp("last_failure_at");
+                    Timestamp lockedUntil = rs.getTimestamp("locked_until");
+                    int stripe = stripe(key);
+                    synchronized (locks[stripe]) {
+                        Entry entry = stripes.get(stripe).computeIfAbsent(key, k -> new Entry());
+                        // The window is stored as a count; it restarts in the bucket of the last failure
+                        if (lastFailure != null && lastFailure.getTime() > entry.lastFailure) {
+                            entry.lastFailure = lastFailure.getTime();
+                            entry.add(lastFailure.getTime(), rs.getInt("failures"));
+                        }
+                        if (lockedUntil != null) {
+                            entry.lockedUntil = Math.max(entry.lockedUntil, lockedUntil.getTime());
+                        }
+                        entry.strikes = Math.max(entry.strikes, rs.getInt("strikes"));
+                    }
+                    loaded++;
+                }
+            }
+        }
+        LOGGER.info("Loaded " + loaded + " login throttle entries");
+    }
+
+    private void persistQuietly() {
+        try {
+            persist();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error persisting login throttle state", e);
+        }
+    }
+
+    private void persist() throws SQLException {
+        long now = System.currentTimeMillis();
+        List<Object[]> changed = new ArrayList<>();
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < STRIPES; i++) {
+            synchronized (locks[i]) {
+                Iterator<Map.Entry<String, Entry>> it = stripes.get(i).entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<String, Entry> mapping = it.next();
+                    Entry entry = mapping.getValue();
+                    if (entry.isExpired(now)) {
+                        it.remove();
+                        expired.add(mapping.getKey());
+                    } else if (entry.dirty) {
+                        entry.dirty = false;
+                        changed.add(new Object[]{mapping.getKey(), entry.failures(now),
+                                entry.lastFailure, entry.lockedUntil, entry.strikes});
+                    }
+                }
+            }
+        }
+        if (changed.isEmpty() && expired.isEmpty()) {
+            return;
+        }
+
+        String upsert = "INSERT INTO login_throttle (throttle_key, failures, last_failure_at, locked_until, strikes) " +
+                "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE failures = VALUES(failures), " +
+                "last_failure_at = VALUES(last_failure_at), locked_until = VALUES(locked_until), " +
+                "strikes = VALUES(strikes)";
+        String delete = "DELETE FROM login_throttle WHERE throttle_key = ? AND (locked_until IS NULL OR locked_until < ?)";
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement upsertStmt = conn.prepareStatement(upsert);
+                 PreparedStatement deleteStmt = conn.prepareStatement(delete)) {
+                for (Object[] row : changed) {
+                    upsertStmt.setString(1, (String) row[0]);
+                    upsertStmt.setInt(2, (Integer) row[1]);
+                    upsertStmt.setTimestamp(3, new Timestamp((Long) row[2]));
+                    long lockedUntil = (Long) row[3];
+                    upsertStmt.setTimestamp(4, lockedUntil == 0 ? null : new Timestamp(lockedUntil));
+                    upsertStmt.setInt(5, (Integer) row[4]);
+                    upsertStmt.addBatch();
+                }
+                for (String key : expired) {
+                    deleteStmt.setString(1, key);
+                    deleteStmt.setTimestamp(2, new Timestamp(now));
+                    deleteStmt.addBatch();
+                }
+                upsertStmt.executeBatch();
+                deleteStmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String sourceKey(String source) {
+        return "source:" + source;
+    }
+
+    private static String resolveLocalSource() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown-host";
+        }
+        return host + "/" + System.getProperty("user.name", "unknown-user");
+    }
+
+    // Guarded by its stripe's lock
+    private static final class Entry {
+        private final int[] buckets = new int[WINDOW_BUCKETS];
+        // Index, in buckets since the epoch, of the newest bucket
+        private long newestBucket;
+        private long lastFailure;
+        private long lockedUntil;
+        private int strikes;
+        private boolean dirty;
+
+        void add(long time, int failures) {
+            advance(time / BUCKET_MS);
+            long bucket = time / BUCKET_MS;
+            if (bucket > newestBucket - WINDOW_BUCKETS) {
+                buckets[(int) (bucket % WINDOW_BUCKETS)] += failures;
+            }
+        }
+
+        int failures(long now) {
+            advance(now / BUCKET_MS);
+            int total = 0;
+            for (int count : buckets) {
+                total += count;
+            }
+            return total;
+        }
+
+        // Clears the buckets that slid out of the window
+        private void advance(long bucket) {
+            if (bucket <= newestBucket) {
+                return;
+            }
+            long cleared = Math.min(bucket - newestBucket, WINDOW_BUCKETS);
+            for (long i = 1; i <= cleared; i++) {
+                buckets[(int) ((newestBucket + i) % WINDOW_BUCKETS)] = 0;
+            }
+            newestBucket = bucket;
+        }
+
+        void reset() {
+            Arrays.fill(buckets, 0);
+            lockedUntil = 0;
+            strikes = 0;
+            dirty = true;
+        }
+
+        boolean isExpired(long now) {
+            return lockedUntil <= now && failures(now) == 0 && now - lastFailure > STRIKE_RESET_MS;
+        }
+    }
+}
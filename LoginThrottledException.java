@@ -0,0 +1,14 @@
+package com.bank.crm.auth;
+
+public class LoginThrottledException extends Exception {
+    private final long retryAfterMillis;
+
+    public LoginThrottledException(long retryAfterMillis) {
+        super("Too many failed login attempts. Try again in " + ((retryAfterMillis + 999) / 1000) + " seconds.");
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
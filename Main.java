@@ -1,8 +1,15 @@
 package com.bank.crm;
 
+import com.bank.crm.api.ApiServer;
 import com.bank.crm.auth.Login;
+import com.bank.crm.auth.LoginThrottle;
+import com.bank.crm.database.ChangeLog;
 import com.bank.crm.database.DatabaseInitializer;
 import com.bank.crm.database.DatabaseConnection;
+import com.bank.crm.metrics.EdtMonitor;
+import com.bank.crm.notification.BroadcastService;
+import com.bank.crm.search.AccountDirectory;
+import com.bank.crm.search.EmailRegistry;
 import javax.swing.*;
 import java.sql.Connection;
 
@@ -22,6 +29,32 @@ public class Main {
             // Test database connection
             try (Connection conn = DatabaseConnection.getConnection()) {
                 System.out.println("Database connection successful!");
+
+                // Cache invalidations from other running instances, before any cache loads
+                ChangeLog.getInstance().start();
+
+                // Warm the announcement cache while the user is logging in
+                Thread preloader = new Thread(() -> BroadcastService.getInstance().preload(), "broadcast-preload");
+                preloader.setDaemon(true);
+                preloader.start();
+
+                // Recipient validation in the transfer dialog is served from memory
+                AccountDirectory.getInstance().start();
+
+                // Signup's duplicate-email check is answered from memory for new emails
+                EmailRegistry.getInstance().start();
+
+                // Restore failed-login counters and lockouts before the first attempt
+                LoginThrottle.getInstance().start();
+                
+                // Time every UI event for the System Health tab and JMX
+                EdtMonitor.install();
+
+                // Kiosks and batch systems talk to the optional HTTP/JSON API
+                Integer apiPort = Integer.getInteger("crm.api.port");
+                if (apiPort != null) {
+                    ApiServer.getInstance().start(apiPort);
+                }
                 
                 // Start application
                 SwingUtilities.invokeLater(() -> {
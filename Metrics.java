@@ -0,0 +1,142 @@
+package com.bank.crm.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Process-wide registry of operation latencies and gauges. Operations are created on first use
+// and published over JMX under com.bank.crm, next to the gauges; the System Health tab reads the
+// same objects.
+public class Metrics implements MetricsMXBean {
+    private static final Logger LOGGER = Logger.getLogger(Metrics.class.getName());
+
+    public static final String CONNECTION_HELD = "db.connection.held";
+    public static final String EDT_DISPATCH = "edt.dispatch";
+    // Events shorter than this are not worth a histogram entry; there are thousands per second
+    private static final long EDT_RECORD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    // Long enough for a user to notice the window stop responding
+    private static final long EDT_STALL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final String DOMAIN = "com.bank.crm";
+
+    private static final Metrics INSTANCE = new Metrics();
+
+    private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger peakOpenConnections = new AtomicInteger();
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder edtStalls = new LongAdder();
+    private final LongAdder edtBlockedNanos = new LongAdder();
+
+    private Metrics() {
+        register(this, "type=Metrics");
+    }
+
+    public static Metrics getInstance() {
+        return INSTANCE;
+    }
+
+    // Times a database-backed operation, counting it as an error if it throws
+    public static <T> T time(String name, TimedOperation<T> operation) throws SQLException {
+        OperationMetrics metrics = INSTANCE.operation(name);
+        long start = System.nanoTime();
+        try {
+            T result = operation.run();
+            metrics.record(System.nanoTime() - start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            metrics.recordError();
+            throw e;
+        }
+    }
+
+    public OperationMetrics operation(String name) {
+        OperationMetrics metrics = operations.get(name);
+        if (metrics != null) {
+            return metrics;
+        }
+        return operations.computeIfAbsent(name, key -> {
+            OperationMetrics created = new OperationMetrics(key);
+            register(created, "type=Operation,name=" + ObjectName.quote(key));
+            return created;
+        });
+    }
+
+    // Sorted by name
+    public List<OperationMetrics> getOperations() {
+        List<OperationMetrics> list = new ArrayList<>(operations.values());
+        list.sort(Comparator.comparing(OperationMetrics::getName));
+        return list;
+    }
+
+    public void connectionOpened() {
+        connectionsOpened.increment();
+        peakOpenConnections.accumulateAndGet(openConnections.incrementAndGet(), Math::max);
+    }
+
+    public void connectionClosed(long heldNanos) {
+        openConnections.decrementAndGet();
+        operation(CONNECTION_HELD).record(heldNanos);
+    }
+
+    public void eventDispatched(long nanos) {
+        if (nanos < EDT_RECORD_NANOS) {
+            return;
+        }
+        operation(EDT_DISPATCH).record(nanos);
+        if (nanos >= EDT_STALL_NANOS) {
+            edtStalls.increment();
+            edtBlockedNanos.add(nanos);
+        }
+    }
+
+    @Override
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    @Override
+    public int getPeakOpenConnections() {
+        return peakOpenConnections.get();
+    }
+
+    @Override
+    public long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+
+    @Override
+    public long getEdtStalls() {
+        return edtStalls.sum();
+    }
+
+    @Override
+    public long getEdtBlockedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(edtBlockedNanos.sum());
+    }
+
+    private static void register(Object mbean, String properties) {
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, name);
+            }
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Error registering " + properties + " with JMX", e);
+        }
+    }
+
+    public interface TimedOperation<T> {
+        T run() throws SQLException;
+    }
+}
@@ -0,0 +1,14 @@
+package com.bank.crm.metrics;
+
+// JMX view of the process-wide gauges, registered as com.bank.crm:type=Metrics
+public interface MetricsMXBean {
+    int getOpenConnections();
+
+    int getPeakOpenConnections();
+
+    long getConnectionsOpened();
+
+    long getEdtStalls();
+
+    long getEdtBlockedMillis();
+}
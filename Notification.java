@@ -0,0 +1,39 @@
+package com.bank.crm.notification;
+
+import java.sql.Timestamp;
+
+public class Notification {
+    private final int id;
+    private final int userId;
+    private final String message;
+    private final boolean read;
+    private final Timestamp createdAt;
+
+    public Notification(int id, int userId, String message, boolean read, Timestamp createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.message = message;
+        this.read = read;
+        this.createdAt = createdAt;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isRead() {
+        return read;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+}
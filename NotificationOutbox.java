@@ -0,0 +1,274 @@
+package com.bank.crm.notification;
+
+import com.bank.crm.database.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class NotificationOutbox {
+    private static final Logger LOGGER = Logger.getLogger(NotificationOutbox.class.getName());
+
+    private static final int MAX_BATCH_SIZE = 200;
+    private static final long FLUSH_INTERVAL_MS = 500;
+    private static final int QUEUE_CAPACITY = 50_000;
+    // Tickets per INSERT ... SELECT when writing a bulk event
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    // Debits at or above this amount raise a notification for the account owner
+    public static final double LARGE_DEBIT_THRESHOLD = 10_000.00;
+
+    // Events are queued in memory and written by a background thread,
+    // so the originating transaction never waits on the insert
+    private static final NotificationOutbox INSTANCE = new NotificationOutbox();
+
+    private final BlockingQueue<Event> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    private NotificationOutbox() {
+        writerThread = new Thread(this::drainLoop, "notification-outbox");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "notification-outbox-shutdown"));
+    }
+
+    public static NotificationOutbox getInstance() {
+        return INSTANCE;
+    }
+
+    public void notifyUser(int userId, String message) {
+        enqueue(new Event(userId, 0, message, null, null));
+    }
+
+    public void notifyTicketOwner(int ticketId, String message) {
+        enqueue(new Event(0, ticketId, message, null, null));
+    }
+
+    public void ticketAssigned(int ticketId, int employeeId) {
+        notifyUser(employeeId, "Ticket #" + ticketId + " has been assigned to you");
+        notifyTicketOwner(ticketId, "Your ticket #" + ticketId + " has been assigned to an agent");
+    }
+
+    public void ticketStatusChanged(int ticketId, String newStatus) {
+        notifyTicketOwner(ticketId, "Your ticket #" + ticketId + " is now " + newStatus);
+    }
+
+    // Bulk actions take one queue slot however many tickets they touch, and the owners'
+    // notifications are written with INSERT ... SELECT rather than row by row
+    public void ticketsAssigned(int[] ticketIds, int employeeId) {
+        if (ticketIds.length == 1) {
+            ticketAssigned(ticketIds[0], employeeId);
+            return;
+        }
+        notifyUser(employeeId, ticketIds.length + " tickets have been assigned to you");
+        enqueue(new Event(0, 0, " has been assigned to an agent", ticketIds, "Your ticket #"));
+    }
+
+    public void ticketsStatusChanged(int[] ticketIds, String newStatus) {
+        if (ticketIds.length == 1) {
+            ticketStatusChanged(ticketIds[0], newStatus);
+            return;
+        }
+        enqueue(new Event(0, 0, " is now " + newStatus, ticketIds, "Your ticket #"));
+    }
+
+    public void largeDebit(int userId, double amount) {
+        notifyUser(userId, "A large debit of $" + String.format("%.2f", amount) + " was made from your account");
+    }
+
+    public void transferReceived(int userId, double amount, String fromAccount) {
+        notifyUser(userId, "You received $" + String.format("%.2f", amount) + " from account " + fromAccount);
+    }
+
+    private void enqueue(Event event) {
+        if (!queue.offer(event)) {
+            // Never block the originating transaction; drop and log instead
+            LOGGER.warning("Notification outbox full, dropping message: " + event.message);
+        }
+    }
+
+    private void drainLoop() {
+        List<Event> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                Event first = queue.poll(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                flushBulk(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, "Error writing " + batch.size() + " notifications", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Event> batch) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            Map<Integer, Integer> ticketOwners = resolveTicketOwners(conn, batch);
+
+            List<Integer> userIds = new ArrayList<>(batch.size());
+            List<String> messages = new ArrayList<>(batch.size());
+            for (Event event : batch) {
+                Integer userId = event.userId != 0 ? Integer.valueOf(event.userId) : ticketOwners.get(event.ticketId);
+                if (userId == null) {
+                    LOGGER.warning("Skipping notification for unknown ticket #" + event.ticketId);
+                    continue;
+                }
+                userIds.add(userId);
+                messages.add(event.message);
+            }
+            if (userIds.isEmpty()) {
+                return;
+            }
+
+            // One multi-row INSERT per batch
+            StringBuilder query = new StringBuilder("INSERT INTO notifications (user_id, message) VALUES ");
+            for (int i = 0; i < userIds.size(); i++) {
+                query.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+                int index = 1;
+                for (int i = 0; i < userIds.size(); i++) {
+                    stmt.setInt(index++, userIds.get(i));
+                    stmt.setString(index++, messages.get(i));
+                }
+                stmt.executeUpdate();
+            }
+
+            NotificationStore store = NotificationStore.getInstance();
+            for (int userId : userIds) {
+                store.onDelivered(userId);
+            }
+        }
+    }
+
+    // Writes and removes the bulk events in the batch; the rest are left for flush
+    private void flushBulk(List<Event> batch) throws SQLException {
+        List<Event> bulk = new ArrayList<>();
+        for (Event event : batch) {
+            if (event.ticketIds != null) {
+                bulk.add(event);
+            }
+        }
+        if (bulk.isEmpty()) {
+            return;
+        }
+        batch.removeAll(bulk);
+
+        NotificationStore store = NotificationStore.getInstance();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (Event event : bulk) {
+                for (int from = 0; from < event.ticketIds.length; from += BULK_CHUNK_SIZE) {
+                    int to = Math.min(from + BULK_CHUNK_SIZE, event.ticketIds.length);
+                    String in = placeholders(to - from);
+                    String insert = "INSERT INTO notifications (user_id, message) " +
+                            "SELECT user_id, CONCAT(?, id, ?) FROM tickets WHERE id IN (" + in + ")";
+                    try (PreparedStatement stmt = conn.prepareStatement(insert)) {
+                        stmt.setString(1, event.messagePrefix);
+                        stmt.setString(2, event.message);
+                        for (int i = from; i < to; i++) {
+                            stmt.setInt(i - from + 3, event.ticketIds[i]);
+                        }
+                        stmt.executeUpdate();
+                    }
+
+                    // Cached unread counts need to know who received something
+                    String owners = "SELECT DISTINCT user_id FROM tickets WHERE id IN (" + in + ")";
+                    try (PreparedStatement stmt = conn.prepareStatement(owners)) {
+                        for (int i = from; i < to; i++) {
+                            stmt.setInt(i - from + 1, event.ticketIds[i]);
+                        }
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                store.onDelivered(rs.getInt(1));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder in = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            in.append(i == 0 ? "?" : ", ?");
+        }
+        return in.toString();
+    }
+
+    private Map<Integer, Integer> resolveTicketOwners(Connection conn, List<Event> batch) throws SQLException {
+        List<Integer> ticketIds = new ArrayList<>();
+        for (Event event : batch) {
+            if (event.userId == 0) {
+                ticketIds.add(event.ticketId);
+            }
+        }
+        Map<Integer, Integer> owners = new HashMap<>();
+        if (ticketIds.isEmpty()) {
+            return owners;
+        }
+
+        StringBuilder query = new StringBuilder("SELECT id, user_id FROM tickets WHERE id IN (");
+        for (int i = 0; i < ticketIds.size(); i++) {
+            query.append(i == 0 ? "?" : ", ?");
+        }
+        query.append(")");
+        try (PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+            for (int i = 0; i < ticketIds.size(); i++) {
+                stmt.setInt(i + 1, ticketIds.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    owners.put(rs.getInt("id"), rs.getInt("user_id"));
+                }
+            }
+        }
+        return owners;
+    }
+
+    private void shutdown() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Event {
+        final int userId;
+        final int ticketId;
+        // For bulk events, the text after the ticket number
+        final String message;
+        // Set for bulk events: one notification per ticket owner, prefix + ticket id + message
+        final int[] ticketIds;
+        final String messagePrefix;
+
+        Event(int userId, int ticketId, String message, int[] ticketIds, String messagePrefix) {
+            this.userId = userId;
+            this.ticketId = ticketId;
+            this.message = message;
+            this.ticketIds = ticketIds;
+            this.messagePrefix = messagePrefix;
+        }
+    }
+}
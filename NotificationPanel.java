@@ -0,0 +1,108 @@
+package com.bank.crm.dashboard;
+
+import com.bank.crm.notification.Notification;
+import com.bank.crm.notification.NotificationStore;
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class NotificationPanel extends JPanel {
+    private static final Logger LOGGER = Logger.getLogger(NotificationPanel.class.getName());
+
+    private final int userId;
+    private final DefaultTableModel model;
+    private final JLabel unreadLabel;
+
+    public NotificationPanel(int userId) {
+        super(new BorderLayout(10, 10));
+        this.userId = userId;
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        String[] columns = {"ID", "Message", "Received"};
+        model = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable table = new JTable(model);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        unreadLabel = new JLabel("Unread: -");
+        JButton refreshButton = new JButton("Refresh");
+        JButton markReadButton = new JButton("Mark All Read");
+
+        refreshButton.addActionListener(e -> refresh());
+        markReadButton.addActionListener(e -> markAllRead());
+
+        buttonPanel.add(unreadLabel);
+        buttonPanel.add(refreshButton);
+        buttonPanel.add(markReadButton);
+        add(buttonPanel, BorderLayout.NORTH);
+
+        refresh();
+    }
+
+    public void refresh() {
+        SwingWorker<List<Notification>, Void> worker = new SwingWorker<>() {
+            private int unreadCount;
+
+            @Override
+            protected List<Notification> doInBackground() throws SQLException {
+                NotificationStore store = NotificationStore.getInstance();
+                unreadCount = store.getUnreadCount(userId);
+                return store.loadUnread(userId);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    List<Notification> notifications = get();
+                    model.setRowCount(0);
+                    for (Notification notification : notifications) {
+                        model.addRow(new Object[]{
+                            notification.getId(),
+                            notification.getMessage(),
+                            notification.getCreatedAt()
+                        });
+                    }
+                    unreadLabel.setText("Unread: " + unreadCount);
+                } catch (Exception e) {
+                    LOGGER.log(Level.SEVERE, "Error loading notifications", e);
+                    unreadLabel.setText("Unread: unavailable");
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    private void markAllRead() {
+        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Void doInBackground() throws SQLException {
+                NotificationStore.getInstance().markAllRead(userId);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                    refresh();
+                } catch (Exception e) {
+                    LOGGER.log(Level.SEVERE, "Error marking notifications read", e);
+                    Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(NotificationPanel.this,
+                            "Error updating notifications: " + cause.getMessage());
+                }
+            }
+        };
+        worker.execute();
+    }
+}
@@ -0,0 +1,118 @@
+package com.bank.crm.notification;
+
+import com.bank.crm.database.ChangeLog;
+import com.bank.crm.database.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class NotificationStore {
+    private static final NotificationStore INSTANCE = new NotificationStore();
+
+    // Upper bound on unread items loaded into a dashboard panel
+    private static final int UNREAD_LIMIT = 100;
+
+    // Deliveries and read marks made by other instances drop the user's cached count
+    private static final String TOPIC = "notification-unread";
+
+    // Unread counts per user, loaded on first access and dropped on every change. A change
+    // bumps the user's version first, so a count loaded while it happened is never cached.
+    private final ConcurrentMap<Integer, Integer> unreadCounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Long> versions = new ConcurrentHashMap<>();
+    // Bumped when every user's count is dropped at once
+    private final AtomicLong epoch = new AtomicLong();
+
+    private NotificationStore() {
+        ChangeLog.getInstance().subscribe(TOPIC, this::changedElsewhere);
+    }
+
+    public static NotificationStore getInstance() {
+        return INSTANCE;
+    }
+
+    public int getUnreadCount(int userId) throws SQLException {
+        Integer cached = unreadCounts.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long seenEpoch = epoch.get();
+        long seenVersion = versions.getOrDefault(userId, 0L);
+
+        String query = "SELECT COUNT(*) FROM notifications WHERE user_id = ? AND is_read = FALSE";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                int count = rs.next() ? rs.getInt(1) : 0;
+                // Checked and cached under the version's lock, which invalidate also takes
+                versions.compute(userId, (id, version) -> {
+                    long current = version == null ? 0L : version;
+                    if (current == seenVersion && epoch.get() == seenEpoch) {
+                        unreadCounts.put(userId, count);
+                    }
+                    return version;
+                });
+                return count;
+            }
+        }
+    }
+
+    public List<Notification> loadUnread(int userId) throws SQLException {
+        // Served by idx_notifications_user_unread (user_id, is_read, id)
+        String query = "SELECT id, user_id, message, is_read, created_at FROM notifications " +
+                "WHERE user_id = ? AND is_read = FALSE ORDER BY id DESC LIMIT " + UNREAD_LIMIT;
+        List<Notification> notifications = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    notifications.add(new Notification(
+                        rs.getInt("id"),
+                        rs.getInt("user_id"),
+                        rs.getString("message"),
+                        rs.getBoolean("is_read"),
+                        rs.getTimestamp("created_at")
+                    ));
+                }
+            }
+        }
+        return notifications;
+    }
+
+    public void markAllRead(int userId) throws SQLException {
+        String query = "UPDATE notifications SET is_read = TRUE WHERE user_id = ? AND is_read = FALSE";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, userId);
+            stmt.executeUpdate();
+        }
+        invalidate(userId);
+        ChangeLog.getInstance().publish(TOPIC, String.valueOf(userId));
+    }
+
+    void onDelivered(int userId) {
+        invalidate(userId);
+        ChangeLog.getInstance().publish(TOPIC, String.valueOf(userId));
+    }
+
+    private void changedElsewhere(String userId) {
+        if (ChangeLog.ALL.equals(userId)) {
+            epoch.incrementAndGet();
+            unreadCounts.clear();
+        } else {
+            invalidate(Integer.valueOf(userId));
+        }
+    }
+
+    private void invalidate(int userId) {
+        versions.merge(userId, 1L, Long::sum);
+        unreadCounts.remove(userId);
+    }
+}
@@ -0,0 +1,117 @@
+package com.bank.crm.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies and failures of one named query or service operation: a histogram since startup
+// and a rolling one-minute window made of six ten-second slots, for live percentiles.
+public class OperationMetrics implements OperationMetricsMXBean {
+    private static final int SLOTS = 6;
+    private static final long SLOT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final String name;
+    private final LatencyHistogram total = new LatencyHistogram();
+    private final LatencyHistogram[] slots = new LatencyHistogram[SLOTS];
+    // The ten-second period each slot currently holds; a slot is cleared when its period comes round again
+    private final AtomicLongArray slotPeriods = new AtomicLongArray(SLOTS);
+    private final LongAdder errors = new LongAdder();
+
+    OperationMetrics(String name) {
+        this.name = name;
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new LatencyHistogram();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(long nanos) {
+        total.recordNanos(nanos);
+        currentSlot().recordNanos(nanos);
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    @Override
+    public long getCount() {
+        return total.getCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return total.getMeanMillis();
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return total.getMaxMillis();
+    }
+
+    @Override
+    public double getP50Millis() {
+        return total.getPercentileMillis(50);
+    }
+
+    @Override
+    public double getP99Millis() {
+        return total.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getP999Millis() {
+        return total.getPercentileMillis(99.9);
+    }
+
+    @Override
+    public long getRecentCount() {
+        long count = 0;
+        for (LatencyHistogram slot : recentSlots()) {
+            count += slot.getCount();
+        }
+        return count;
+    }
+
+    @Override
+    public double[] getRecentPercentilesMillis() {
+        return recentPercentilesMillis(50, 90, 99, 99.9, 100);
+    }
+
+    // Over the last minute; zero when nothing ran in that time
+    public double[] recentPercentilesMillis(double... percentiles) {
+        return LatencyHistogram.percentilesMillis(recentSlots(), percentiles);
+    }
+
+    private LatencyHistogram currentSlot() {
+        long period = System.currentTimeMillis() / SLOT_MILLIS;
+        int index = (int) (period % SLOTS);
+        long held = slotPeriods.get(index);
+        if (held != period && slotPeriods.compareAndSet(index, held, period)) {
+            // Samples racing with the reset may be lost, which is acceptable for monitoring
+            slots[index].reset();
+        }
+        return slots[index];
+    }
+
+    private LatencyHistogram[] recentSlots() {
+        long period = System.currentTimeMillis() / SLOT_MILLIS;
+        int live = 0;
+        LatencyHistogram[] recent = new LatencyHistogram[SLOTS];
+        for (int i = 0; i < SLOTS; i++) {
+            if (period - slotPeriods.get(i) < SLOTS) {
+                recent[live++] = slots[i];
+            }
+        }
+        return Arrays.copyOf(recent, live);
+    }
+}
@@ -0,0 +1,23 @@
+package com.bank.crm.metrics;
+
+// JMX view of one operation, registered as com.bank.crm:type=Operation,name=<operation>
+public interface OperationMetricsMXBean {
+    long getCount();
+
+    long getErrorCount();
+
+    double getMeanMillis();
+
+    double getMaxMillis();
+
+    double getP50Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    long getRecentCount();
+
+    // p50, p90, p99, p99.9 and max over the last minute
+    double[] getRecentPercentilesMillis();
+}
@@ -0,0 +1,257 @@
+package com.bank.crm.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// Sorted array of (slot, field, offset) entries ordered by the key text from offset onwards,
+// so a prefix lookup is a binary search followed by a scan in key order. Changed slots are
+// tracked as dirty, skipped in the sorted array and scanned directly until the next compaction.
+// The sorted array is ordered by the key text it was built from, kept alongside it, since a
+// dirty slot's live keys no longer match its place in the array.
+final class PrefixIndex {
+    private static final int OFFSET_BITS = 8;
+    private static final int FIELD_BITS = 2;
+    private static final int MAX_OFFSET = (1 << OFFSET_BITS) - 1;
+
+    interface Keys {
+        String get(int slot, int field);
+    }
+
+    interface Visitor {
+        // Returns false to stop the lookup
+        boolean visit(int slot, int field, int offset);
+    }
+
+    private final Keys keys;
+    private final int fieldCount;
+    // Field starts only, or word starts after the first character only
+    private final boolean wordStarts;
+
+    private long[] entries = new long[0];
+    // Key text per slot and field as of the last compaction
+    private String[] indexedKeys = new String[0];
+    private final BitSet dirty = new BitSet();
+    private int[] dirtySlots = new int[16];
+    private int dirtyCount;
+
+    PrefixIndex(Keys keys, int fieldCount, boolean wordStarts) {
+        this.keys = keys;
+        this.fieldCount = fieldCount;
+        this.wordStarts = wordStarts;
+    }
+
+    void markDirty(int slot) {
+        if (dirty.get(slot)) {
+            return;
+        }
+        dirty.set(slot);
+        if (dirtyCount == dirtySlots.length) {
+            dirtySlots = Arrays.copyOf(dirtySlots, dirtyCount * 2);
+        }
+        dirtySlots[dirtyCount++] = slot;
+    }
+
+    int dirtyCount() {
+        return dirtyCount;
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    void find(String prefix, Visitor visitor) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareToPrefix(entries[mid], prefix, indexedKeys) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < entries.length; i++) {
+            long entry = entries[i];
+            if (!indexed(entry, indexedKeys).startsWith(prefix, offset(entry))) {
+                break;
+            }
+            int slot = slot(entry);
+            if (!dirty.get(slot) && !visitor.visit(slot, field(entry), offset(entry))) {
+                return;
+            }
+        }
+
+        for (int i = 0; i < dirtyCount; i++) {
+            int slot = dirtySlots[i];
+            for (int field = 0; field < fieldCount; field++) {
+                String key = keys.get(slot, field);
+                int length = Math.min(key.length(), MAX_OFFSET + 1);
+                for (int offset = wordStarts ? 1 : 0; offset < (wordStarts ? length : 1); offset++) {
+                    if ((!wordStarts || isWordStart(key, offset)) && key.startsWith(prefix, offset)
+                            && !visitor.visit(slot, field, offset)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    // Builds the merged array without touching the live one, so readers can continue
+    // until install is called under the owner's write lock
+    Compacted buildCompacted() {
+        int maxSlot = -1;
+        for (int i = 0; i < dirtyCount; i++) {
+            maxSlot = Math.max(maxSlot, dirtySlots[i]);
+        }
+        String[] text = Arrays.copyOf(indexedKeys, Math.max(indexedKeys.length, (maxSlot + 1) * fieldCount));
+        for (int i = 0; i < dirtyCount; i++) {
+            int slot = dirtySlots[i];
+            for (int field = 0; field < fieldCount; field++) {
+                text[slot * fieldCount + field] = keys.get(slot, field);
+            }
+        }
+
+        long[] fresh = new long[Math.max(16, dirtyCount * fieldCount * 2)];
+        int freshCount = 0;
+        for (int i = 0; i < dirtyCount; i++) {
+            int slot = dirtySlots[i];
+            for (int field = 0; field < fieldCount; field++) {
+                String key = text[slot * fieldCount + field];
+                if (key.isEmpty()) {
+                    continue;
+                }
+                int length = Math.min(key.length(), MAX_OFFSET + 1);
+                for (int offset = wordStarts ? 1 : 0; offset < (wordStarts ? length : 1); offset++) {
+                    if (wordStarts && !isWordStart(key, offset)) {
+                        continue;
+                    }
+                    if (freshCount == fresh.length) {
+                        fresh = Arrays.copyOf(fresh, freshCount * 2);
+                    }
+                    fresh[freshCount++] = encode(slot, field, offset);
+                }
+            }
+        }
+        sort(fresh, freshCount, text);
+
+        long[] merged = new long[entries.length + freshCount];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < entries.length || j < freshCount) {
+            if (i < entries.length && dirty.get(slot(entries[i]))) {
+                i++;
+            } else if (j == freshCount || (i < entries.length && compare(entries[i], fresh[j], text) <= 0)) {
+                merged[count++] = entries[i++];
+            } else {
+                merged[count++] = fresh[j++];
+            }
+        }
+        return new Compacted(Arrays.copyOf(merged, count), text);
+    }
+
+    void install(Compacted compacted) {
+        entries = compacted.entries;
+        indexedKeys = compacted.text;
+        dirty.clear();
+        dirtyCount = 0;
+    }
+
+    static boolean isWordStart(String text, int index) {
+        return index == 0 || (Character.isLetterOrDigit(text.charAt(index))
+                && !Character.isLetterOrDigit(text.charAt(index - 1)));
+    }
+
+    private String indexed(long entry, String[] text) {
+        return text[slot(entry) * fieldCount + field(entry)];
+    }
+
+    private int compare(long a, long b, String[] text) {
+        String keyA = indexed(a, text);
+        String keyB = indexed(b, text);
+        int i = offset(a);
+        int j = offset(b);
+        while (i < keyA.length() && j < keyB.length()) {
+            int diff = keyA.charAt(i++) - keyB.charAt(j++);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return (keyA.length() - i) - (keyB.length() - j);
+    }
+
+    private int compareToPrefix(long entry, String prefix, String[] text) {
+        String key = indexed(entry, text);
+        int i = offset(entry);
+        int j = 0;
+        while (i < key.length() && j < prefix.length()) {
+            int diff = key.charAt(i++) - prefix.charAt(j++);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return j == prefix.length() ? 0 : -1;
+    }
+
+    private void sort(long[] values, int count, String[] text) {
+        long[] buffer = new long[count];
+        mergeSort(values, buffer, 0, count, text);
+    }
+
+    private void mergeSort(long[] values, long[] buffer, int from, int to, String[] text) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                long value = values[i];
+                int j = i - 1;
+                while (j >= from && compare(values[j], value, text) > 0) {
+                    values[j + 1] = values[j];
+                    j--;
+                }
+                values[j + 1] = value;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(values, buffer, from, mid, text);
+        mergeSort(values, buffer, mid, to, text);
+        if (compare(values[mid - 1], values[mid], text) <= 0) {
+            return;
+        }
+        System.arraycopy(values, from, buffer, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && compare(buffer[i], buffer[j], text) <= 0)) {
+                values[k] = buffer[i++];
+            } else {
+                values[k] = buffer[j++];
+            }
+        }
+    }
+
+    private static long encode(int slot, int field, int offset) {
+        return ((long) slot << (FIELD_BITS + OFFSET_BITS)) | ((long) field << OFFSET_BITS) | offset;
+    }
+
+    private static int slot(long entry) {
+        return (int) (entry >>> (FIELD_BITS + OFFSET_BITS));
+    }
+
+    private static int field(long entry) {
+        return (int) (entry >>> OFFSET_BITS) & ((1 << FIELD_BITS) - 1);
+    }
+
+    private static int offset(long entry) {
+        return (int) entry & MAX_OFFSET;
+    }
+
+    static final class Compacted {
+        final long[] entries;
+        final String[] text;
+
+        Compacted(long[] entries, String[] text) {
+            this.entries = entries;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.bank.crm.notification;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+// Compressed set of user ids in the style of a roaring bitmap: ids are split
+// into 65536-wide chunks keyed by their high 16 bits, and each chunk is stored
+// either as a sorted short array (sparse) or a fixed 8 KB bitset (dense).
+public class ReadBitmap {
+    // Array containers switch to bitsets beyond this many entries (8 KB either way)
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITSET_WORDS = 1024;
+
+    private static final byte ARRAY_CONTAINER = 0;
+    private static final byte BITSET_CONTAINER = 1;
+
+    private char[] keys = new char[0];
+    private Object[] containers = new Object[0];
+    private int[] cardinalities = new int[0];
+
+    public synchronized boolean contains(int value) {
+        int index = Arrays.binarySearch(keys, highBits(value));
+        if (index < 0) {
+            return false;
+        }
+        char low = lowBits(value);
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            long[] words = (long[]) container;
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, 0, cardinalities[index], low) >= 0;
+    }
+
+    public synchronized boolean add(int value) {
+        char high = highBits(value);
+        char low = lowBits(value);
+        int index = Arrays.binarySearch(keys, high);
+        if (index < 0) {
+            index = insertContainer(-index - 1, high);
+        }
+
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            long[] words = (long[]) container;
+            long mask = 1L << low;
+            if ((words[low >>> 6] & mask) != 0) {
+                return false;
+            }
+            words[low >>> 6] |= mask;
+            cardinalities[index]++;
+            return true;
+        }
+
+        char[] values = (char[]) container;
+        int size = cardinalities[index];
+        int position = Arrays.binarySearch(values, 0, size, low);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        if (size == ARRAY_MAX) {
+            containers[index] = toBitset(values, size);
+            cardinalities[index] = size;
+            return add(value);
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, size * 2)));
+            containers[index] = values;
+        }
+        System.arraycopy(values, position, values, position + 1, size - position);
+        values[position] = low;
+        cardinalities[index]++;
+        return true;
+    }
+
+    public void or(ReadBitmap other) {
+        // Copy first so the two bitmaps are never locked at the same time
+        ReadBitmap snapshot = other.copy();
+        for (int i = 0; i < snapshot.keys.length; i++) {
+            int base = snapshot.keys[i] << 16;
+            Object container = snapshot.containers[i];
+            if (container instanceof long[]) {
+                long[] words = (long[]) container;
+                for (int word = 0; word < words.length; word++) {
+                    long bits = words[word];
+                    while (bits != 0) {
+                        add(base | (word << 6) + Long.numberOfTrailingZeros(bits));
+                        bits &= bits - 1;
+                    }
+                }
+            } else {
+                char[] values = (char[]) container;
+                for (int j = 0; j < snapshot.cardinalities[i]; j++) {
+                    add(base | values[j]);
+                }
+            }
+        }
+    }
+
+    public synchronized long cardinality() {
+        long total = 0;
+        for (int cardinality : cardinalities) {
+            total += cardinality;
+        }
+        return total;
+    }
+
+    public synchronized byte[] serialize() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                out.writeChar(keys[i]);
+                out.writeInt(cardinalities[i]);
+                Object container = containers[i];
+                if (container instanceof long[]) {
+                    out.writeByte(BITSET_CONTAINER);
+                    for (long word : (long[]) container) {
+                        out.writeLong(word);
+                    }
+                } else {
+                    out.writeByte(ARRAY_CONTAINER);
+                    char[] values = (char[]) container;
+                    for (int j = 0; j < cardinalities[i]; j++) {
+                        out.writeChar(values[j]);
+                    }
+                }
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize read bitmap", e);
+        }
+    }
+
+    public static ReadBitmap deserialize(byte[] data) {
+        ReadBitmap bitmap = new ReadBitmap();
+        if (data == null || data.length == 0) {
+            return bitmap;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int count = in.readInt();
+            bitmap.keys = new char[count];
+            bitmap.containers = new Object[count];
+            bitmap.cardinalities = new int[count];
+            for (int i = 0; i < count; i++) {
+                bitmap.keys[i] = in.readChar();
+                bitmap.cardinalities[i] = in.readInt();
+                if (in.readByte() == BITSET_CONTAINER) {
+                    long[] words = new long[BITSET_WORDS];
+                    for (int word = 0; word < BITSET_WORDS; word++) {
+                        words[word] = in.readLong();
+                    }
+                    bitmap.containers[i] = words;
+                } else {
+                    char[] values = new char[bitmap.cardinalities[i]];
+                    for (int j = 0; j < values.length; j++) {
+                        values[j] = in.readChar();
+                    }
+                    bitmap.containers[i] = values;
+                }
+            }
+            return bitmap;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt read bitmap", e);
+        }
+    }
+
+    private synchronized ReadBitmap copy() {
+        ReadBitmap copy = new ReadBitmap();
+        copy.keys = keys.clone();
+        copy.cardinalities = cardinalities.clone();
+        copy.containers = new Object[containers.length];
+        for (int i = 0; i < containers.length; i++) {
+            Object container = containers[i];
+            copy.containers[i] = container instanceof long[] ? ((long[]) container).clone() : ((char[]) container).clone();
+        }
+        return copy;
+    }
+
+    private int insertContainer(int position, char high) {
+        int size = keys.length;
+        keys = Arrays.copyOf(keys, size + 1);
+        containers = Arrays.copyOf(containers, size + 1);
+        cardinalities = Arrays.copyOf(cardinalities, size + 1);
+        System.arraycopy(keys, position, keys, position + 1, size - position);
+        System.arraycopy(containers, position, containers, position + 1, size - position);
+        System.arraycopy(cardinalities, position, cardinalities, position + 1, size - position);
+        keys[position] = high;
+        containers[position] = new char[4];
+        cardinalities[position] = 0;
+        return position;
+    }
+
+    private static long[] toBitset(char[] values, int size) {
+        long[] words = new long[BITSET_WORDS];
+        for (int i = 0; i < size; i++) {
+            char low = values[i];
+            words[low >>> 6] |= 1L << low;
+        }
+        return words;
+    }
+
+    private static char highBits(int value) {
+        return (char) (value >>> 16);
+    }
+
+    private static char lowBits(int value) {
+        return (char) value;
+    }
+}
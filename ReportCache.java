@@ -0,0 +1,199 @@
+package com.bank.crm.report;
+
+import com.bank.crm.database.ChangeLog;
+import com.bank.crm.metrics.Metrics;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+public class ReportCache {
+    private static final Logger LOGGER = Logger.getLogger(ReportCache.class.getName());
+
+    // Report ids shared by the dashboards and the write paths that invalidate them
+    public static final String CUSTOMER_STATISTICS = "customer-statistics";
+    public static final String TICKET_STATISTICS = "ticket-statistics";
+    public static final String TRANSACTION_VOLUME = "transaction-volume";
+    public static final String TOP_CUSTOMERS = "top-customers";
+
+    private static final long DEFAULT_TTL_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private static final ReportCache INSTANCE = new ReportCache("report", DEFAULT_TTL_MS, DEFAULT_MAX_ENTRIES);
+
+    // Invalidations are shared with other instances under this change log topic, if any
+    private final String topic;
+    private final long ttlMs;
+    private final int maxEntries;
+
+    // Access-ordered so the eldest entry is the least recently used
+    private final LinkedHashMap<String, CachedReport> entries;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    // Bumped on invalidation so loads that started before it are not cached. Kept per family
+    // (see family()) rather than per id, so per-customer ids do not add an entry each; an
+    // invalidation only costs other in-flight loads of the same family their cache write.
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ReportCache(long ttlMs, int maxEntries) {
+        this(null, ttlMs, maxEntries);
+    }
+
+    public ReportCache(String topic, long ttlMs, int maxEntries) {
+        this.topic = topic;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedReport> eldest) {
+                return size() > ReportCache.this.maxEntries;
+            }
+        };
+        if (topic != null) {
+            ChangeLog.getInstance().subscribe(topic, this::changedElsewhere);
+        }
+    }
+
+    public static ReportCache getInstance() {
+        return INSTANCE;
+    }
+
+    public <T> T get(String reportId, ReportLoader<T> loader) throws SQLException {
+        return get(reportId, "", loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String reportId, String params, ReportLoader<T> loader) throws SQLException {
+        String key = reportId + "|" + params;
+
+        synchronized (entries) {
+            CachedReport entry = entries.get(key);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                return (T) entry.value;
+            }
+        }
+
+        // Single flight: concurrent callers for the same key share one computation
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return (T) await(existing);
+        }
+
+        long generation = generation(reportId).get();
+        try {
+            long start = System.nanoTime();
+            T value = Metrics.time(metricName(reportId), loader::load);
+            LOGGER.fine("Report " + key + " computed in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+
+            // Skip caching if a write invalidated the report while it was being computed
+            if (generation(reportId).get() == generation) {
+                synchronized (entries) {
+                    entries.put(key, new CachedReport(value, System.currentTimeMillis() + ttlMs));
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (SQLException | RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public void invalidate(String reportId) {
+        evict(reportId);
+        if (topic != null) {
+            ChangeLog.getInstance().publish(topic, reportId);
+        }
+    }
+
+    public void invalidateAll() {
+        evictAll();
+        if (topic != null) {
+            ChangeLog.getInstance().publish(topic, ChangeLog.ALL);
+        }
+    }
+
+    private void changedElsewhere(String reportId) {
+        if (ChangeLog.ALL.equals(reportId)) {
+            evictAll();
+        } else {
+            evict(reportId);
+        }
+    }
+
+    private void evict(String reportId) {
+        generation(reportId).incrementAndGet();
+        String prefix = reportId + "|";
+        synchronized (entries) {
+            Iterator<String> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (keys.next().startsWith(prefix)) {
+                    keys.remove();
+                }
+            }
+        }
+        LOGGER.fine("Report cache invalidated: " + reportId);
+    }
+
+    private void evictAll() {
+        for (AtomicLong generation : generations.values()) {
+            generation.incrementAndGet();
+        }
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private AtomicLong generation(String reportId) {
+        return generations.computeIfAbsent(family(reportId), id -> new AtomicLong());
+    }
+
+    // Ids of the form family:key, like the per-customer 360 views, share one histogram
+    private static String metricName(String reportId) {
+        return "report." + family(reportId);
+    }
+
+    private static String family(String reportId) {
+        int colon = reportId.indexOf(':');
+        return colon < 0 ? reportId : reportId.substring(0, colon);
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for report", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new SQLException("Report computation failed", cause);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ReportLoader<T> {
+        T load() throws SQLException;
+    }
+
+    private static final class CachedReport {
+        final Object value;
+        final long expiresAt;
+
+        CachedReport(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
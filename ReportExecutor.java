@@ -0,0 +1,73 @@
+package com.bank.crm.report;
+
+import com.bank.crm.database.DatabaseConnection;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReportExecutor {
+    // Dedicated pool so slow aggregates never occupy the EDT or the common pool
+    private static final int POOL_SIZE = 4;
+    public static final long DEFAULT_TIMEOUT_SECONDS = 30;
+
+    private static final ReportExecutor INSTANCE = new ReportExecutor();
+
+    private final ExecutorService executor;
+
+    private ReportExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(POOL_SIZE, r -> {
+            Thread thread = new Thread(r, "report-loader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static ReportExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    public <T> CompletableFuture<Timed<T>> submit(ReportCache.ReportLoader<T> loader) {
+        return submit(loader, DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public <T> CompletableFuture<Timed<T>> submit(ReportCache.ReportLoader<T> loader, long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            // orTimeout only completes the future; the query timeout is what stops the
+            // statement on the server and frees this thread and its connection
+            DatabaseConnection.setQueryDeadline(deadline);
+            try {
+                T value = loader.load();
+                return new Timed<>(value, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            } finally {
+                DatabaseConnection.clearQueryDeadline();
+            }
+        }, executor).orTimeout(timeout, unit);
+    }
+
+    public static final class Timed<T> {
+        private final T value;
+        private final long elapsedMillis;
+
+        Timed(T value, long elapsedMillis) {
+            this.value = value;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.bank.crm.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+// Brings tables created by an older schema.sql up to date. CREATE TABLE IF NOT EXISTS leaves
+// an existing table as it was, so columns and indexes added to one later are applied here.
+// Each step checks information_schema first, so running this on every start is a no-op once
+// the database is current.
+final class SchemaMigrations {
+    private static final Logger LOGGER = Logger.getLogger(SchemaMigrations.class.getName());
+
+    private SchemaMigrations() {
+    }
+
+    static void apply(Connection conn) throws SQLException {
+        // Customer search index refreshes by updated_at
+        addColumn(conn, "users", "updated_at", "TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP");
+        addIndex(conn, "users", "idx_users_role_updated", "(role, updated_at)");
+        // Unread notification panels and counts
+        addIndex(conn, "notifications", "idx_notifications_user_unread", "(user_id, is_read, id)");
+    }
+
+    private static void addColumn(Connection conn, String table, String column, String definition) throws SQLException {
+        String query = "SELECT 1 FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?";
+        if (!exists(conn, query, table, column)) {
+            execute(conn, "ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+    }
+
+    private static void addIndex(Connection conn, String table, String index, String columns) throws SQLException {
+        String query = "SELECT 1 FROM information_schema.STATISTICS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ?";
+        if (!exists(conn, query, table, index)) {
+            execute(conn, "ALTER TABLE " + table + " ADD INDEX " + index + " " + columns);
+        }
+    }
+
+    private static boolean exists(Connection conn, String query, String table, String name) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, table);
+            stmt.setString(2, name);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static void execute(Connection conn, String ddl) throws SQLException {
+        long start = System.nanoTime();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(ddl);
+        }
+        LOGGER.info("Schema migration: " + ddl + " (" + (System.nanoTime() - start) / 1_000_000 + " ms)");
+    }
+}
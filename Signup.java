@@ -1,13 +1,11 @@
 package com.bank.crm.auth;
 
-import com.bank.crm.database.DatabaseConnection;
+import com.bank.crm.model.Account;
+import com.bank.crm.service.UserService;
 import javax.swing.*;
 import java.awt.*;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.sql.SQLIntegrityConstraintViolationException;
 
 public class Signup extends JFrame {
     private JTextField nameField;
@@ -151,104 +149,35 @@ public class Signup extends JFrame {
             return;
         }
 
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            conn.setAutoCommit(false);
-            try {
-                // Check if email already exists
-                String checkQuery = "SELECT COUNT(*) FROM users WHERE email = ?";
-                try (PreparedStatement checkStmt = conn.prepareStatement(checkQuery)) {
-                    checkStmt.setString(1, email);
-                    try (ResultSet rs = checkStmt.executeQuery()) {
-                        if (rs.next() && rs.getInt(1) > 0) {
-                            JOptionPane.showMessageDialog(this, "Email already exists. Please use a different email.");
-                            return;
-                        }
+        // Only the salted hash is stored; it is computed on the auth pool, off the EDT
+        AuthService.getInstance().hashPassword(password).whenComplete((passwordHash, error) ->
+                SwingUtilities.invokeLater(() -> {
+                    if (error != null) {
+                        JOptionPane.showMessageDialog(this, "Error creating account: " + error.getMessage());
+                    } else {
+                        saveAccount(name, email, phone, passwordHash, accountType, initialAmount);
                     }
-                }
-
-                // Create customer account
-                String userQuery = "INSERT INTO users (name, email, phone, password, role) VALUES (?, ?, ?, ?, 'CUSTOMER')";
-                try (PreparedStatement pstmt = conn.prepareStatement(userQuery, Statement.RETURN_GENERATED_KEYS)) {
-                    pstmt.setString(1, name);
-                    pstmt.setString(2, email);
-                    pstmt.setString(3, phone);
-                    pstmt.setString(4, password);
-                    pstmt.executeUpdate();
-
-                    try (ResultSet rs = pstmt.getGeneratedKeys()) {
-                        if (rs.next()) {
-                            int userId = rs.getInt(1);
-
-                            // Generate unique account number
-                            String accountNumber = generateUniqueAccountNumber(conn);
-                            if (accountNumber == null) {
-                                throw new SQLException("Error generating account number.");
-                            }
-
-                            // Create bank account
-                            String accountQuery = "INSERT INTO accounts (user_id, account_number, type, balance, status) " +
-                                               "VALUES (?, ?, ?, ?, 'ACTIVE')";
-                            try (PreparedStatement accountStmt = conn.prepareStatement(accountQuery)) {
-                                accountStmt.setInt(1, userId);
-                                accountStmt.setString(2, accountNumber);
-                                accountStmt.setString(3, accountType);
-                                accountStmt.setDouble(4, initialAmount);
-                                accountStmt.executeUpdate();
-                            }
-
-                            // Record initial deposit
-                            if (initialAmount > 0) {
-                                String transactionQuery = "INSERT INTO transactions (account_id, type, amount, description) " +
-                                                       "VALUES ((SELECT id FROM accounts WHERE user_id = ?), 'CREDIT', ?, 'Initial deposit')";
-                                try (PreparedStatement transStmt = conn.prepareStatement(transactionQuery)) {
-                                    transStmt.setInt(1, userId);
-                                    transStmt.setDouble(2, initialAmount);
-                                    transStmt.executeUpdate();
-                                }
-                            }
-
-                            conn.commit();
-                            JOptionPane.showMessageDialog(this, 
-                                "Account created successfully!\n\n" +
-                                "Account Details:\n" +
-                                "Account Number: " + accountNumber + "\n" +
-                                "Account Type: " + accountType + "\n" +
-                                "Initial Balance: $" + String.format("%.2f", initialAmount));
-                            dispose();
-                            new Login().setVisible(true);
-                        }
-                    }
-                }
-            } catch (SQLException e) {
-                conn.rollback();
-                throw e;
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error creating account: " + e.getMessage());
-        }
+                }));
     }
 
-    private String generateUniqueAccountNumber(Connection conn) {
+    private void saveAccount(String name, String email, String phone, String passwordHash,
+                             String accountType, double initialAmount) {
         try {
-            String accountNumber;
-            do {
-                // Generate 8-digit number
-                int randomNum = (int) (Math.random() * 90000000) + 10000000;
-                accountNumber = String.valueOf(randomNum);
-
-                // Check if account number exists
-                String checkQuery = "SELECT COUNT(*) FROM accounts WHERE account_number = ?";
-                try (PreparedStatement pstmt = conn.prepareStatement(checkQuery)) {
-                    pstmt.setString(1, accountNumber);
-                    try (ResultSet rs = pstmt.executeQuery()) {
-                        if (rs.next() && rs.getInt(1) == 0) {
-                            return accountNumber;
-                        }
-                    }
-                }
-            } while (true);
+            Account account = UserService.getInstance().registerCustomer(name, email, phone, passwordHash,
+                    accountType, initialAmount);
+            JOptionPane.showMessageDialog(this, 
+                "Account created successfully!\n\n" +
+                "Account Details:\n" +
+                "Account Number: " + account.getAccountNumber() + "\n" +
+                "Account Type: " + account.getType() + "\n" +
+                "Initial Balance: $" + String.format("%.2f", account.getBalance()));
+            dispose();
+            new Login().setVisible(true);
+        } catch (SQLIntegrityConstraintViolationException e) {
+            // Also raised when the email was registered elsewhere after the check
+            JOptionPane.showMessageDialog(this, "Email already exists. Please use a different email.");
         } catch (SQLException e) {
-            return null;
+            JOptionPane.showMessageDialog(this, "Error creating account: " + e.getMessage());
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.bank.crm.database;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+// Per-fingerprint totals for every statement run through DatabaseConnection, and a rotating
+// log of executions over the threshold with the code that issued them. Only fingerprints are
+// written, so customer data in literals never reaches the log.
+//
+// -Dcrm.db.slowQueryMillis   threshold, default 200
+// -Dcrm.db.slowQueryLog      FileHandler pattern, default logs/slow-query.%g.log
+// -Dcrm.db.slowQueryLogBytes size of each file before rotating, default 10 MB (five files kept)
+public class SlowQueryLog {
+    private static final Logger LOGGER = Logger.getLogger(SlowQueryLog.class.getName());
+
+    private static final long DEFAULT_THRESHOLD_MS = 200;
+    private static final String DEFAULT_LOG_PATTERN = "logs/slow-query.%g.log";
+    private static final int DEFAULT_LOG_BYTES = 10 * 1024 * 1024;
+    private static final int LOG_FILES = 5;
+    private static final String APPLICATION_PACKAGE = "com.bank.crm.";
+    private static final String DASHBOARD_PACKAGE = "com.bank.crm.dashboard.";
+
+    private static final SlowQueryLog INSTANCE = new SlowQueryLog();
+
+    private final ConcurrentMap<String, QueryStats> stats = new ConcurrentHashMap<>();
+    private final long thresholdNanos =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("crm.db.slowQueryMillis", DEFAULT_THRESHOLD_MS));
+    private final StackWalker stackWalker = StackWalker.getInstance();
+    private Logger fileLogger;
+    private boolean fileLoggerFailed;
+
+    public static SlowQueryLog getInstance() {
+        return INSTANCE;
+    }
+
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    // Heaviest first by total time, which is what is worth optimizing
+    public List<QueryStats> getTopByTotalTime(int limit) {
+        List<QueryStats> list = new ArrayList<>(stats.values());
+        list.sort(Comparator.comparingDouble(QueryStats::getTotalMillis).reversed());
+        return list.size() > limit ? new ArrayList<>(list.subList(0, limit)) : list;
+    }
+
+    void record(String sql, long nanos) {
+        String fingerprint = SqlFingerprint.of(sql);
+        boolean slow = nanos >= thresholdNanos;
+        stats.computeIfAbsent(fingerprint, QueryStats::new).record(nanos, slow);
+        if (slow) {
+            // Only slow executions pay for the stack walk
+            logSlow(fingerprint, nanos);
+        }
+    }
+
+    private void logSlow(String fingerprint, long nanos) {
+        Optional<StackWalker.StackFrame> caller = stackWalker.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE) &&
+                        !frame.getClassName().startsWith(SlowQueryLog.class.getPackageName() + "."))
+                .findFirst());
+        Optional<StackWalker.StackFrame> dashboard = stackWalker.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(DASHBOARD_PACKAGE))
+                .findFirst());
+
+        StringBuilder entry = new StringBuilder()
+                .append(TimeUnit.NANOSECONDS.toMillis(nanos)).append(" ms  ")
+                .append(fingerprint)
+                .append("  caller=").append(caller.map(SlowQueryLog::describe).orElse("-"))
+                .append("  dashboard=").append(dashboard.map(SlowQueryLog::describe).orElse("-"))
+                .append("  thread=").append(Thread.currentThread().getName());
+        Logger logger = getFileLogger();
+        if (logger != null) {
+            logger.info(entry.toString());
+        } else {
+            LOGGER.warning("Slow query: " + entry);
+        }
+    }
+
+    private static String describe(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName() +
+                ":" + frame.getLineNumber();
+    }
+
+    private synchronized Logger getFileLogger() {
+        if (fileLogger != null || fileLoggerFailed) {
+            return fileLogger;
+        }
+        String pattern = System.getProperty("crm.db.slowQueryLog", DEFAULT_LOG_PATTERN);
+        try {
+            Path parent = Paths.get(pattern).toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            FileHandler handler = new FileHandler(pattern,
+                    Integer.getInteger("crm.db.slowQueryLogBytes", DEFAULT_LOG_BYTES), LOG_FILES, true);
+            handler.setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord record) {
+                    return Instant.ofEpochMilli(record.getMillis()) + "  " + record.getMessage() + System.lineSeparator();
+                }
+            });
+            Logger logger = Logger.getLogger(SlowQueryLog.class.getName() + ".file");
+            logger.setUseParentHandlers(false);
+            logger.addHandler(handler);
+            fileLogger = logger;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Cannot open slow query log " + pattern + ", logging to the console instead", e);
+            fileLoggerFailed = true;
+        }
+        return fileLogger;
+    }
+}
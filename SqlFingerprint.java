@@ -0,0 +1,89 @@
+package com.bank.crm.database;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+// Reduces a statement to its shape so every execution of the same query aggregates together:
+// string and numeric literals become ?, whitespace is collapsed, and IN lists and multi-row
+// VALUES lists shrink to a single element, so a chunked insert of 1000 rows and one of 7 rows
+// share a fingerprint.
+final class SqlFingerprint {
+    // Prepared SQL strings repeat, so most lookups are a map hit
+    private static final int CACHE_LIMIT = 10_000;
+    private static final ConcurrentMap<String, String> CACHE = new ConcurrentHashMap<>();
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\?(?: ?, ?\\?)+\\)");
+    private static final Pattern REPEATED_TUPLES = Pattern.compile("(\\(\\?\\+?\\))(?: ?, ?\\(\\?\\+?\\))+");
+
+    private SqlFingerprint() {
+    }
+
+    static String of(String sql) {
+        String fingerprint = CACHE.get(sql);
+        if (fingerprint == null) {
+            fingerprint = normalize(sql);
+            if (CACHE.size() >= CACHE_LIMIT) {
+                CACHE.clear();
+            }
+            CACHE.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"') {
+                // Quoted literal, with doubled or backslash-escaped quotes inside
+                i++;
+                while (i < length) {
+                    char d = sql.charAt(i);
+                    if (d == '\\') {
+                        i += 2;
+                    } else if (d == c && i + 1 < length && sql.charAt(i + 1) == c) {
+                        i += 2;
+                    } else if (d == c) {
+                        i++;
+                        break;
+                    } else {
+                        i++;
+                    }
+                }
+                out.append('?');
+            } else if (Character.isDigit(c) && !isIdentifierPart(out)) {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (Character.isWhitespace(c)) {
+                while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (out.length() > 0) {
+                    out.append(' ');
+                }
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return collapseLists(out.toString().trim());
+    }
+
+    // "IN (?, ?, ?)" becomes "IN (?+)", and the row tuples of a multi-row VALUES become one
+    private static String collapseLists(String sql) {
+        String collapsed = PLACEHOLDER_LIST.matcher(sql).replaceAll("(?+)");
+        return REPEATED_TUPLES.matcher(collapsed).replaceAll("$1");
+    }
+
+    private static boolean isIdentifierPart(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char previous = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '`';
+    }
+}
@@ -0,0 +1,82 @@
+package com.bank.crm.dashboard;
+
+import com.bank.crm.database.QueryStats;
+import com.bank.crm.database.SlowQueryLog;
+import com.bank.crm.metrics.Metrics;
+import com.bank.crm.metrics.OperationMetrics;
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+// Live latency percentiles for every query and service operation over the last minute,
+// with connection and EDT gauges, and the SQL fingerprints with the most total time.
+// Reads the in-memory metrics only, so refreshing it costs no database work.
+public class SystemHealthPanel extends JPanel {
+    private static final int REFRESH_MS = 2000;
+    private static final int TOP_QUERIES = 50;
+
+    private final BulkTableModel model = new BulkTableModel(new String[]{
+            "Operation", "Total", "Errors", "Last Minute", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms"});
+    private final BulkTableModel queryModel = new BulkTableModel(new String[]{
+            "SQL Fingerprint", "Calls", "Slow", "Total ms", "Mean ms", "Max ms"});
+    private final JLabel connectionLabel = new JLabel(" ");
+    private final JLabel edtLabel = new JLabel(" ");
+
+    public SystemHealthPanel() {
+        super(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JPanel gaugePanel = new JPanel(new GridLayout(2, 1));
+        gaugePanel.add(connectionLabel);
+        gaugePanel.add(edtLabel);
+        add(gaugePanel, BorderLayout.NORTH);
+
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+                new JScrollPane(new JTable(model)), new JScrollPane(new JTable(queryModel)));
+        split.setResizeWeight(0.5);
+        add(split, BorderLayout.CENTER);
+        add(new JLabel("Percentiles cover the last minute and are also available over JMX under com.bank.crm. " +
+                "Statements over " + SlowQueryLog.getInstance().getThresholdMillis() + " ms go to the slow query log."),
+                BorderLayout.SOUTH);
+
+        // Stops itself once the dashboard is disposed
+        Timer timer = new Timer(REFRESH_MS, e -> {
+            if (!isDisplayable()) {
+                ((Timer) e.getSource()).stop();
+            } else if (isShowing()) {
+                refresh();
+            }
+        });
+        timer.start();
+        refresh();
+    }
+
+    private void refresh() {
+        Metrics metrics = Metrics.getInstance();
+        connectionLabel.setText("Connections open: " + metrics.getOpenConnections() +
+                "  |  Peak: " + metrics.getPeakOpenConnections() +
+                "  |  Opened since start: " + metrics.getConnectionsOpened());
+        edtLabel.setText("UI stalls over 100 ms: " + metrics.getEdtStalls() +
+                "  |  UI blocked: " + metrics.getEdtBlockedMillis() + " ms");
+
+        List<Object[]> rows = new ArrayList<>();
+        for (OperationMetrics operation : metrics.getOperations()) {
+            double[] p = operation.recentPercentilesMillis(50, 90, 99, 99.9, 100);
+            rows.add(new Object[]{operation.getName(), operation.getCount(), operation.getErrorCount(),
+                    operation.getRecentCount(), format(p[0]), format(p[1]), format(p[2]), format(p[3]), format(p[4])});
+        }
+        model.applyDiff(rows, 0);
+
+        List<Object[]> queryRows = new ArrayList<>();
+        for (QueryStats query : SlowQueryLog.getInstance().getTopByTotalTime(TOP_QUERIES)) {
+            queryRows.add(new Object[]{query.getFingerprint(), query.getCount(), query.getSlowCount(),
+                    format(query.getTotalMillis()), format(query.getMeanMillis()), format(query.getMaxMillis())});
+        }
+        queryModel.replaceRows(queryRows);
+    }
+
+    private static String format(double millis) {
+        return String.format("%.1f", millis);
+    }
+}
@@ -0,0 +1,67 @@
+package com.bank.crm.model;
+
+import java.sql.Timestamp;
+
+public class Ticket {
+    private final int id;
+    private final int userId;
+    private final String customerName;
+    private final String subject;
+    private final String description;
+    private final String priority;
+    private final String status;
+    private final String assignedTo;
+    private final Timestamp createdAt;
+
+    public Ticket(int id, int userId, String customerName, String subject, String description, String priority,
+                  String status, String assignedTo, Timestamp createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.customerName = customerName;
+        this.subject = subject;
+        this.description = description;
+        this.priority = priority;
+        this.status = status;
+        this.assignedTo = assignedTo;
+        this.createdAt = createdAt;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    // Only filled in by queries that join the customer
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    // Only filled in where the full ticket is loaded; list queries leave it null
+    public String getDescription() {
+        return description;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    // Name of the assigned employee, or null while unassigned
+    public String getAssignedTo() {
+        return assignedTo;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,130 @@
+package com.bank.crm.database;
+
+import com.bank.crm.notification.NotificationOutbox;
+import com.bank.crm.report.ReportCache;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.IntConsumer;
+import java.util.logging.Logger;
+
+public class TicketBulkUpdater {
+    private static final Logger LOGGER = Logger.getLogger(TicketBulkUpdater.class.getName());
+
+    // Rows sent per executeBatch round trip
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final int chunkSize;
+
+    public TicketBulkUpdater() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    // progress is called after each chunk with the number of tickets processed; throwing from it,
+    // e.g. CancellationException when the user cancels, rolls the whole update back
+    public TicketBulkUpdater(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public int updateStatus(int[] ticketIds, String newStatus, IntConsumer progress) throws SQLException {
+        String query = "UPDATE tickets SET status = ? WHERE id = ?";
+        int updated = runBatched(query, ticketIds, progress, (stmt, ticketId) -> {
+            stmt.setString(1, newStatus);
+            stmt.setInt(2, ticketId);
+        });
+
+        // Queued after commit so customers are only told about changes that stuck
+        NotificationOutbox.getInstance().ticketsStatusChanged(ticketIds, newStatus);
+        return updated;
+    }
+
+    public int updatePriority(int[] ticketIds, String newPriority, IntConsumer progress) throws SQLException {
+        String query = "UPDATE tickets SET priority = ? WHERE id = ?";
+        return runBatched(query, ticketIds, progress, (stmt, ticketId) -> {
+            stmt.setString(1, newPriority);
+            stmt.setInt(2, ticketId);
+        });
+    }
+
+    // Takes the employee's id rather than their name, which two employees may share
+    public int assign(int[] ticketIds, int employeeId, IntConsumer progress) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // Checked once instead of once per ticket
+                String employeeQuery = "SELECT 1 FROM users WHERE id = ? AND role = 'EMPLOYEE'";
+                try (PreparedStatement stmt = conn.prepareStatement(employeeQuery)) {
+                    stmt.setInt(1, employeeId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new SQLException("Employee not found: " + employeeId);
+                        }
+                    }
+                }
+
+                String query = "UPDATE tickets SET assigned_to = ?, status = 'ASSIGNED' WHERE id = ?";
+                int updated = executeChunks(conn, query, ticketIds, progress, (stmt, ticketId) -> {
+                    stmt.setInt(1, employeeId);
+                    stmt.setInt(2, ticketId);
+                });
+                conn.commit();
+                ReportCache.getInstance().invalidate(ReportCache.TICKET_STATISTICS);
+
+                NotificationOutbox.getInstance().ticketsAssigned(ticketIds, employeeId);
+                return updated;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private int runBatched(String query, int[] ticketIds, IntConsumer progress, RowBinder binder) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int updated = executeChunks(conn, query, ticketIds, progress, binder);
+                conn.commit();
+                ReportCache.getInstance().invalidate(ReportCache.TICKET_STATISTICS);
+                return updated;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private int executeChunks(Connection conn, String query, int[] ticketIds, IntConsumer progress,
+                              RowBinder binder) throws SQLException {
+        int updated = 0;
+        int processed = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            for (int ticketId : ticketIds) {
+                binder.bind(stmt, ticketId);
+                stmt.addBatch();
+                processed++;
+
+                if (processed % chunkSize == 0 || processed == ticketIds.length) {
+                    for (int count : stmt.executeBatch()) {
+                        // SUCCESS_NO_INFO is reported when the driver rewrites the batch
+                        updated += count == java.sql.Statement.SUCCESS_NO_INFO ? 1 : count;
+                    }
+                    if (progress != null) {
+                        progress.accept(processed);
+                    }
+                }
+            }
+        }
+        LOGGER.info("Bulk ticket update processed " + processed + " tickets, " + updated + " rows changed");
+        return updated;
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement stmt, int ticketId) throws SQLException;
+    }
+}
@@ -0,0 +1,117 @@
+package com.bank.crm.service;
+
+import com.bank.crm.customer.Customer360Service;
+import com.bank.crm.database.DatabaseConnection;
+import com.bank.crm.database.TicketBulkUpdater;
+import com.bank.crm.metrics.Metrics;
+import com.bank.crm.model.Ticket;
+import com.bank.crm.notification.NotificationOutbox;
+import com.bank.crm.report.ReportCache;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+public class TicketService {
+    private static final String LIST_COLUMNS = "t.id, t.user_id, u.name AS customer_name, t.subject, t.priority, " +
+            "t.status, e.name AS assigned_to, t.created_at";
+    private static final String LIST_FROM = " FROM tickets t JOIN users u ON t.user_id = u.id " +
+            "LEFT JOIN users e ON t.assigned_to = e.id ";
+
+    private static final TicketService INSTANCE = new TicketService();
+
+    private final TicketBulkUpdater bulkUpdater = new TicketBulkUpdater();
+
+    public static TicketService getInstance() {
+        return INSTANCE;
+    }
+
+    public Ticket createTicket(int userId, String subject, String description, String priority) throws SQLException {
+        return Metrics.time("ticket.createTicket", () -> {
+            String query = "INSERT INTO tickets (user_id, subject, description, priority) VALUES (?, ?, ?, ?)";
+            int ticketId;
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setInt(1, userId);
+                stmt.setString(2, subject);
+                stmt.setString(3, description);
+                stmt.setString(4, priority);
+                stmt.executeUpdate();
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    if (!rs.next()) {
+                        throw new SQLException("Error creating ticket");
+                    }
+                    ticketId = rs.getInt(1);
+                }
+            }
+            ReportCache.getInstance().invalidate(ReportCache.TICKET_STATISTICS);
+            Customer360Service.getInstance().invalidate(userId);
+            return new Ticket(ticketId, userId, null, subject, description, priority, "OPEN", null, null);
+        });
+    }
+
+    public List<Ticket> getCustomerTickets(int userId) throws SQLException {
+        return Metrics.time("ticket.getCustomerTickets", () -> list("WHERE t.user_id = ? ORDER BY t.created_at DESC", userId));
+    }
+
+    public List<Ticket> getAssignedTickets(int employeeId) throws SQLException {
+        return Metrics.time("ticket.getAssignedTickets", () -> list("WHERE t.assigned_to = ? ORDER BY t.created_at DESC", employeeId));
+    }
+
+    public List<Ticket> getAllTickets() throws SQLException {
+        return Metrics.time("ticket.getAllTickets", () -> list("ORDER BY t.created_at DESC", null));
+    }
+
+    // Employees may only move tickets assigned to them; returns false for anyone else's
+    public boolean updateAssignedTicketStatus(int ticketId, int employeeId, String newStatus) throws SQLException {
+        return Metrics.time("ticket.updateAssignedTicketStatus", () -> {
+            String query = "UPDATE tickets SET status = ? WHERE id = ? AND assigned_to = ?";
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setString(1, newStatus);
+                stmt.setInt(2, ticketId);
+                stmt.setInt(3, employeeId);
+                if (stmt.executeUpdate() == 0) {
+                    return false;
+                }
+            }
+            NotificationOutbox.getInstance().ticketStatusChanged(ticketId, newStatus);
+            ReportCache.getInstance().invalidate(ReportCache.TICKET_STATISTICS);
+            return true;
+        });
+    }
+
+    public int updateStatus(int[] ticketIds, String newStatus, IntConsumer progress) throws SQLException {
+        return Metrics.time("ticket.updateStatus", () -> bulkUpdater.updateStatus(ticketIds, newStatus, progress));
+    }
+
+    public int updatePriority(int[] ticketIds, String newPriority, IntConsumer progress) throws SQLException {
+        return Metrics.time("ticket.updatePriority", () -> bulkUpdater.updatePriority(ticketIds, newPriority, progress));
+    }
+
+    public int assign(int[] ticketIds, int employeeId, IntConsumer progress) throws SQLException {
+        return Metrics.time("ticket.assign", () -> bulkUpdater.assign(ticketIds, employeeId, progress));
+    }
+
+    private List<Ticket> list(String where, Integer userId) throws SQLException {
+        List<Ticket> tickets = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT " + LIST_COLUMNS + LIST_FROM + where)) {
+            if (userId != null) {
+                stmt.setInt(1, userId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tickets.add(new Ticket(rs.getInt("id"), rs.getInt("user_id"), rs.getString("customer_name"),
+                            rs.getString("subject"), null, rs.getString("priority"), rs.getString("status"),
+                            rs.getString("assigned_to"), rs.getTimestamp("created_at")));
+                }
+            }
+        }
+        return tickets;
+    }
+}
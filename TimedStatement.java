@@ -0,0 +1,62 @@
+package com.bank.crm.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+
+// Times the execute* calls of a statement handed out by a TrackedConnection and reports them
+// to the SlowQueryLog. Fetching rows after executeQuery returns is not included.
+final class TimedStatement implements InvocationHandler {
+    private final Statement target;
+    private final boolean prepared;
+    // The prepared SQL, or the first SQL added to a plain statement's current batch
+    private String sql;
+
+    private TimedStatement(Statement target, String sql) {
+        this.target = target;
+        this.prepared = sql != null;
+        this.sql = sql;
+    }
+
+    static <T extends Statement> T wrap(Class<T> type, T target, String sql) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new TimedStatement(target, sql)));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (!prepared && "addBatch".equals(name) && sql == null) {
+            sql = (String) args[0];
+        } else if (!prepared && "clearBatch".equals(name)) {
+            sql = null;
+        }
+        if (!name.startsWith("execute")) {
+            return call(method, args);
+        }
+
+        String executed = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+        long start = System.nanoTime();
+        try {
+            return call(method, args);
+        } finally {
+            if (executed != null) {
+                SlowQueryLog.getInstance().record(executed, System.nanoTime() - start);
+            }
+            if (!prepared && name.endsWith("Batch")) {
+                // Executing a batch clears it
+                sql = null;
+            }
+        }
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
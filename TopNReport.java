@@ -0,0 +1,201 @@
+package com.bank.crm.report;
+
+import com.bank.crm.database.DatabaseConnection;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+public class TopNReport {
+    private static final Logger LOGGER = Logger.getLogger(TopNReport.class.getName());
+
+    private static final int PARTITIONS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(PARTITIONS, r -> {
+        Thread thread = new Thread(r, "top-n-report");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Customers ranked by the total balance across all their accounts
+    public List<RankedCustomer> topByBalance(int n) throws SQLException {
+        String query = "SELECT u.id, u.name, u.email, COUNT(*) AS account_count, SUM(a.balance) AS score " +
+                "FROM accounts a JOIN users u ON a.user_id = u.id " +
+                "WHERE a.user_id BETWEEN ? AND ? " +
+                "GROUP BY u.id, u.name, u.email";
+        return runPartitioned(n, query, null);
+    }
+
+    // Customers ranked by the month's transaction volume across all their accounts
+    public List<RankedCustomer> topByMonthlyVolume(int n, YearMonth month) throws SQLException {
+        // Aggregated per customer by MySQL, then ranked client side in constant memory
+        String query = "SELECT u.id, u.name, u.email, COUNT(DISTINCT a.id) AS account_count, SUM(t.amount) AS score " +
+                "FROM transactions t JOIN accounts a ON t.account_id = a.id JOIN users u ON a.user_id = u.id " +
+                "WHERE a.user_id BETWEEN ? AND ? AND t.created_at >= ? AND t.created_at < ? " +
+                "GROUP BY u.id, u.name, u.email";
+        return runPartitioned(n, query, month);
+    }
+
+    private List<RankedCustomer> runPartitioned(int n, String query, YearMonth month) throws SQLException {
+        long start = System.nanoTime();
+        int[] range = customerIdRange();
+        if (range == null) {
+            return new ArrayList<>();
+        }
+
+        // Split the customer id range so each partition streams on its own connection; every
+        // account of a customer falls in the same partition, so per-partition sums are complete
+        long span = (long) range[1] - range[0] + 1;
+        long partitionSize = (span + PARTITIONS - 1) / PARTITIONS;
+        List<Future<BoundedHeap>> futures = new ArrayList<>();
+        for (int i = 0; i < PARTITIONS; i++) {
+            long low = range[0] + i * partitionSize;
+            long high = Math.min(range[1], low + partitionSize - 1);
+            if (low > high) {
+                break;
+            }
+            futures.add(EXECUTOR.submit(() -> scanPartition(n, query, month, (int) low, (int) high)));
+        }
+
+        BoundedHeap merged = new BoundedHeap(n);
+        try {
+            for (Future<BoundedHeap> future : futures) {
+                merged.mergeFrom(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while computing top-N report", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Top-N report failed", e.getCause());
+        }
+
+        LOGGER.info("Top-" + n + " report computed over " + futures.size() + " partitions in " +
+                (System.nanoTime() - start) / 1_000_000 + " ms");
+        return merged.toSortedList();
+    }
+
+    private BoundedHeap scanPartition(int n, String query, YearMonth month, int low, int high) throws SQLException {
+        BoundedHeap heap = new BoundedHeap(n);
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Row-by-row streaming keeps memory bounded by the heap, not the table
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setInt(1, low);
+            stmt.setInt(2, high);
+            if (month != null) {
+                stmt.setTimestamp(3, Timestamp.valueOf(month.atDay(1).atStartOfDay()));
+                stmt.setTimestamp(4, Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    BigDecimal score = rs.getBigDecimal("score");
+                    if (score != null && heap.accepts(score)) {
+                        heap.offer(new RankedCustomer(rs.getInt("id"), rs.getString("name"), rs.getString("email"),
+                                rs.getInt("account_count"), score));
+                    }
+                }
+            }
+        }
+        return heap;
+    }
+
+    private int[] customerIdRange() throws SQLException {
+        String query = "SELECT MIN(user_id), MAX(user_id) FROM accounts";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next() && rs.getObject(1) != null) {
+                return new int[]{rs.getInt(1), rs.getInt(2)};
+            }
+            return null;
+        }
+    }
+
+    // Min-heap holding the N largest scores seen so far
+    static final class BoundedHeap {
+        private final int capacity;
+        private final PriorityQueue<RankedCustomer> heap;
+
+        BoundedHeap(int capacity) {
+            this.capacity = capacity;
+            this.heap = new PriorityQueue<>(capacity + 1, Comparator.comparing(RankedCustomer::getScore));
+        }
+
+        boolean accepts(BigDecimal score) {
+            return heap.size() < capacity || score.compareTo(heap.peek().getScore()) > 0;
+        }
+
+        void offer(RankedCustomer customer) {
+            heap.offer(customer);
+            if (heap.size() > capacity) {
+                heap.poll();
+            }
+        }
+
+        void mergeFrom(BoundedHeap other) {
+            for (RankedCustomer customer : other.heap) {
+                if (accepts(customer.getScore())) {
+                    offer(customer);
+                }
+            }
+        }
+
+        List<RankedCustomer> toSortedList() {
+            List<RankedCustomer> sorted = new ArrayList<>(heap);
+            sorted.sort(Comparator.comparing(RankedCustomer::getScore).reversed());
+            return sorted;
+        }
+    }
+
+    public static final class RankedCustomer {
+        private final int customerId;
+        private final String customerName;
+        private final String email;
+        private final int accountCount;
+        private final BigDecimal score;
+
+        RankedCustomer(int customerId, String customerName, String email, int accountCount, BigDecimal score) {
+            this.customerId = customerId;
+            this.customerName = customerName;
+            this.email = email;
+            this.accountCount = accountCount;
+            this.score = score;
+        }
+
+        public int getCustomerId() {
+            return customerId;
+        }
+
+        public String getCustomerName() {
+            return customerName;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public int getAccountCount() {
+            return accountCount;
+        }
+
+        public BigDecimal getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.bank.crm.database;
+
+import com.bank.crm.metrics.Metrics;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+// Counts open connections and how long each is held, for the connection gauges and the
+// db.connection.held histogram, applies the calling thread's query deadline to the statements
+// it creates and wraps them in TimedStatement.
+// Everything else is passed straight to the driver's connection.
+final class TrackedConnection implements InvocationHandler {
+    private final Connection target;
+    private final long openedAt = System.nanoTime();
+    private boolean closed;
+
+    private TrackedConnection(Connection target) {
+        this.target = target;
+    }
+
+    static Connection wrap(Connection target) {
+        Metrics.getInstance().connectionOpened();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new TrackedConnection(target));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+            synchronized (this) {
+                if (!closed) {
+                    closed = true;
+                    Metrics.getInstance().connectionClosed(System.nanoTime() - openedAt);
+                }
+            }
+        }
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+        if (result instanceof Statement) {
+            DatabaseConnection.applyQueryDeadline((Statement) result);
+        }
+        // Statements are wrapped so each execution is timed for the slow query log
+        if (result instanceof CallableStatement) {
+            return TimedStatement.wrap(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+        } else if (result instanceof PreparedStatement) {
+            return TimedStatement.wrap(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+        } else if (result instanceof Statement) {
+            return TimedStatement.wrap(Statement.class, (Statement) result, null);
+        }
+        return result;
+    }
+}
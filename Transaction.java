@@ -0,0 +1,47 @@
+package com.bank.crm.model;
+
+import java.sql.Timestamp;
+
+public class Transaction {
+    private final int id;
+    private final int accountId;
+    private final String type;
+    private final double amount;
+    private final String description;
+    private final Timestamp createdAt;
+
+    public Transaction(int id, int accountId, String type, double amount, String description, Timestamp createdAt) {
+        this.id = id;
+        this.accountId = accountId;
+        this.type = type;
+        this.amount = amount;
+        this.description = description;
+        this.createdAt = createdAt;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getAccountId() {
+        return accountId;
+    }
+
+    // CREDIT, DEBIT, TRANSFER_IN or TRANSFER_OUT
+    public String getType() {
+        return type;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    // Null for transactions just posted; the database assigns it
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+}
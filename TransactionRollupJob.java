@@ -0,0 +1,371 @@
+package com.bank.crm.report;
+
+import com.bank.crm.database.DatabaseConnection;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class TransactionRollupJob {
+    private static final Logger LOGGER = Logger.getLogger(TransactionRollupJob.class.getName());
+
+    private static final String WATERMARK_NAME = "transactions";
+    private static final int BATCH_SIZE = 10_000;
+    private static final long INTERVAL_SECONDS = 30;
+    // How long a skipped id is looked for before its insert is assumed rolled back
+    private static final long GAP_WAIT_MINUTES = 10;
+    private static final int MAX_NEW_GAPS = 10_000;
+
+    private static final String[] GRANULARITIES = {"HOUR", "DAY", "MONTH"};
+
+    private static final TransactionRollupJob INSTANCE = new TransactionRollupJob();
+
+    private final ScheduledExecutorService scheduler;
+    private boolean started;
+
+    private TransactionRollupJob() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "transaction-rollup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static TransactionRollupJob getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                catchUp();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Error updating transaction rollups", e);
+            }
+        }, 0, INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // Folds every transaction past the watermark, and any skipped earlier that has since committed
+    public int catchUp() throws SQLException {
+        int total = 0;
+        int folded;
+        do {
+            folded = runOnce();
+            total += folded;
+        } while (folded >= BATCH_SIZE);
+        if (total > 0) {
+            ReportCache.getInstance().invalidate(ReportCache.TRANSACTION_VOLUME);
+            LOGGER.info("Folded " + total + " transactions into rollups");
+        }
+        return total;
+    }
+
+    private int runOnce() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int lastId = lockWatermark(conn);
+                Map<String, Bucket> buckets = new LinkedHashMap<>();
+                int late = foldGaps(conn, buckets);
+
+                // Ids below the highest one read that are not there yet belong either to
+                // transactions still committing or to rolled-back inserts; they are recorded as
+                // gaps and picked up by a later pass if they turn up
+                String query = "SELECT id, type, amount, created_at FROM transactions " +
+                        "WHERE id > ? ORDER BY id LIMIT " + BATCH_SIZE;
+                List<Integer> missing = new ArrayList<>();
+                int rows = 0;
+                int maxId = lastId;
+                try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                    stmt.setInt(1, lastId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            int id = rs.getInt("id");
+                            for (int gap = maxId + 1; gap < id && missing.size() < MAX_NEW_GAPS; gap++) {
+                                missing.add(gap);
+                            }
+                            fold(rs, buckets);
+                            maxId = id;
+                            rows++;
+                        }
+                    }
+                }
+                if (rows == 0 && late == 0) {
+                    // Still commits the removal of expired gaps
+                    conn.commit();
+                    return 0;
+                }
+
+                upsertBuckets(conn, buckets);
+                recordGaps(conn, missing);
+
+                // Rollups, gaps and watermark move together, so a failed pass folds nothing
+                String watermarkQuery = "UPDATE rollup_watermarks SET last_id = ? WHERE name = ?";
+                try (PreparedStatement stmt = conn.prepareStatement(watermarkQuery)) {
+                    stmt.setInt(1, maxId);
+                    stmt.setString(2, WATERMARK_NAME);
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+                if (late > 0) {
+                    LOGGER.fine("Folded " + late + " transactions that committed after later ids");
+                }
+                return rows + late;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    // Folds transactions whose ids an earlier pass skipped and that have committed since, and
+    // forgets gaps old enough that the insert must have been rolled back
+    private int foldGaps(Connection conn, Map<String, Bucket> buckets) throws SQLException {
+        String expireQuery = "DELETE FROM rollup_gaps WHERE name = ? AND expires_at < NOW()";
+        try (PreparedStatement stmt = conn.prepareStatement(expireQuery)) {
+            stmt.setString(1, WATERMARK_NAME);
+            stmt.executeUpdate();
+        }
+
+        String query = "SELECT t.id, t.type, t.amount, t.created_at FROM rollup_gaps g " +
+                "JOIN transactions t ON t.id = g.txn_id WHERE g.name = ?";
+        List<Integer> found = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, WATERMARK_NAME);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    fold(rs, buckets);
+                    found.add(rs.getInt("id"));
+                }
+            }
+        }
+        if (found.isEmpty()) {
+            return 0;
+        }
+
+        // Deleted by id rather than by join, so a transaction committing meanwhile stays a gap
+        String deleteQuery = "DELETE FROM rollup_gaps WHERE name = ? AND txn_id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(deleteQuery)) {
+            for (int id : found) {
+                stmt.setString(1, WATERMARK_NAME);
+                stmt.setInt(2, id);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        return found.size();
+    }
+
+    private void recordGaps(Connection conn, List<Integer> missing) throws SQLException {
+        if (missing.isEmpty()) {
+            return;
+        }
+        if (missing.size() == MAX_NEW_GAPS) {
+            LOGGER.warning("More than " + MAX_NEW_GAPS + " missing transaction ids in one pass; " +
+                    "only the first " + MAX_NEW_GAPS + " are tracked");
+        }
+        String query = "INSERT IGNORE INTO rollup_gaps (name, txn_id, expires_at) " +
+                "VALUES (?, ?, NOW() + INTERVAL " + GAP_WAIT_MINUTES + " MINUTE)";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            for (int id : missing) {
+                stmt.setString(1, WATERMARK_NAME);
+                stmt.setInt(2, id);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void fold(ResultSet rs, Map<String, Bucket> buckets) throws SQLException {
+        LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+        String type = rs.getString("type");
+        BigDecimal amount = rs.getBigDecimal("amount");
+        for (String granularity : GRANULARITIES) {
+            LocalDateTime start = bucketStart(granularity, createdAt);
+            String key = granularity + "|" + start + "|" + type;
+            buckets.computeIfAbsent(key, k -> new Bucket(granularity, start, type)).add(amount);
+        }
+    }
+
+    private static void upsertBuckets(Connection conn, Map<String, Bucket> buckets) throws SQLException {
+        String upsert = "INSERT INTO transaction_rollups (granularity, bucket_start, type, txn_count, total_amount) " +
+                "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                "txn_count = txn_count + VALUES(txn_count), total_amount = total_amount + VALUES(total_amount)";
+        try (PreparedStatement stmt = conn.prepareStatement(upsert)) {
+            for (Bucket bucket : buckets.values()) {
+                stmt.setString(1, bucket.granularity);
+                stmt.setTimestamp(2, Timestamp.valueOf(bucket.start));
+                stmt.setString(3, bucket.type);
+                stmt.setLong(4, bucket.count);
+                stmt.setBigDecimal(5, bucket.amount);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private int lockWatermark(Connection conn) throws SQLException {
+        String insertQuery = "INSERT IGNORE INTO rollup_watermarks (name, last_id) VALUES (?, 0)";
+        try (PreparedStatement stmt = conn.prepareStatement(insertQuery)) {
+            stmt.setString(1, WATERMARK_NAME);
+            stmt.executeUpdate();
+        }
+
+        // Row lock serializes concurrent jobs running on other clients
+        String selectQuery = "SELECT last_id FROM rollup_watermarks WHERE name = ? FOR UPDATE";
+        try (PreparedStatement stmt = conn.prepareStatement(selectQuery)) {
+            stmt.setString(1, WATERMARK_NAME);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt("last_id") : 0;
+            }
+        }
+    }
+
+    public List<TrendPoint> loadTrend(String granularity, int bucketCount) throws SQLException {
+        return ReportCache.getInstance().get(ReportCache.TRANSACTION_VOLUME, granularity + "|" + bucketCount,
+                () -> queryTrend(granularity, bucketCount));
+    }
+
+    private List<TrendPoint> queryTrend(String granularity, int bucketCount) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from;
+        switch (granularity) {
+            case "HOUR":
+                from = bucketStart(granularity, now).minusHours(bucketCount - 1);
+                break;
+            case "DAY":
+                from = bucketStart(granularity, now).minusDays(bucketCount - 1);
+                break;
+            default:
+                from = bucketStart(granularity, now).minusMonths(bucketCount - 1);
+        }
+
+        String query = "SELECT bucket_start, type, txn_count, total_amount FROM transaction_rollups " +
+                "WHERE granularity = ? AND bucket_start >= ? ORDER BY bucket_start";
+        Map<LocalDateTime, TrendPoint> points = new LinkedHashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, granularity);
+            stmt.setTimestamp(2, Timestamp.valueOf(from));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    LocalDateTime start = rs.getTimestamp("bucket_start").toLocalDateTime();
+                    TrendPoint point = points.computeIfAbsent(start, TrendPoint::new);
+                    point.add(rs.getString("type"), rs.getLong("txn_count"), rs.getBigDecimal("total_amount"));
+                }
+            }
+        }
+        return new ArrayList<>(points.values());
+    }
+
+    static LocalDateTime bucketStart(String granularity, LocalDateTime time) {
+        switch (granularity) {
+            case "HOUR":
+                return time.truncatedTo(ChronoUnit.HOURS);
+            case "DAY":
+                return time.truncatedTo(ChronoUnit.DAYS);
+            case "MONTH":
+                return time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+            default:
+                throw new IllegalArgumentException("Unknown granularity: " + granularity);
+        }
+    }
+
+    public static final class TrendPoint {
+        private final LocalDateTime bucketStart;
+        private long deposits;
+        private long withdrawals;
+        private long transfers;
+        private BigDecimal depositAmount = BigDecimal.ZERO;
+        private BigDecimal withdrawalAmount = BigDecimal.ZERO;
+        private BigDecimal transferAmount = BigDecimal.ZERO;
+
+        TrendPoint(LocalDateTime bucketStart) {
+            this.bucketStart = bucketStart;
+        }
+
+        void add(String type, long count, BigDecimal amount) {
+            switch (type) {
+                case "CREDIT":
+                    deposits += count;
+                    depositAmount = depositAmount.add(amount);
+                    break;
+                case "DEBIT":
+                    withdrawals += count;
+                    withdrawalAmount = withdrawalAmount.add(amount);
+                    break;
+                case "TRANSFER_OUT":
+                    // Each transfer writes an OUT and an IN row; count it once
+                    transfers += count;
+                    transferAmount = transferAmount.add(amount);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        public LocalDateTime getBucketStart() {
+            return bucketStart;
+        }
+
+        public long getDeposits() {
+            return deposits;
+        }
+
+        public long getWithdrawals() {
+            return withdrawals;
+        }
+
+        public long getTransfers() {
+            return transfers;
+        }
+
+        public BigDecimal getDepositAmount() {
+            return depositAmount;
+        }
+
+        public BigDecimal getWithdrawalAmount() {
+            return withdrawalAmount;
+        }
+
+        public BigDecimal getTransferAmount() {
+            return transferAmount;
+        }
+    }
+
+    private static final class Bucket {
+        final String granularity;
+        final LocalDateTime start;
+        final String type;
+        long count;
+        BigDecimal amount = BigDecimal.ZERO;
+
+        Bucket(String granularity, LocalDateTime start, String type) {
+            this.granularity = granularity;
+            this.start = start;
+            this.type = type;
+        }
+
+        void add(BigDecimal value) {
+            count++;
+            amount = amount.add(value);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.bank.crm.analytics;
+
+import com.bank.crm.database.DatabaseConnection;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Column-oriented copy of the transactions ledger. Each column is a primitive
+// array indexed by row; low-cardinality strings are dictionary-encoded to bytes.
+public class TransactionSnapshot {
+    private static final int MAGIC = 0x54584E53; // "TXNS"
+    private static final int VERSION = 1;
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    final int rowCount;
+    final long[] amountCents;
+    final long[] createdAtEpochSeconds;
+    final byte[] typeCodes;
+    final byte[] statusCodes;
+    final byte[] accountTypeCodes;
+    final String[] typeDictionary;
+    final String[] statusDictionary;
+    final String[] accountTypeDictionary;
+    final long builtAt;
+
+    private TransactionSnapshot(int rowCount, long[] amountCents, long[] createdAtEpochSeconds,
+                                byte[] typeCodes, byte[] statusCodes, byte[] accountTypeCodes,
+                                String[] typeDictionary, String[] statusDictionary,
+                                String[] accountTypeDictionary, long builtAt) {
+        this.rowCount = rowCount;
+        this.amountCents = amountCents;
+        this.createdAtEpochSeconds = createdAtEpochSeconds;
+        this.typeCodes = typeCodes;
+        this.statusCodes = statusCodes;
+        this.accountTypeCodes = accountTypeCodes;
+        this.typeDictionary = typeDictionary;
+        this.statusDictionary = statusDictionary;
+        this.accountTypeDictionary = accountTypeDictionary;
+        this.builtAt = builtAt;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public long getBuiltAt() {
+        return builtAt;
+    }
+
+    public static TransactionSnapshot build() throws SQLException {
+        String query = "SELECT t.amount, t.created_at, t.type, t.status, a.type as account_type " +
+                "FROM transactions t JOIN accounts a ON t.account_id = a.id";
+
+        int capacity = 1024;
+        long[] amounts = new long[capacity];
+        long[] timestamps = new long[capacity];
+        byte[] types = new byte[capacity];
+        byte[] statuses = new byte[capacity];
+        byte[] accountTypes = new byte[capacity];
+        Dictionary typeDictionary = new Dictionary();
+        Dictionary statusDictionary = new Dictionary();
+        Dictionary accountTypeDictionary = new Dictionary();
+        int rows = 0;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Stream rows instead of buffering the whole ledger in the driver
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (rows == capacity) {
+                        capacity *= 2;
+                        amounts = Arrays.copyOf(amounts, capacity);
+                        timestamps = Arrays.copyOf(timestamps, capacity);
+                        types = Arrays.copyOf(types, capacity);
+                        statuses = Arrays.copyOf(statuses, capacity);
+                        accountTypes = Arrays.copyOf(accountTypes, capacity);
+                    }
+                    BigDecimal amount = rs.getBigDecimal("amount");
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    amounts[rows] = amount == null ? 0 : amount.movePointRight(2).longValue();
+                    timestamps[rows] = createdAt == null ? 0 : createdAt.getTime() / 1000;
+                    types[rows] = typeDictionary.encode(rs.getString("type"));
+                    statuses[rows] = statusDictionary.encode(rs.getString("status"));
+                    accountTypes[rows] = accountTypeDictionary.encode(rs.getString("account_type"));
+                    rows++;
+                }
+            }
+        }
+
+        return new TransactionSnapshot(rows,
+                Arrays.copyOf(amounts, rows), Arrays.copyOf(timestamps, rows),
+                Arrays.copyOf(types, rows), Arrays.copyOf(statuses, rows), Arrays.copyOf(accountTypes, rows),
+                typeDictionary.values(), statusDictionary.values(), accountTypeDictionary.values(),
+                System.currentTimeMillis());
+    }
+
+    public void writeTo(Path file) throws IOException {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        try (DataOutputStream header = new DataOutputStream(headerBytes)) {
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            header.writeLong(builtAt);
+            header.writeInt(rowCount);
+            writeDictionary(header, typeDictionary);
+            writeDictionary(header, statusDictionary);
+            writeDictionary(header, accountTypeDictionary);
+        }
+        byte[] headerData = headerBytes.toByteArray();
+
+        // Write to a temp file and swap it in so readers never see a partial snapshot. Written
+        // and read through a buffer rather than mapped, since Windows cannot replace or delete
+        // a file while a mapping of it is still waiting to be collected.
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+            ByteBuffer length = ByteBuffer.allocate(4).putInt(headerData.length);
+            length.flip();
+            writeFully(channel, length);
+            writeFully(channel, ByteBuffer.wrap(headerData));
+            writeLongs(channel, buffer, amountCents);
+            writeLongs(channel, buffer, createdAtEpochSeconds);
+            writeFully(channel, ByteBuffer.wrap(typeCodes));
+            writeFully(channel, ByteBuffer.wrap(statusCodes));
+            writeFully(channel, ByteBuffer.wrap(accountTypeCodes));
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static TransactionSnapshot readFrom(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+            ByteBuffer length = ByteBuffer.allocate(4);
+            readFully(channel, length);
+            byte[] headerData = new byte[length.getInt(0)];
+            readFully(channel, ByteBuffer.wrap(headerData));
+
+            try (DataInputStream header = new DataInputStream(new ByteArrayInputStream(headerData))) {
+                if (header.readInt() != MAGIC || header.readInt() != VERSION) {
+                    throw new IOException("Unsupported snapshot format: " + file);
+                }
+                long builtAt = header.readLong();
+                int rows = header.readInt();
+                String[] typeDictionary = readDictionary(header);
+                String[] statusDictionary = readDictionary(header);
+                String[] accountTypeDictionary = readDictionary(header);
+
+                long[] amounts = new long[rows];
+                long[] timestamps = new long[rows];
+                byte[] types = new byte[rows];
+                byte[] statuses = new byte[rows];
+                byte[] accountTypes = new byte[rows];
+                readLongs(channel, buffer, amounts);
+                readLongs(channel, buffer, timestamps);
+                readFully(channel, ByteBuffer.wrap(types));
+                readFully(channel, ByteBuffer.wrap(statuses));
+                readFully(channel, ByteBuffer.wrap(accountTypes));
+
+                return new TransactionSnapshot(rows, amounts, timestamps, types, statuses, accountTypes,
+                        typeDictionary, statusDictionary, accountTypeDictionary, builtAt);
+            }
+        }
+    }
+
+    private static void writeLongs(FileChannel channel, ByteBuffer buffer, long[] values) throws IOException {
+        int perBuffer = buffer.capacity() / 8;
+        for (int from = 0; from < values.length; from += perBuffer) {
+            int count = Math.min(perBuffer, values.length - from);
+            buffer.clear();
+            buffer.asLongBuffer().put(values, from, count);
+            buffer.limit(count * 8);
+            writeFully(channel, buffer);
+        }
+    }
+
+    private static void readLongs(FileChannel channel, ByteBuffer buffer, long[] values) throws IOException {
+        int perBuffer = buffer.capacity() / 8;
+        for (int from = 0; from < values.length; from += perBuffer) {
+            int count = Math.min(perBuffer, values.length - from);
+            buffer.clear();
+            buffer.limit(count * 8);
+            readFully(channel, buffer);
+            buffer.flip();
+            buffer.asLongBuffer().get(values, from, count);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Truncated snapshot file");
+            }
+        }
+    }
+
+    private static void writeDictionary(DataOutputStream out, String[] values) throws IOException {
+        out.writeByte(values.length);
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String[] readDictionary(DataInputStream in) throws IOException {
+        String[] values = new String[in.readUnsignedByte()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readUTF();
+        }
+        return values;
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Byte> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        byte encode(String value) {
+            String key = value == null ? "" : value;
+            Byte code = codes.get(key);
+            if (code == null) {
+                if (values.size() > Byte.MAX_VALUE) {
+                    throw new IllegalStateException("Too many distinct values for dictionary column");
+                }
+                code = (byte) values.size();
+                codes.put(key, code);
+                values.add(key);
+            }
+            return code;
+        }
+
+        String[] values() {
+            return values.toArray(new String[0]);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.bank.crm.service;
+
+import com.bank.crm.customer.Customer360Service;
+import com.bank.crm.database.DatabaseConnection;
+import com.bank.crm.metrics.Metrics;
+import com.bank.crm.model.Account;
+import com.bank.crm.model.Transaction;
+import com.bank.crm.notification.NotificationOutbox;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Transfers between customers' primary accounts. Both rows are locked in id order, so two
+// opposite transfers running at once wait for each other instead of deadlocking.
+public class TransferService {
+    private static final TransferService INSTANCE = new TransferService();
+
+    public static TransferService getInstance() {
+        return INSTANCE;
+    }
+
+    // Returns the sender's TRANSFER_OUT transaction
+    public Transaction transfer(int senderUserId, String recipientAccountNumber, double amount,
+                                String description) throws SQLException {
+        return Metrics.time("transfer.transfer", () -> {
+            if (amount <= 0) {
+                throw new IllegalArgumentException("Amount must be positive: " + amount);
+            }
+            Account sender;
+            int recipientAccountId;
+            int recipientUserId;
+            Transaction transaction;
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                conn.setAutoCommit(false);
+                try {
+                    sender = AccountService.findPrimaryAccount(conn, senderUserId, false);
+                    if (sender == null) {
+                        throw new SQLException("Sender account not found");
+                    }
+
+                    String recipientQuery = "SELECT id, user_id FROM accounts WHERE account_number = ? AND user_id != ?";
+                    try (PreparedStatement stmt = conn.prepareStatement(recipientQuery)) {
+                        stmt.setString(1, recipientAccountNumber);
+                        stmt.setInt(2, senderUserId);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            if (!rs.next()) {
+                                throw new SQLException("Recipient account not found");
+                            }
+                            recipientAccountId = rs.getInt("id");
+                            recipientUserId = rs.getInt("user_id");
+                        }
+                    }
+
+                    lockInOrder(conn, sender.getId(), recipientAccountId);
+                    AccountService.debit(conn, sender.getId(), amount);
+                    AccountService.credit(conn, recipientAccountId, amount);
+                    transaction = AccountService.insertTransaction(conn, sender.getId(), "TRANSFER_OUT", amount,
+                            "Transfer to " + recipientAccountNumber + ": " + description);
+                    AccountService.insertTransaction(conn, recipientAccountId, "TRANSFER_IN", amount,
+                            "Transfer from " + sender.getAccountNumber() + ": " + description);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            }
+
+            NotificationOutbox.getInstance().transferReceived(recipientUserId, amount, sender.getAccountNumber());
+            Customer360Service.getInstance().invalidate(senderUserId);
+            Customer360Service.getInstance().invalidate(recipientUserId);
+            return transaction;
+        });
+    }
+
+    private static void lockInOrder(Connection conn, int firstAccountId, int secondAccountId) throws SQLException {
+        String query = "SELECT id FROM accounts WHERE id IN (?, ?) ORDER BY id FOR UPDATE";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, Math.min(firstAccountId, secondAccountId));
+            stmt.setInt(2, Math.max(firstAccountId, secondAccountId));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    // Rows are locked as they are read
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.bank.crm.dashboard;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TrendChartPanel extends JPanel {
+    private static final int PADDING = 40;
+    private static final Color[] SERIES_COLORS = {
+        new Color(51, 122, 183), new Color(217, 83, 79), new Color(92, 184, 92)
+    };
+
+    private final String[] seriesNames;
+    private List<String> labels = new ArrayList<>();
+    private double[][] series = new double[0][];
+
+    public TrendChartPanel(String... seriesNames) {
+        this.seriesNames = seriesNames;
+        setPreferredSize(new Dimension(600, 250));
+        setBackground(Color.WHITE);
+    }
+
+    public void setData(List<String> labels, double[][] series) {
+        this.labels = labels;
+        this.series = series;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int width = getWidth() - 2 * PADDING;
+        int height = getHeight() - 2 * PADDING;
+        int points = labels.size();
+        if (points == 0 || width <= 0 || height <= 0) {
+            g2.drawString("No data", getWidth() / 2 - 20, getHeight() / 2);
+            return;
+        }
+
+        double max = 0;
+        for (double[] values : series) {
+            for (double value : values) {
+                max = Math.max(max, value);
+            }
+        }
+        if (max == 0) {
+            max = 1;
+        }
+
+        // Axes
+        g2.setColor(Color.GRAY);
+        g2.drawLine(PADDING, PADDING, PADDING, PADDING + height);
+        g2.drawLine(PADDING, PADDING + height, PADDING + width, PADDING + height);
+        g2.drawString(String.format("%.0f", max), 2, PADDING + 5);
+
+        double step = points > 1 ? (double) width / (points - 1) : 0;
+        int labelEvery = Math.max(1, points / 8);
+        for (int i = 0; i < points; i += labelEvery) {
+            int x = PADDING + (int) (i * step);
+            g2.drawString(labels.get(i), x - 20, PADDING + height + 15);
+        }
+
+        for (int s = 0; s < series.length; s++) {
+            g2.setColor(SERIES_COLORS[s % SERIES_COLORS.length]);
+            g2.setStroke(new BasicStroke(2f));
+            int previousX = -1;
+            int previousY = -1;
+            for (int i = 0; i < points; i++) {
+                int x = PADDING + (int) (i * step);
+                int y = PADDING + height - (int) (series[s][i] / max * height);
+                if (previousX >= 0) {
+                    g2.drawLine(previousX, previousY, x, y);
+                }
+                g2.fillOval(x - 2, y - 2, 4, 4);
+                previousX = x;
+                previousY = y;
+            }
+            // Legend
+            g2.fillRect(PADDING + s * 120, 10, 10, 10);
+            g2.setColor(Color.BLACK);
+            g2.drawString(seriesNames[s], PADDING + s * 120 + 15, 20);
+        }
+    }
+}
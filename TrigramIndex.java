@@ -0,0 +1,65 @@
+package com.bank.crm.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+// Maps character trigrams to the document slots containing them. Postings are only ever
+// appended, so visitors must verify candidates against the current document text.
+final class TrigramIndex {
+    private final Map<Long, PostingList> postings = new HashMap<>();
+
+    void add(int slot, String text) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            long key = key(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2));
+            postings.computeIfAbsent(key, k -> new PostingList()).add(slot);
+        }
+    }
+
+    // Walks the smallest posting list among the query's trigrams: every true match is in it
+    void forEachCandidate(String query, IntPredicate visitor) {
+        PostingList smallest = null;
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            PostingList list = postings.get(key(query.charAt(i), query.charAt(i + 1), query.charAt(i + 2)));
+            if (list == null) {
+                return;
+            }
+            if (smallest == null || list.size < smallest.size) {
+                smallest = list;
+            }
+        }
+        if (smallest == null) {
+            return;
+        }
+        for (int i = 0; i < smallest.size; i++) {
+            if (!visitor.test(smallest.slots[i])) {
+                return;
+            }
+        }
+    }
+
+    int trigramCount() {
+        return postings.size();
+    }
+
+    private static long key(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static final class PostingList {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            // A document's trigrams are posted together, so a repeat is always the last entry
+            if (size > 0 && slots[size - 1] == slot) {
+                return;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.bank.crm.model;
+
+import java.sql.Timestamp;
+
+// A customer, employee or manager; the password hash never leaves the auth package
+public class User {
+    private final int id;
+    private final String name;
+    private final String email;
+    private final String phone;
+    private final String role;
+    private final String status;
+    private final Timestamp createdAt;
+
+    public User(int id, String name, String email, String phone, String role, String status, Timestamp createdAt) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.role = role;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    // CUSTOMER, EMPLOYEE or MANAGER
+    public String getRole() {
+        return role;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,172 @@
+package com.bank.crm.service;
+
+import com.bank.crm.database.ChangeLog;
+import com.bank.crm.database.DatabaseConnection;
+import com.bank.crm.metrics.Metrics;
+import com.bank.crm.model.Account;
+import com.bank.crm.model.User;
+import com.bank.crm.search.EmailRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+// Customers and employees. Passwords arrive already hashed by AuthService, which keeps the
+// slow hashing on its own pool; a duplicate email is reported as
+// SQLIntegrityConstraintViolationException whether it is caught here or by the UNIQUE key.
+public class UserService {
+    private static final Logger LOGGER = Logger.getLogger(UserService.class.getName());
+
+    private static final String USER_COLUMNS = "id, name, email, phone, role, status, created_at";
+
+    private static final String EMPLOYEES_TOPIC = "employees";
+
+    private static final UserService INSTANCE = new UserService();
+
+    // Employees rarely change and fill every assignment combo; additions and removals made by
+    // other instances arrive through the change log
+    private List<User> employees;
+    private long employeesVersion;
+
+    private UserService() {
+        ChangeLog.getInstance().subscribe(EMPLOYEES_TOPIC, key -> forgetEmployees());
+    }
+
+    public static UserService getInstance() {
+        return INSTANCE;
+    }
+
+    public List<User> getCustomers() throws SQLException {
+        return Metrics.time("user.getCustomers", () -> listByRole("CUSTOMER"));
+    }
+
+    public List<User> getEmployees() throws SQLException {
+        return Metrics.time("user.getEmployees", () -> {
+            long version;
+            synchronized (this) {
+                if (employees != null) {
+                    return employees;
+                }
+                version = employeesVersion;
+            }
+            List<User> loaded = Collections.unmodifiableList(listByRole("EMPLOYEE"));
+            synchronized (this) {
+                // Not kept if an employee was added or removed while it loaded
+                if (employeesVersion == version) {
+                    employees = loaded;
+                }
+            }
+            return loaded;
+        });
+    }
+
+    public boolean isEmailRegistered(String email) throws SQLException {
+        return EmailRegistry.getInstance().isRegistered(email);
+    }
+
+    // Creates the customer and their first account in one transaction
+    public Account registerCustomer(String name, String email, String phone, String passwordHash,
+                                    String accountType, double initialDeposit) throws SQLException {
+        return Metrics.time("user.registerCustomer", () -> {
+            AccountService accounts = AccountService.getInstance();
+            Account account;
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                conn.setAutoCommit(false);
+                try {
+                    if (EmailRegistry.getInstance().isRegistered(conn, email)) {
+                        throw new SQLIntegrityConstraintViolationException("Email already exists: " + email);
+                    }
+                    int userId = insertUser(conn, name, email, phone, passwordHash, "CUSTOMER");
+                    account = accounts.insertAccount(conn, userId, accountType, initialDeposit);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            }
+            EmailRegistry.getInstance().registered(email);
+            accounts.accountOpened(account);
+            return account;
+        });
+    }
+
+    public User addEmployee(String name, String email, String phone, String passwordHash) throws SQLException {
+        return Metrics.time("user.addEmployee", () -> {
+            int userId;
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                userId = insertUser(conn, name, email, phone, passwordHash, "EMPLOYEE");
+            }
+            EmailRegistry.getInstance().registered(email);
+            employeesChanged();
+            LOGGER.info("New employee added: " + email);
+            return new User(userId, name, email, phone, "EMPLOYEE", "ACTIVE", null);
+        });
+    }
+
+    public boolean deleteEmployee(int employeeId) throws SQLException {
+        return Metrics.time("user.deleteEmployee", () -> {
+            String query = "DELETE FROM users WHERE id = ? AND role = 'EMPLOYEE'";
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setInt(1, employeeId);
+                if (stmt.executeUpdate() == 0) {
+                    return false;
+                }
+            }
+            employeesChanged();
+            return true;
+        });
+    }
+
+    private void employeesChanged() {
+        forgetEmployees();
+        ChangeLog.getInstance().publish(EMPLOYEES_TOPIC, ChangeLog.ALL);
+    }
+
+    private synchronized void forgetEmployees() {
+        employees = null;
+        employeesVersion++;
+    }
+
+    private static int insertUser(Connection conn, String name, String email, String phone, String passwordHash,
+                                  String role) throws SQLException {
+        String query = "INSERT INTO users (name, email, phone, password, role) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, name);
+            stmt.setString(2, email);
+            stmt.setString(3, phone);
+            stmt.setString(4, passwordHash);
+            stmt.setString(5, role);
+            stmt.executeUpdate();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (!rs.next()) {
+                    throw new SQLException("Error creating user");
+                }
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private static List<User> listByRole(String role) throws SQLException {
+        String query = "SELECT " + USER_COLUMNS + " FROM users WHERE role = ? ORDER BY name";
+        List<User> users = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, role);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(new User(rs.getInt("id"), rs.getString("name"), rs.getString("email"),
+                            rs.getString("phone"), rs.getString("role"), rs.getString("status"),
+                            rs.getTimestamp("created_at")));
+                }
+            }
+        }
+        return users;
+    }
+}
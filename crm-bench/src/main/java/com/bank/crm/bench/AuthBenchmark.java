@@ -0,0 +1,58 @@
+package com.bank.crm.bench;
+
+import com.bank.crm.auth.AuthService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Logins per second the auth pool sustains at each PBKDF2 cost, to pick crm.auth.iterations.
+// Arguments: seconds per cost, then worker threads (defaults to the service's default).
+//
+// Usage: java -cp target/benchmarks.jar com.bank.crm.bench.AuthBenchmark [seconds] [threads]
+public class AuthBenchmark {
+    private static final int[] ITERATIONS = {10_000, 50_000, 100_000, 210_000, 310_000, 600_000};
+    private static final int IN_FLIGHT = 32;
+
+    public static void main(String[] args) throws InterruptedException {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : AuthService.getInstance().getThreads();
+        System.out.printf("%d worker threads, %d s per cost%n", threads, seconds);
+
+        // Warm up the key derivation so the first row is not dominated by JIT compilation
+        AuthService warmup = new AuthService(ITERATIONS[0], threads);
+        for (int i = 0; i < 20; i++) {
+            warmup.hashPassword("warmup").join();
+        }
+        warmup.shutdown();
+
+        for (int iterations : ITERATIONS) {
+            AuthService service = new AuthService(iterations, threads);
+            String stored = service.hashPassword("correct horse battery staple").join();
+
+            long singleStart = System.nanoTime();
+            service.verify("correct horse battery staple", stored).join();
+            long singleMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - singleStart);
+
+            // Keep the pool saturated without overflowing its bounded queue
+            Semaphore inFlight = new Semaphore(IN_FLIGHT);
+            AtomicInteger completed = new AtomicInteger();
+            long start = System.nanoTime();
+            long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+            while (System.nanoTime() < deadline) {
+                inFlight.acquire();
+                CompletableFuture<Boolean> login = service.verify("correct horse battery staple", stored);
+                login.whenComplete((ok, error) -> {
+                    completed.incrementAndGet();
+                    inFlight.release();
+                });
+            }
+            inFlight.acquire(IN_FLIGHT);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+            service.shutdown();
+
+            System.out.printf("%,9d iterations: %6d ms per login, %8.1f logins/s%n",
+                    iterations, singleMillis, completed.get() / elapsed);
+        }
+    }
+}
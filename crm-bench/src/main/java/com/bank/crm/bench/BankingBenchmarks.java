@@ -0,0 +1,88 @@
+package com.bank.crm.bench;
+
+import com.bank.crm.auth.AuthService;
+import com.bank.crm.auth.AuthenticatedUser;
+import com.bank.crm.model.Ticket;
+import com.bank.crm.model.Transaction;
+import com.bank.crm.report.DashboardStatistics;
+import com.bank.crm.report.TopNReport;
+import com.bank.crm.service.TicketService;
+import com.bank.crm.service.TransferService;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Latency of the operations users wait on, called through the same services the dashboards use.
+// Sample mode so the JSON results carry percentiles as well as the mean. Thread counts are set
+// per run by BenchMain (or -t), table size by the customers parameter (or -p customers=...).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class BankingBenchmarks {
+    @Param({"1000", "100000"})
+    public int customers;
+
+    private BenchDatabase database;
+    private final TopNReport topNReport = new TopNReport();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        database = BenchDatabase.prepare(customers);
+    }
+
+    // Includes PBKDF2 at the configured crm.auth.iterations and any wait for an auth worker
+    @Benchmark
+    public AuthenticatedUser login() {
+        int customer = ThreadLocalRandom.current().nextInt(database.customerCount());
+        AuthenticatedUser user = AuthService.getInstance()
+                .authenticate(database.email(customer), BenchDatabase.PASSWORD, "bench").join();
+        if (user == null) {
+            throw new IllegalStateException("Login rejected for " + database.email(customer));
+        }
+        return user;
+    }
+
+    @Benchmark
+    public Transaction transfer() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int sender = random.nextInt(database.customerCount());
+        int recipient = (sender + 1 + random.nextInt(database.customerCount() - 1)) % database.customerCount();
+        return TransferService.getInstance().transfer(database.userId(sender), database.accountNumber(recipient),
+                1.00, "Benchmark transfer");
+    }
+
+    @Benchmark
+    public Ticket createTicket() throws SQLException {
+        int customer = ThreadLocalRandom.current().nextInt(database.customerCount());
+        return TicketService.getInstance().createTicket(database.userId(customer), "Benchmark ticket",
+                "Created by the ticket creation benchmark", "MEDIUM");
+    }
+
+    // Uncached, as on the first open of the manager dashboard
+    @Benchmark
+    public List<Object[]> customerStatistics() throws SQLException {
+        return DashboardStatistics.loadCustomerStatistics();
+    }
+
+    @Benchmark
+    public List<TopNReport.RankedCustomer> topCustomersByBalance() throws SQLException {
+        return topNReport.topByBalance(10);
+    }
+}
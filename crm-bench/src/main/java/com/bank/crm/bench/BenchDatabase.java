@@ -0,0 +1,180 @@
+package com.bank.crm.bench;
+
+import com.bank.crm.auth.AuthService;
+import com.bank.crm.customer.CustomerImporter;
+import com.bank.crm.customer.ImportReport;
+import com.bank.crm.database.DatabaseConnection;
+import com.bank.crm.model.User;
+import com.bank.crm.service.UserService;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+// Scratch database for benchmarks, selected with -Dcrm.db.url. It is rebuilt from schema.sql
+// and seeded through CustomerImporter whenever the number of seeded customers differs from the
+// requested table size, so repeated runs at the same size skip the seeding.
+public class BenchDatabase {
+    private static final Logger LOGGER = Logger.getLogger(BenchDatabase.class.getName());
+
+    public static final String PASSWORD = "bench-password";
+    private static final String EMAIL_DOMAIN = "@bench.local";
+    private static final String APPLICATION_DATABASE = "crm_bank";
+    // Large enough that transfers between random customers never run out of funds
+    private static final String INITIAL_DEPOSIT = "1000000.00";
+
+    private final int[] userIds;
+    private final String[] emails;
+    private final String[] accountNumbers;
+
+    private BenchDatabase(int[] userIds, String[] emails, String[] accountNumbers) {
+        this.userIds = userIds;
+        this.emails = emails;
+        this.accountNumbers = accountNumbers;
+    }
+
+    public static synchronized BenchDatabase prepare(int customers) throws SQLException, IOException {
+        if (countSeededCustomers() != customers) {
+            rebuild();
+            seed(customers);
+        }
+        return load();
+    }
+
+    // Employees employee0..employee<count-1>@bench.local, created on first use with the shared password
+    public static synchronized List<User> prepareEmployees(int count) throws SQLException {
+        List<User> employees = new ArrayList<>();
+        String query = "SELECT id, name, email, phone, role, status, created_at FROM users " +
+                "WHERE role = 'EMPLOYEE' AND email LIKE ? ORDER BY id";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, "%" + EMAIL_DOMAIN);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (employees.size() < count && rs.next()) {
+                    employees.add(new User(rs.getInt("id"), rs.getString("name"), rs.getString("email"),
+                            rs.getString("phone"), rs.getString("role"), rs.getString("status"),
+                            rs.getTimestamp("created_at")));
+                }
+            }
+        }
+        if (employees.size() < count) {
+            String passwordHash = AuthService.getInstance().hashPassword(PASSWORD).join();
+            for (int i = employees.size(); i < count; i++) {
+                employees.add(UserService.getInstance().addEmployee("Bench Employee " + i,
+                        "employee" + i + EMAIL_DOMAIN, String.format("8%09d", i), passwordHash));
+            }
+        }
+        return employees;
+    }
+
+    public int customerCount() {
+        return userIds.length;
+    }
+
+    public int userId(int index) {
+        return userIds[index];
+    }
+
+    public String email(int index) {
+        return emails[index];
+    }
+
+    public String accountNumber(int index) {
+        return accountNumbers[index];
+    }
+
+    private static int countSeededCustomers() {
+        String query = "SELECT COUNT(*) FROM users WHERE role = 'CUSTOMER' AND email LIKE ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, "%" + EMAIL_DOMAIN);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : -1;
+            }
+        } catch (SQLException e) {
+            // Tables not created yet
+            return -1;
+        }
+    }
+
+    private static void rebuild() throws SQLException, IOException {
+        Path schemaFile = Paths.get(System.getProperty("crm.bench.schema", "../schema.sql"));
+        String schema = new String(Files.readAllBytes(schemaFile), StandardCharsets.UTF_8);
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            String database = conn.getCatalog();
+            if (database == null || database.equalsIgnoreCase(APPLICATION_DATABASE)) {
+                throw new IllegalStateException("Refusing to reset '" + database +
+                        "'; point -Dcrm.db.url at a scratch database such as crm_bench");
+            }
+            LOGGER.info("Rebuilding benchmark database " + database);
+            stmt.execute("DROP DATABASE IF EXISTS " + database);
+            for (String statement : schema.replace(APPLICATION_DATABASE, database).split(";")) {
+                statement = statement.trim();
+                if (!statement.isEmpty()) {
+                    stmt.execute(statement);
+                }
+            }
+        }
+    }
+
+    private static void seed(int customers) throws SQLException, IOException {
+        // Every customer shares one hash, so seeding does not pay the login cost per row
+        String passwordHash = AuthService.getInstance().hashPassword(PASSWORD).join();
+        Path csv = Files.createTempFile("crm-bench-customers", ".csv");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+                writer.write("name,email,phone,account_type,initial_deposit,password_hash\n");
+                for (int i = 0; i < customers; i++) {
+                    writer.write("Bench Customer " + i + ",customer" + i + EMAIL_DOMAIN + "," +
+                            String.format("9%09d", i) + "," + (i % 2 == 0 ? "SAVINGS" : "CURRENT") + "," +
+                            INITIAL_DEPOSIT + "," + passwordHash + "\n");
+                }
+            }
+            ImportReport report = new CustomerImporter().importFile(csv, null);
+            LOGGER.info("Seeded benchmark database: " + report);
+            if (report.getImported() != customers) {
+                throw new SQLException("Seeded " + report.getImported() + " of " + customers + " customers");
+            }
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    private static BenchDatabase load() throws SQLException {
+        String query = "SELECT u.id, u.email, a.account_number FROM users u " +
+                "JOIN accounts a ON a.user_id = u.id " +
+                "WHERE u.role = 'CUSTOMER' AND u.email LIKE ? ORDER BY u.id";
+        List<Object[]> rows = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, "%" + EMAIL_DOMAIN);
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new Object[]{rs.getInt(1), rs.getString(2), rs.getString(3)});
+                }
+            }
+        }
+        int[] userIds = new int[rows.size()];
+        String[] emails = new String[rows.size()];
+        String[] accountNumbers = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            userIds[i] = (Integer) row[0];
+            emails[i] = (String) row[1];
+            accountNumbers[i] = (String) row[2];
+        }
+        return new BenchDatabase(userIds, emails, accountNumbers);
+    }
+}
@@ -0,0 +1,71 @@
+package com.bank.crm.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs the benchmarks once per thread count and writes one JMH JSON file per run to
+// results/<label>/threads-<n>.json, so results from different releases can be compared.
+//
+// Usage: java -Dcrm.db.url=jdbc:mysql://localhost:3306/crm_bench?... -jar target/benchmarks.jar
+//            [--threads 1,4,16] [--label 1.0] [JMH options, e.g. -p customers=1000 login]
+public class BenchMain {
+    private static final String[] FORWARDED_PROPERTIES = {
+            "crm.db.url", "crm.db.user", "crm.db.password", "crm.auth.iterations", "crm.auth.threads", "crm.bench.schema"
+    };
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        int[] threadCounts = {1, 4, 16};
+        String label = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        List<String> jmhArgs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--threads".equals(args[i]) && i + 1 < args.length) {
+                threadCounts = Arrays.stream(args[++i].split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+            } else if ("--label".equals(args[i]) && i + 1 < args.length) {
+                label = args[++i];
+            } else {
+                jmhArgs.add(args[i]);
+            }
+        }
+
+        // Forked benchmark JVMs do not inherit system properties
+        List<String> jvmArgs = new ArrayList<>();
+        for (String property : FORWARDED_PROPERTIES) {
+            String value = System.getProperty(property);
+            if (value != null) {
+                jvmArgs.add("-D" + property + "=" + value);
+            }
+        }
+
+        CommandLineOptions commandLine = new CommandLineOptions(jmhArgs.toArray(new String[0]));
+        Path resultDir = Paths.get("results", label);
+        Files.createDirectories(resultDir);
+        for (int threads : threadCounts) {
+            Path result = resultDir.resolve("threads-" + threads + ".json");
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(threads)
+                    .jvmArgsAppend(jvmArgs.toArray(new String[0]))
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(result.toString());
+            if (commandLine.getIncludes().isEmpty()) {
+                options.include(BankingBenchmarks.class.getSimpleName());
+            }
+            new Runner(options.build()).run();
+            System.out.println("Results written to " + result.toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.bank.crm.bench;
+
+import com.bank.crm.auth.AuthService;
+import com.bank.crm.auth.AuthenticatedUser;
+import com.bank.crm.model.Ticket;
+import com.bank.crm.model.User;
+import com.bank.crm.report.DashboardStatistics;
+import com.bank.crm.report.ReportCache;
+import com.bank.crm.report.ReportExecutor;
+import com.bank.crm.report.TopNReport;
+import com.bank.crm.service.AccountService;
+import com.bank.crm.service.TicketService;
+import com.bank.crm.service.TransferService;
+import com.bank.crm.service.UserService;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Capacity planning: N virtual customers, employees and managers, each on its own thread,
+// repeatedly pick an operation from their role's mix, call the same services the dashboards
+// call, then think for an exponentially distributed time. Users start evenly over the ramp-up
+// period; only operations that start after ramp-up count towards the report, so throughput
+// and percentiles describe the steady state.
+//
+// Tickets flow through the roles: customers open them, managers assign them to employees and
+// employees move their own tickets to in progress and then resolved.
+//
+// Usage: java -Dcrm.db.url=... -cp target/benchmarks.jar com.bank.crm.bench.LoadSimulator
+//            [--customers 200] [--employees 20] [--managers 2] [--table-size 10000]
+//            [--duration 300] [--ramp-up 60] [--think-ms 3000]
+public class LoadSimulator {
+    private static final Logger LOGGER = Logger.getLogger(LoadSimulator.class.getName());
+
+    // The seeded manager from schema.sql
+    private static final String MANAGER_EMAIL = "admin@bank.com";
+    private static final String MANAGER_PASSWORD = "admin123";
+    private static final int MAX_THINK_FACTOR = 10;
+    private static final int ASSIGN_BATCH = 5;
+    // Users log in again after this many operations, so logins are part of the steady state
+    private static final int ACTIONS_PER_SESSION = 20;
+
+    private final int customers;
+    private final int employees;
+    private final int managers;
+    private final int tableSize;
+    private final long durationNanos;
+    private final long rampUpNanos;
+    private final long thinkMillis;
+
+    private final Map<String, LatencySamples> samples = new ConcurrentHashMap<>();
+    private final Queue<Integer> openTickets = new ConcurrentLinkedQueue<>();
+    private final Map<Integer, Queue<Integer>> assignedTickets = new ConcurrentHashMap<>();
+    private final TopNReport topNReport = new TopNReport();
+    private final AtomicInteger failedLogins = new AtomicInteger();
+    private BenchDatabase database;
+    private List<User> staff;
+    private long steadyStart;
+    private long end;
+
+    LoadSimulator(int customers, int employees, int managers, int tableSize, long durationSeconds,
+                  long rampUpSeconds, long thinkMillis) {
+        if (customers > tableSize) {
+            throw new IllegalArgumentException("More virtual customers (" + customers +
+                    ") than seeded customers (" + tableSize + ")");
+        }
+        if (customers < 2 && customers != 0) {
+            throw new IllegalArgumentException("Transfers need at least two customers");
+        }
+        this.customers = customers;
+        this.employees = employees;
+        this.managers = managers;
+        this.tableSize = tableSize;
+        this.durationNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+        this.rampUpNanos = TimeUnit.SECONDS.toNanos(rampUpSeconds);
+        this.thinkMillis = thinkMillis;
+    }
+
+    public static void main(String[] args) throws SQLException, IOException, InterruptedException {
+        Map<String, Long> options = new LinkedHashMap<>();
+        options.put("--customers", 200L);
+        options.put("--employees", 20L);
+        options.put("--managers", 2L);
+        options.put("--table-size", 10_000L);
+        options.put("--duration", 300L);
+        options.put("--ramp-up", 60L);
+        options.put("--think-ms", 3000L);
+        for (int i = 0; i < args.length; i += 2) {
+            if (!options.containsKey(args[i]) || i + 1 >= args.length) {
+                System.err.println("Unknown or incomplete option " + args[i] + "; options are " + options.keySet());
+                System.exit(2);
+            }
+            options.put(args[i], Long.parseLong(args[i + 1]));
+        }
+
+        LoadSimulator simulator = new LoadSimulator(options.get("--customers").intValue(),
+                options.get("--employees").intValue(), options.get("--managers").intValue(),
+                options.get("--table-size").intValue(), options.get("--duration"), options.get("--ramp-up"),
+                options.get("--think-ms"));
+        simulator.prepare();
+        simulator.run();
+        simulator.printReport(System.out::println);
+    }
+
+    void prepare() throws SQLException, IOException {
+        database = BenchDatabase.prepare(tableSize);
+        staff = BenchDatabase.prepareEmployees(employees);
+        for (User employee : staff) {
+            assignedTickets.put(employee.getId(), new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    void run() throws InterruptedException {
+        List<VirtualUser> users = new ArrayList<>();
+        for (int i = 0; i < customers; i++) {
+            // Spread over the seeded table so virtual customers do not share accounts
+            users.add(customer((int) ((long) i * tableSize / customers)));
+        }
+        for (User employee : staff) {
+            users.add(employee(employee));
+        }
+        for (int i = 0; i < managers; i++) {
+            users.add(manager());
+        }
+
+        long start = System.nanoTime();
+        steadyStart = start + rampUpNanos;
+        end = steadyStart + durationNanos;
+        System.out.printf("Starting %d customers, %d employees and %d managers over %d s, measuring for %d s%n",
+                customers, staff.size(), managers, TimeUnit.NANOSECONDS.toSeconds(rampUpNanos),
+                TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            VirtualUser user = users.get(i);
+            user.startAt = start + (users.size() > 1 ? rampUpNanos * i / (users.size() - 1) : 0);
+            Thread thread = new Thread(user, "virtual-" + user.role.toLowerCase() + "-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime()) + TimeUnit.MINUTES.toMillis(1));
+        }
+    }
+
+    void printReport(Consumer<String> out) {
+        double seconds = durationNanos / 1e9;
+        out.accept(String.format("%-26s %9s %7s %9s %9s %9s %9s %9s",
+                "Operation", "Count", "Errors", "ops/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        int total = 0;
+        int totalErrors = 0;
+        for (Map.Entry<String, LatencySamples> entry : new TreeMap<>(samples).entrySet()) {
+            LatencySamples operation = entry.getValue();
+            double[] p = operation.percentilesMillis(50, 99, 99.9, 100);
+            out.accept(String.format("%-26s %,9d %,7d %9.1f %9.1f %9.1f %9.1f %9.1f", entry.getKey(),
+                    operation.getCount(), operation.getErrors(), operation.getCount() / seconds, p[0], p[1], p[2], p[3]));
+            total += operation.getCount();
+            totalErrors += operation.getErrors();
+        }
+        out.accept(String.format("%-26s %,9d %,7d %9.1f", "Total", total, totalErrors, total / seconds));
+        if (failedLogins.get() > 0) {
+            out.accept(failedLogins.get() + " virtual users could not log in and did not run");
+        }
+    }
+
+    private VirtualUser customer(int index) {
+        int userId = database.userId(index);
+        VirtualUser user = new VirtualUser("CUSTOMER", database.email(index), BenchDatabase.PASSWORD);
+        user.add("customer.deposit", 25, () -> {
+            AccountService.getInstance().deposit(userId, 50.00, "Simulated deposit");
+            return true;
+        });
+        user.add("customer.transfer", 20, () -> {
+            int recipient = (index + 1 + ThreadLocalRandom.current().nextInt(tableSize - 1)) % tableSize;
+            TransferService.getInstance().transfer(userId, database.accountNumber(recipient), 10.00,
+                    "Simulated transfer");
+            return true;
+        });
+        user.add("customer.viewTransactions", 30, () -> {
+            AccountService.getInstance().getTransactions(userId);
+            return true;
+        });
+        user.add("customer.createTicket", 10, () -> {
+            Ticket ticket = TicketService.getInstance().createTicket(userId, "Simulated ticket",
+                    "Opened by the load simulator", "MEDIUM");
+            openTickets.add(ticket.getId());
+            return true;
+        });
+        user.add("customer.viewTickets", 15, () -> {
+            TicketService.getInstance().getCustomerTickets(userId);
+            return true;
+        });
+        return user;
+    }
+
+    private VirtualUser employee(User employee) {
+        Queue<Integer> mine = assignedTickets.get(employee.getId());
+        Queue<Integer> inProgress = new ConcurrentLinkedQueue<>();
+        VirtualUser user = new VirtualUser("EMPLOYEE", employee.getEmail(), BenchDatabase.PASSWORD);
+        user.add("employee.viewAssigned", 45, () -> {
+            TicketService.getInstance().getAssignedTickets(employee.getId());
+            return true;
+        });
+        user.add("employee.updateTicket", 40, () -> {
+            Integer ticketId = inProgress.poll();
+            String status = "RESOLVED";
+            if (ticketId == null) {
+                ticketId = mine.poll();
+                status = "IN_PROGRESS";
+            }
+            if (ticketId == null) {
+                return false;
+            }
+            TicketService.getInstance().updateAssignedTicketStatus(ticketId, employee.getId(), status);
+            if ("IN_PROGRESS".equals(status)) {
+                inProgress.add(ticketId);
+            }
+            return true;
+        });
+        user.add("employee.viewCustomers", 15, () -> {
+            UserService.getInstance().getCustomers();
+            return true;
+        });
+        return user;
+    }
+
+    private VirtualUser manager() {
+        VirtualUser user = new VirtualUser("MANAGER", MANAGER_EMAIL, MANAGER_PASSWORD);
+        // Reports go through the cache and report executor, as the dashboard's do
+        user.add("manager.customerStatistics", 25, () -> {
+            ReportExecutor.getInstance().submit(() -> ReportCache.getInstance()
+                    .get(ReportCache.CUSTOMER_STATISTICS, DashboardStatistics::loadCustomerStatistics)).join();
+            return true;
+        });
+        user.add("manager.ticketStatistics", 25, () -> {
+            ReportExecutor.getInstance().submit(() -> ReportCache.getInstance()
+                    .get(ReportCache.TICKET_STATISTICS, DashboardStatistics::loadTicketStatistics)).join();
+            return true;
+        });
+        user.add("manager.topCustomers", 20, () -> {
+            ReportCache.getInstance().get(ReportCache.TOP_CUSTOMERS, "10|balance", () -> topNReport.topByBalance(10));
+            return true;
+        });
+        user.add("manager.assignTickets", 30, () -> {
+            if (staff.isEmpty()) {
+                return false;
+            }
+            List<Integer> batch = new ArrayList<>();
+            Integer ticketId;
+            while (batch.size() < ASSIGN_BATCH && (ticketId = openTickets.poll()) != null) {
+                batch.add(ticketId);
+            }
+            if (batch.isEmpty()) {
+                return false;
+            }
+            User employee = staff.get(ThreadLocalRandom.current().nextInt(staff.size()));
+            TicketService.getInstance().assign(batch.stream().mapToInt(Integer::intValue).toArray(),
+                    employee.getId(), null);
+            assignedTickets.get(employee.getId()).addAll(batch);
+            return true;
+        });
+        return user;
+    }
+
+    private void time(String operation, long startNanos, boolean ok) {
+        if (startNanos < steadyStart || startNanos >= end) {
+            return;
+        }
+        LatencySamples operationSamples = samples.computeIfAbsent(operation, name -> new LatencySamples());
+        if (ok) {
+            operationSamples.record(System.nanoTime() - startNanos);
+        } else {
+            operationSamples.recordError();
+        }
+    }
+
+    private interface Action {
+        // Returns false when there was nothing to do, e.g. no ticket waiting to be assigned
+        boolean run() throws Exception;
+    }
+
+    private final class VirtualUser implements Runnable {
+        final String role;
+        final String email;
+        final String password;
+        final List<String> names = new ArrayList<>();
+        final List<Action> actions = new ArrayList<>();
+        final List<Integer> cumulativeWeights = new ArrayList<>();
+        long startAt;
+
+        VirtualUser(String role, String email, String password) {
+            this.role = role;
+            this.email = email;
+            this.password = password;
+        }
+
+        void add(String name, int weight, Action action) {
+            int previous = cumulativeWeights.isEmpty() ? 0 : cumulativeWeights.get(cumulativeWeights.size() - 1);
+            names.add(name);
+            actions.add(action);
+            cumulativeWeights.add(previous + weight);
+        }
+
+        @Override
+        public void run() {
+            try {
+                sleepUntil(startAt);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int totalWeight = cumulativeWeights.get(cumulativeWeights.size() - 1);
+                boolean loggedInOnce = false;
+                for (int actionCount = 0; System.nanoTime() < end; actionCount++) {
+                    if (actionCount % ACTIONS_PER_SESSION == 0) {
+                        if (!login()) {
+                            if (!loggedInOnce) {
+                                failedLogins.incrementAndGet();
+                                return;
+                            }
+                            // Retry the login after thinking, as a user would
+                            actionCount = -1;
+                            think(random);
+                            continue;
+                        }
+                        loggedInOnce = true;
+                    }
+                    int pick = random.nextInt(totalWeight);
+                    int i = 0;
+                    while (cumulativeWeights.get(i) <= pick) {
+                        i++;
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        if (actions.get(i).run()) {
+                            time(names.get(i), start, true);
+                        }
+                    } catch (Exception e) {
+                        LOGGER.log(Level.FINE, names.get(i) + " failed for " + email, e);
+                        time(names.get(i), start, false);
+                    }
+                    think(random);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private boolean login() {
+            long start = System.nanoTime();
+            try {
+                AuthenticatedUser user = AuthService.getInstance().authenticate(email, password, "simulator").join();
+                time(role.toLowerCase() + ".login", start, user != null);
+                return user != null;
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Login failed for " + email, e);
+                time(role.toLowerCase() + ".login", start, false);
+                return false;
+            }
+        }
+
+        private void think(ThreadLocalRandom random) throws InterruptedException {
+            if (thinkMillis <= 0) {
+                return;
+            }
+            double think = Math.min(-thinkMillis * Math.log(1 - random.nextDouble()), thinkMillis * MAX_THINK_FACTOR);
+            sleepUntil(Math.min(end, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos((long) think)));
+        }
+
+        private void sleepUntil(long deadline) throws InterruptedException {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            }
+        }
+    }
+}
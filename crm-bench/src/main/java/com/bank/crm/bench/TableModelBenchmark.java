@@ -0,0 +1,114 @@
+package com.bank.crm.bench;
+
+import com.bank.crm.dashboard.BulkTableModel;
+import javax.swing.*;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.DefaultTableModel;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Compares per-row addRow against BulkTableModel for a refresh of a large ticket table.
+// Each model backs a JTable in a laid-out scroll pane, and the timing includes painting the
+// visible rows once after the update, so the JTable's event handling and rendering count.
+// Runs headless: the table is painted into an image rather than a window.
+//
+// Usage: java -Djava.awt.headless=true -cp target/benchmarks.jar com.bank.crm.bench.TableModelBenchmark [rows]
+public class TableModelBenchmark {
+    private static final String[] COLUMNS = {"ID", "Customer", "Subject", "Priority", "Status", "Assigned To", "Created At"};
+    private static final int ROWS = 100_000;
+    private static final int ITERATIONS = 5;
+    private static final int VIEW_WIDTH = 1200;
+    private static final int VIEW_HEIGHT = 800;
+
+    public static void main(String[] args) throws InterruptedException, InvocationTargetException {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : ROWS;
+        List<Object[]> initial = generateRows(rowCount, 0);
+        // A typical refresh: a few new tickets on top and one percent of statuses changed
+        List<Object[]> refreshed = generateRows(rowCount, rowCount / 100);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            SwingUtilities.invokeAndWait(() -> {
+                DefaultTableModel perRow = new DefaultTableModel(COLUMNS, 0);
+                JScrollPane perRowView = attach(perRow);
+                AtomicInteger perRowEvents = countEvents(perRow);
+                long perRowNanos = time(perRowView, () -> {
+                    perRow.setRowCount(0);
+                    for (Object[] row : refreshed) {
+                        perRow.addRow(row);
+                    }
+                });
+
+                BulkTableModel replaced = new BulkTableModel(COLUMNS);
+                replaced.replaceRows(initial);
+                JScrollPane replacedView = attach(replaced);
+                AtomicInteger replaceEvents = countEvents(replaced);
+                long replaceNanos = time(replacedView, () -> replaced.replaceRows(refreshed));
+
+                BulkTableModel diffed = new BulkTableModel(COLUMNS);
+                diffed.replaceRows(initial);
+                JScrollPane diffedView = attach(diffed);
+                AtomicInteger diffEvents = countEvents(diffed);
+                long diffNanos = time(diffedView, () -> diffed.applyDiff(refreshed, 0));
+
+                System.out.printf("%,d rows: addRow %d ms (%,d events), replaceRows %d ms (%,d events), " +
+                                "applyDiff %d ms (%,d events)%n", rowCount,
+                        perRowNanos / 1_000_000, perRowEvents.get(),
+                        replaceNanos / 1_000_000, replaceEvents.get(),
+                        diffNanos / 1_000_000, diffEvents.get());
+            });
+        }
+    }
+
+    private static List<Object[]> generateRows(int count, int newTickets) {
+        List<Object[]> rows = new ArrayList<>(count + newTickets);
+        Timestamp createdAt = Timestamp.valueOf("2024-01-01 09:00:00");
+        for (int id = count + newTickets; id > 0; id--) {
+            boolean changed = newTickets > 0 && id % 100 == 0;
+            rows.add(new Object[]{
+                id, "Customer " + (id % 5000), "Subject " + id, "MEDIUM",
+                changed ? "RESOLVED" : "OPEN", null, createdAt
+            });
+        }
+        return rows;
+    }
+
+    // The same table and scroll pane the dashboards use, sized and laid out as if on screen
+    private static JScrollPane attach(DefaultTableModel model) {
+        JScrollPane scrollPane = new JScrollPane(new JTable(model));
+        scrollPane.setSize(VIEW_WIDTH, VIEW_HEIGHT);
+        scrollPane.validate();
+        paint(scrollPane);
+        return scrollPane;
+    }
+
+    private static AtomicInteger countEvents(DefaultTableModel model) {
+        AtomicInteger events = new AtomicInteger();
+        TableModelListener listener = e -> events.incrementAndGet();
+        model.addTableModelListener(listener);
+        return events;
+    }
+
+    private static long time(JScrollPane view, Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        // What the repaint the update scheduled would do on screen
+        view.validate();
+        paint(view);
+        return System.nanoTime() - start;
+    }
+
+    private static void paint(JScrollPane view) {
+        BufferedImage image = new BufferedImage(VIEW_WIDTH, VIEW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            view.paint(graphics);
+        } finally {
+            graphics.dispose();
+        }
+    }
+}
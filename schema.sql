@@ -11,7 +11,9 @@ CREATE TABLE IF NOT EXISTS users (
     password VARCHAR(100) NOT NULL,
     role ENUM('CUSTOMER', 'EMPLOYEE', 'MANAGER') NOT NULL,
     status ENUM('ACTIVE', 'INACTIVE') DEFAULT 'ACTIVE',
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_users_role_updated (role, updated_at)
 );
 
 -- Create accounts table
@@ -60,10 +62,83 @@ CREATE TABLE IF NOT EXISTS notifications (
     message TEXT NOT NULL,
     is_read BOOLEAN DEFAULT FALSE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id),
+    INDEX idx_notifications_user_unread (user_id, is_read, id)
+);
+
+-- Create broadcasts table (one row per announcement, read state kept as a compressed bitmap of user ids)
+CREATE TABLE IF NOT EXISTS broadcasts (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    audience ENUM('CUSTOMER', 'EMPLOYEE', 'ALL') DEFAULT 'CUSTOMER',
+    message TEXT NOT NULL,
+    read_bitmap LONGBLOB,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create transaction rollups table (hourly, daily and monthly volume per transaction type)
+CREATE TABLE IF NOT EXISTS transaction_rollups (
+    granularity ENUM('HOUR', 'DAY', 'MONTH') NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    type ENUM('CREDIT', 'DEBIT', 'TRANSFER_IN', 'TRANSFER_OUT') NOT NULL,
+    txn_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(20,2) NOT NULL DEFAULT 0.00,
+    PRIMARY KEY (granularity, bucket_start, type)
+);
+
+-- Create rollup watermark table (last transaction id folded into the rollups)
+CREATE TABLE IF NOT EXISTS rollup_watermarks (
+    name VARCHAR(50) PRIMARY KEY,
+    last_id INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- Create rollup gaps table (ids below the watermark whose transactions had not committed when it passed them)
+CREATE TABLE IF NOT EXISTS rollup_gaps (
+    name VARCHAR(50) NOT NULL,
+    txn_id INT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (name, txn_id)
+);
+
+-- Create activation tokens table (one-time codes for customers imported without a password, stored as SHA-256)
+CREATE TABLE IF NOT EXISTS activation_tokens (
+    user_id INT PRIMARY KEY,
+    token_hash CHAR(64) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
     FOREIGN KEY (user_id) REFERENCES users(id)
 );
 
--- Insert default manager account
+-- Create login throttle table (failure counters and lockouts, persisted so restarts keep them)
+CREATE TABLE IF NOT EXISTS login_throttle (
+    throttle_key VARCHAR(150) PRIMARY KEY,
+    failures INT NOT NULL DEFAULT 0,
+    last_failure_at TIMESTAMP NULL,
+    locked_until TIMESTAMP NULL,
+    strikes INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- Create sequences table (blocks of account numbers handed out to bulk imports)
+CREATE TABLE IF NOT EXISTS sequences (
+    name VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+INSERT INTO sequences (name, next_value)
+VALUES ('account_number', 10000000)
+ON DUPLICATE KEY UPDATE name = name;
+
+-- Create change log table (cache invalidations tailed by every running instance, pruned after an hour)
+CREATE TABLE IF NOT EXISTS change_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    topic VARCHAR(32) NOT NULL,
+    change_key VARCHAR(64) NOT NULL,
+    origin CHAR(12) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_change_log_created (created_at)
+);
+
+-- Insert default manager account (plaintext seed, replaced by a salted hash on first login)
 INSERT INTO users (name, email, phone, password, role) 
 VALUES ('Admin Manager', 'admin@bank.com', '1234567890', 'admin123', 'MANAGER')
 ON DUPLICATE KEY UPDATE id=id; 
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.bank.crm.auth;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class LoginThrottleTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long SECOND = TimeUnit.SECONDS.toMillis(1);
+    // Far from any bucket boundary so the arithmetic below stays exact
+    private static final long START = TimeUnit.DAYS.toMillis(20000);
+
+    private final LoginThrottle throttle = new LoginThrottle();
+
+    @Test
+    public void locksEmailOnFifthFailureInWindow() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("alice@bank.com", "host-a", START + i * SECOND);
+        }
+        assertEquals(0, throttle.retryAfter("alice@bank.com", "host-a", START + 4 * SECOND));
+
+        throttle.recordFailure("alice@bank.com", "host-a", START + 4 * SECOND);
+        assertEquals(30 * SECOND, throttle.retryAfter("alice@bank.com", "host-a", START + 4 * SECOND));
+        assertEquals(20 * SECOND, throttle.retryAfter("alice@bank.com", "host-a", START + 14 * SECOND));
+        assertEquals(0, throttle.retryAfter("alice@bank.com", "host-a", START + 34 * SECOND));
+    }
+
+    @Test
+    public void emailKeyIgnoresCaseAndWhitespace() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure(i % 2 == 0 ? " Alice@Bank.com" : "alice@bank.com", "host-a", START);
+        }
+        assertEquals(30 * SECOND, throttle.retryAfter("ALICE@BANK.COM ", "host-b", START));
+    }
+
+    @Test
+    public void failuresSlideOutOfTheWindow() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("bob@bank.com", "host-a", START);
+        }
+        // Fifteen minutes later the first four have left the window
+        throttle.recordFailure("bob@bank.com", "host-a", START + 15 * MINUTE);
+        assertEquals(0, throttle.retryAfter("bob@bank.com", "host-a", START + 15 * MINUTE));
+
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("bob@bank.com", "host-a", START + 16 * MINUTE);
+        }
+        assertEquals(30 * SECOND, throttle.retryAfter("bob@bank.com", "host-a", START + 16 * MINUTE));
+    }
+
+    @Test
+    public void lockoutDoublesOnEveryStrike() {
+        long now = START;
+        long expected = 30 * SECOND;
+        for (int strike = 1; strike <= 4; strike++) {
+            // Each failure after the lock lifts crosses the threshold again
+            throttle.recordFailure("carol@bank.com", "host-" + strike, now);
+            while (throttle.retryAfter("carol@bank.com", "host-" + strike, now) == 0) {
+                throttle.recordFailure("carol@bank.com", "host-" + strike, now);
+            }
+            assertEquals("strike " + strike, expected, throttle.retryAfter("carol@bank.com", "host-" + strike, now));
+            now += expected;
+            expected *= 2;
+        }
+    }
+
+    @Test
+    public void lockoutIsCappedAtOneHour() {
+        long now = START;
+        for (int strike = 1; strike <= 12; strike++) {
+            throttle.recordFailure("dave@bank.com", "host-" + strike, now);
+            while (throttle.retryAfter("dave@bank.com", "host-" + strike, now) == 0) {
+                throttle.recordFailure("dave@bank.com", "host-" + strike, now);
+            }
+            long lockout = throttle.retryAfter("dave@bank.com", "host-" + strike, now);
+            if (strike >= 8) {
+                assertEquals("strike " + strike, TimeUnit.HOURS.toMillis(1), lockout);
+            }
+            now += lockout;
+        }
+    }
+
+    @Test
+    public void failuresWhileLockedDoNotExtendTheLock() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("erin@bank.com", "host-a", START);
+        }
+        throttle.recordFailure("erin@bank.com", "host-a", START + 10 * SECOND);
+        assertEquals(20 * SECOND, throttle.retryAfter("erin@bank.com", "host-a", START + 10 * SECOND));
+    }
+
+    @Test
+    public void strikesResetAfterAQuietDay() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("frank@bank.com", "host-a", START);
+        }
+        long later = START + TimeUnit.DAYS.toMillis(1) + MINUTE;
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("frank@bank.com", "host-b", later);
+        }
+        assertEquals(30 * SECOND, throttle.retryAfter("frank@bank.com", "host-b", later));
+    }
+
+    @Test
+    public void successClearsEmailButNotSource() {
+        for (int i = 0; i < 20; i++) {
+            throttle.recordFailure("user" + (i % 4) + "@bank.com", "host-a", START);
+        }
+        assertEquals(30 * SECOND, throttle.retryAfter("other@bank.com", "host-a", START));
+
+        throttle.recordSuccess("user0@bank.com");
+        assertEquals(0, throttle.retryAfter("user0@bank.com", "host-b", START));
+        assertEquals(30 * SECOND, throttle.retryAfter("user0@bank.com", "host-a", START));
+    }
+}
@@ -0,0 +1,84 @@
+package com.bank.crm.auth;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PasswordHasherTest {
+
+    private final PasswordHasher hasher = new PasswordHasher(1000);
+
+    @Test
+    public void hashHasAlgorithmIterationsSaltAndHash() {
+        String stored = hasher.hash("s3cret");
+        String[] parts = stored.split("\\$");
+        assertEquals(4, parts.length);
+        assertEquals(PasswordHasher.ALGORITHM, parts[0]);
+        assertEquals("1000", parts[1]);
+        assertTrue(PasswordHasher.isHash(stored));
+    }
+
+    @Test
+    public void samePasswordGetsDifferentSalts() {
+        assertNotEquals(hasher.hash("s3cret"), hasher.hash("s3cret"));
+    }
+
+    @Test
+    public void verifiesOnlyTheRightPassword() {
+        String stored = hasher.hash("s3cret");
+        assertTrue(hasher.verify("s3cret", stored));
+        assertFalse(hasher.verify("s3cret ", stored));
+        assertFalse(hasher.verify("", stored));
+    }
+
+    @Test
+    public void verifiesHashesMadeWithAnotherCost() {
+        String stored = new PasswordHasher(10).hash("s3cret");
+        assertTrue(hasher.verify("s3cret", stored));
+    }
+
+    @Test
+    public void verifiesLegacyPlaintextRows() {
+        assertTrue(hasher.verify("password123", "password123"));
+        assertFalse(hasher.verify("password124", "password123"));
+    }
+
+    @Test
+    public void disabledMarkerNeverVerifies() {
+        assertFalse(hasher.verify(PasswordHasher.DISABLED, PasswordHasher.DISABLED));
+        assertFalse(hasher.verify("", PasswordHasher.DISABLED));
+        assertFalse(hasher.verify("x", PasswordHasher.DISABLED + "x"));
+        assertFalse(hasher.verify("x", null));
+    }
+
+    @Test
+    public void malformedHashDoesNotVerify() {
+        assertFalse(hasher.verify("s3cret", PasswordHasher.ALGORITHM + "$abc$AAAA$AAAA"));
+        assertFalse(hasher.verify("s3cret", PasswordHasher.ALGORITHM + "$1000$not base64!$AAAA"));
+        assertFalse(PasswordHasher.isHash(PasswordHasher.ALGORITHM + "$abc$AAAA$AAAA"));
+        assertFalse(PasswordHasher.isHash("password123"));
+    }
+
+    @Test
+    public void rehashesPlaintextAndCheaperHashesOnly() {
+        assertTrue(hasher.needsRehash("password123"));
+        assertTrue(hasher.needsRehash(new PasswordHasher(999).hash("s3cret")));
+        assertTrue(hasher.needsRehash(PasswordHasher.ALGORITHM + "$abc$AAAA$AAAA"));
+        assertFalse(hasher.needsRehash(hasher.hash("s3cret")));
+        assertFalse(hasher.needsRehash(new PasswordHasher(2000).hash("s3cret")));
+    }
+
+    @Test
+    public void disabledMarkerIsNeverRehashed() {
+        assertFalse(hasher.needsRehash(PasswordHasher.DISABLED));
+        assertFalse(hasher.needsRehash(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveIterations() {
+        new PasswordHasher(0);
+    }
+}
@@ -0,0 +1,156 @@
+package com.bank.crm.dashboard;
+
+import org.junit.Test;
+
+import javax.swing.*;
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class BulkTableModelTest {
+
+    @Test
+    public void unchangedRefreshFiresNothing() throws Exception {
+        BulkTableModel model = newModel();
+        onEdt(() -> model.replaceRows(rows(1, "a", 2, "b", 3, "c")));
+        List<String> events = record(model);
+
+        onEdt(() -> model.applyDiff(rows(1, "a", 2, "b", 3, "c"), 0));
+        assertEquals(List.of(), events);
+    }
+
+    @Test
+    public void firesOneEventPerContiguousChange() throws Exception {
+        BulkTableModel model = newModel();
+        onEdt(() -> model.replaceRows(rows(1, "a", 2, "b", 3, "c", 4, "d", 5, "e")));
+        List<String> events = record(model);
+
+        onEdt(() -> model.applyDiff(rows(1, "a", 3, "C", 4, "D", 6, "f", 7, "g", 5, "e"), 0));
+        assertEquals(List.of("delete 1-1", "update 1-2", "insert 3-4"), events);
+        assertEquals(contents(rows(1, "a", 3, "C", 4, "D", 6, "f", 7, "g", 5, "e")), contents(model));
+    }
+
+    @Test
+    public void reorderedRowsAreReplaced() throws Exception {
+        BulkTableModel model = newModel();
+        onEdt(() -> model.replaceRows(rows(1, "a", 2, "b")));
+        List<String> events = record(model);
+
+        onEdt(() -> model.applyDiff(rows(2, "b", 1, "a"), 0));
+        assertEquals(List.of("changed"), events);
+        assertEquals(contents(rows(2, "b", 1, "a")), contents(model));
+    }
+
+    @Test
+    public void duplicateKeysAreReplaced() throws Exception {
+        BulkTableModel model = newModel();
+        onEdt(() -> model.replaceRows(rows(1, "a")));
+        List<String> events = record(model);
+
+        onEdt(() -> model.applyDiff(rows(1, "a", 1, "b"), 0));
+        assertEquals(List.of("changed"), events);
+        assertEquals(contents(rows(1, "a", 1, "b")), contents(model));
+    }
+
+    @Test
+    public void eventsReplayToTheFinalRows() throws Exception {
+        Random random = new Random(35);
+        BulkTableModel model = newModel();
+        List<List<Object>> mirror = new ArrayList<>();
+        // Rebuilds the view's copy from the events alone, as a JTable would
+        model.addTableModelListener(e -> {
+            int first = e.getFirstRow();
+            int last = e.getLastRow();
+            if (e.getType() == TableModelEvent.DELETE) {
+                mirror.subList(first, last + 1).clear();
+            } else if (e.getType() == TableModelEvent.INSERT) {
+                for (int row = first; row <= last; row++) {
+                    mirror.add(row, rowAt(model, row));
+                }
+            } else if (first == TableModelEvent.HEADER_ROW || last == Integer.MAX_VALUE) {
+                mirror.clear();
+                for (int row = 0; row < model.getRowCount(); row++) {
+                    mirror.add(rowAt(model, row));
+                }
+            } else {
+                for (int row = first; row <= last; row++) {
+                    mirror.set(row, rowAt(model, row));
+                }
+            }
+        });
+
+        for (int round = 0; round < 500; round++) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int key = 0; key < 30; key++) {
+                if (random.nextInt(3) > 0) {
+                    rows.add(new Object[]{key, "v" + random.nextInt(2)});
+                }
+            }
+            if (random.nextInt(10) == 0) {
+                Collections.shuffle(rows, random);
+            }
+            onEdt(() -> model.applyDiff(rows, 0));
+
+            List<List<Object>> expected = contents(rows);
+            assertEquals(expected, contents(model));
+            assertEquals(expected, mirror);
+        }
+    }
+
+    private static BulkTableModel newModel() {
+        return new BulkTableModel(new Object[]{"ID", "Value"});
+    }
+
+    private static List<String> record(BulkTableModel model) {
+        List<String> events = new ArrayList<>();
+        model.addTableModelListener(e -> {
+            if (e.getType() == TableModelEvent.DELETE) {
+                events.add("delete " + e.getFirstRow() + "-" + e.getLastRow());
+            } else if (e.getType() == TableModelEvent.INSERT) {
+                events.add("insert " + e.getFirstRow() + "-" + e.getLastRow());
+            } else if (e.getLastRow() == Integer.MAX_VALUE) {
+                events.add("changed");
+            } else {
+                events.add("update " + e.getFirstRow() + "-" + e.getLastRow());
+            }
+        });
+        return events;
+    }
+
+    private static List<Object[]> rows(Object... values) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < values.length; i += 2) {
+            rows.add(new Object[]{values[i], values[i + 1]});
+        }
+        return rows;
+    }
+
+    private static List<List<Object>> contents(List<Object[]> rows) {
+        List<List<Object>> contents = new ArrayList<>();
+        for (Object[] row : rows) {
+            contents.add(Arrays.asList(row));
+        }
+        return contents;
+    }
+
+    private static List<List<Object>> contents(BulkTableModel model) {
+        List<List<Object>> contents = new ArrayList<>();
+        for (int row = 0; row < model.getRowCount(); row++) {
+            contents.add(rowAt(model, row));
+        }
+        return contents;
+    }
+
+    private static List<Object> rowAt(BulkTableModel model, int row) {
+        return Arrays.asList(model.getValueAt(row, 0), model.getValueAt(row, 1));
+    }
+
+    private static void onEdt(Runnable task) throws Exception {
+        SwingUtilities.invokeAndWait(task);
+    }
+}
@@ -0,0 +1,113 @@
+package com.bank.crm.database;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+
+// Runs the real change-log thread against FakeChangeLogDriver. ChangeLog is a singleton that
+// starts once, so each test uses its own topics.
+public class ChangeLogTest {
+    private static final String REMOTE = "remote-test";
+    private static final long TIMEOUT_MS = 5000;
+
+    private static FakeChangeLogDriver driver;
+
+    @BeforeClass
+    public static void startChangeLog() throws Exception {
+        driver = FakeChangeLogDriver.install();
+        ChangeLog.getInstance().start();
+    }
+
+    @After
+    public void bringDatabaseBack() {
+        driver.setDown(false);
+    }
+
+    @Test
+    public void deliversOtherInstancesEventsButNotItsOwn() throws Exception {
+        List<String> received = subscribe("delivery");
+
+        ChangeLog.getInstance().publish("delivery", "mine");
+        await("own event written", () -> driver.rows("delivery").size() == 1);
+        String origin = driver.rows("delivery").get(0).origin;
+        assertNotEquals(REMOTE, origin);
+
+        driver.append("delivery", "theirs", REMOTE);
+        await("remote event delivered", () -> received.contains("theirs"));
+        assertEquals(List.of("theirs"), received);
+    }
+
+    @Test
+    public void deliversEventCommittedAfterAHigherId() throws Exception {
+        List<String> received = subscribe("late");
+
+        long late = driver.reserveId();
+        driver.append("late", "second", REMOTE);
+        await("higher id delivered", () -> received.contains("second"));
+
+        // The tail has moved past the reserved id; the gap check still finds it
+        driver.insert(late, "late", "first", REMOTE);
+        await("late commit delivered", () -> received.contains("first"));
+        assertEquals(List.of("second", "first"), received);
+    }
+
+    @Test
+    public void keepsEventsPublishedDuringAnOutage() throws Exception {
+        driver.setDown(true);
+        ChangeLog.getInstance().publish("outage", "kept");
+        Thread.sleep(600);
+        assertEquals(0, driver.rows("outage").size());
+
+        driver.setDown(false);
+        await("event written after recovery", () -> driver.rows("outage").size() == 1);
+        assertEquals("kept", driver.rows("outage").get(0).key);
+    }
+
+    @Test
+    public void collapsesTooManyKeysIntoAll() throws Exception {
+        // Held back so every key is pending at once
+        driver.setDown(true);
+        for (int i = 0; i < 1500; i++) {
+            ChangeLog.getInstance().publish("overflow", "key-" + i);
+        }
+        driver.setDown(false);
+
+        await("collapsed event written", () -> !driver.rows("overflow").isEmpty());
+        Thread.sleep(600);
+        List<FakeChangeLogDriver.Row> rows = driver.rows("overflow");
+        assertEquals(1, rows.size());
+        assertEquals(ChangeLog.ALL, rows.get(0).key);
+    }
+
+    @Test
+    public void replacesOverlongKeysWithAll() throws Exception {
+        ChangeLog.getInstance().publish("long-key", "x".repeat(100));
+        await("event written", () -> driver.rows("long-key").size() == 1);
+        assertEquals(ChangeLog.ALL, driver.rows("long-key").get(0).key);
+    }
+
+    private static List<String> subscribe(String topic) {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        ChangeLog.getInstance().subscribe(topic, received::add);
+        return received;
+    }
+
+    private static void await(String what, BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting for " + what);
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.bank.crm.database;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// In-memory change_log table behind a JDBC driver for jdbc:fake-change-log: URLs. It only
+// understands the statements ChangeLog issues. Ids can be reserved and inserted later, to
+// play a transaction that commits after one with a higher id.
+final class FakeChangeLogDriver implements Driver {
+    static final String URL = "jdbc:fake-change-log:test";
+    private static final Pattern LIMIT = Pattern.compile("LIMIT (\\d+)");
+
+    private static FakeChangeLogDriver instance;
+
+    private final List<Row> rows = new ArrayList<>();
+    private long nextId = 1;
+    private volatile boolean down;
+
+    // Must run before DatabaseConnection is loaded, which reads crm.db.url once
+    static synchronized FakeChangeLogDriver install() throws SQLException {
+        if (instance == null) {
+            instance = new FakeChangeLogDriver();
+            DriverManager.registerDriver(instance);
+            System.setProperty("crm.db.url", URL);
+        }
+        return instance;
+    }
+
+    // While down, connecting and every statement fail as in a lost connection
+    void setDown(boolean down) {
+        this.down = down;
+    }
+
+    synchronized long reserveId() {
+        return nextId++;
+    }
+
+    synchronized void insert(long id, String topic, String key, String origin) {
+        rows.add(new Row(id, topic, key, origin));
+    }
+
+    long append(String topic, String key, String origin) {
+        long id = reserveId();
+        insert(id, topic, key, origin);
+        return id;
+    }
+
+    synchronized List<Row> rows(String topic) {
+        List<Row> matching = new ArrayList<>();
+        for (Row row : rows) {
+            if (row.topic.equals(topic)) {
+                matching.add(row);
+            }
+        }
+        return matching;
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url)) {
+            return null;
+        }
+        checkUp();
+        return proxy(Connection.class, (method, args) -> {
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return statement(PreparedStatement.class, (String) args[0]);
+                case "createStatement":
+                    return statement(Statement.class, null);
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private <T extends Statement> T statement(Class<T> type, String prepared) {
+        Map<Integer, Object> parameters = new HashMap<>();
+        List<Map<Integer, Object>> batch = new ArrayList<>();
+        return proxy(type, (method, args) -> {
+            switch (method.getName()) {
+                case "setString":
+                case "setLong":
+                case "setInt":
+                    parameters.put((Integer) args[0], args[1]);
+                    return null;
+                case "addBatch":
+                    batch.add(new HashMap<>(parameters));
+                    return null;
+                case "executeBatch":
+                    checkUp();
+                    for (Map<Integer, Object> row : batch) {
+                        append((String) row.get(1), (String) row.get(2), (String) row.get(3));
+                    }
+                    int[] counts = new int[batch.size()];
+                    batch.clear();
+                    return counts;
+                case "executeUpdate":
+                    checkUp();
+                    return 0;
+                case "executeQuery":
+                    checkUp();
+                    return query(prepared != null ? prepared : (String) args[0], parameters);
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private synchronized ResultSet query(String sql, Map<Integer, Object> parameters) {
+        List<Object[]> result = new ArrayList<>();
+        if (sql.contains("MAX(id)")) {
+            long max = 0;
+            for (Row row : rows) {
+                max = Math.max(max, row.id);
+            }
+            result.add(new Object[]{max});
+        } else if (sql.contains("id IN")) {
+            Set<Object> ids = new HashSet<>(parameters.values());
+            for (Row row : rows) {
+                if (ids.contains(row.id)) {
+                    result.add(row.columns());
+                }
+            }
+        } else {
+            long after = (Long) parameters.get(1);
+            List<Row> newer = new ArrayList<>();
+            for (Row row : rows) {
+                if (row.id > after) {
+                    newer.add(row);
+                }
+            }
+            newer.sort(Comparator.comparingLong(row -> row.id));
+            Matcher limit = LIMIT.matcher(sql);
+            int max = limit.find() ? Integer.parseInt(limit.group(1)) : Integer.MAX_VALUE;
+            for (Row row : newer.subList(0, Math.min(max, newer.size()))) {
+                result.add(row.columns());
+            }
+        }
+        return resultSet(result);
+    }
+
+    private static ResultSet resultSet(List<Object[]> result) {
+        List<String> columns = List.of("id", "topic", "change_key", "origin");
+        int[] cursor = {-1};
+        return proxy(ResultSet.class, (method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    return ++cursor[0] < result.size();
+                case "getLong":
+                case "getString":
+                    int column = args[0] instanceof Integer ? (Integer) args[0] - 1 : columns.indexOf(args[0]);
+                    return result.get(cursor[0])[column];
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private void checkUp() throws SQLException {
+        if (down) {
+            throw new SQLException("Communications link failure", "08S01");
+        }
+    }
+
+    // Methods the handler does not answer return null, or zero/false for primitives
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(FakeChangeLogDriver.class.getClassLoader(), new Class<?>[]{type},
+                (self, method, args) -> {
+                    Object result = handler.handle(method, args);
+                    return result != null ? result : defaultValue(method);
+                }));
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url.startsWith(URL);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return Logger.getLogger(FakeChangeLogDriver.class.getName());
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws SQLException;
+    }
+
+    static final class Row {
+        final long id;
+        final String topic;
+        final String key;
+        final String origin;
+
+        Row(long id, String topic, String key, String origin) {
+            this.id = id;
+            this.topic = topic;
+            this.key = key;
+            this.origin = origin;
+        }
+
+        Object[] columns() {
+            return new Object[]{id, topic, key, origin};
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.bank.crm.metrics;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallValuesHaveTheirOwnBucket() {
+        for (long micros = 0; micros < 32; micros++) {
+            assertEquals(micros, LatencyHistogram.bucketOf(micros));
+            assertEquals(micros, LatencyHistogram.upperBoundOf((int) micros));
+        }
+        assertEquals(32, LatencyHistogram.bucketOf(32));
+        assertEquals(33, LatencyHistogram.upperBoundOf(32));
+    }
+
+    @Test
+    public void bucketsTileTheRangeWithoutGaps() {
+        long previousUpper = -1;
+        for (int bucket = 0; bucket < LatencyHistogram.BUCKET_COUNT; bucket++) {
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+            assertTrue("bucket " + bucket, upper > previousUpper);
+            // The first and last value of every bucket map back to it
+            assertEquals(bucket, LatencyHistogram.bucketOf(previousUpper + 1));
+            assertEquals(bucket, LatencyHistogram.bucketOf(upper));
+            previousUpper = upper;
+        }
+        assertEquals((1L << 41) - 1, previousUpper);
+    }
+
+    @Test
+    public void valuesBeyondTheRangeGoInTheLastBucket() {
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketOf(1L << 41));
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void upperBoundIsWithinASixteenthOfTheValue() {
+        Random random = new Random(47);
+        for (int i = 0; i < 100_000; i++) {
+            long micros = random.nextLong() >>> (23 + random.nextInt(40));
+            long upper = LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(micros));
+            assertTrue(micros + " -> " + upper, upper >= micros);
+            assertTrue(micros + " -> " + upper, upper - micros <= micros / 16);
+        }
+    }
+
+    @Test
+    public void percentilesAreCappedAtTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.recordNanos(millis * 1_000_000L);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMeanMillis(), 1e-9);
+        assertEquals(100.0, histogram.getMaxMillis(), 1e-9);
+        assertEquals(100.0, histogram.getPercentileMillis(100), 1e-9);
+        double p50 = histogram.getPercentileMillis(50);
+        assertTrue(String.valueOf(p50), p50 >= 50 && p50 <= 50 * 17 / 16.0);
+        assertEquals(0, new LatencyHistogram().getPercentileMillis(99), 0);
+    }
+}
@@ -0,0 +1,98 @@
+package com.bank.crm.notification;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReadBitmapTest {
+
+    @Test
+    public void addAndContains() {
+        ReadBitmap bitmap = new ReadBitmap();
+        assertTrue(bitmap.add(7));
+        assertTrue(bitmap.add(70_000));
+        assertFalse(bitmap.add(7));
+
+        assertEquals(2, bitmap.cardinality());
+        assertTrue(bitmap.contains(7));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(8));
+        assertFalse(bitmap.contains(70_000 - 65_536));
+    }
+
+    @Test
+    public void denseChunkSwitchesToBitset() {
+        ReadBitmap bitmap = new ReadBitmap();
+        // Every other id, so the chunk passes the array limit and keeps some gaps
+        for (int id = 0; id < 20_000; id += 2) {
+            assertTrue(bitmap.add(id));
+        }
+        assertFalse(bitmap.add(4096));
+
+        assertEquals(10_000, bitmap.cardinality());
+        for (int id = 0; id < 20_000; id++) {
+            assertEquals(id % 2 == 0, bitmap.contains(id));
+        }
+    }
+
+    @Test
+    public void serializeRoundTrip() {
+        ReadBitmap bitmap = new ReadBitmap();
+        for (int id = 0; id < 5000; id++) {
+            bitmap.add(id);
+        }
+        bitmap.add(1 << 20);
+        bitmap.add(Integer.MAX_VALUE);
+
+        ReadBitmap copy = ReadBitmap.deserialize(bitmap.serialize());
+        assertEquals(bitmap.cardinality(), copy.cardinality());
+        assertTrue(copy.contains(4999));
+        assertFalse(copy.contains(5000));
+        assertTrue(copy.contains(1 << 20));
+        assertTrue(copy.contains(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void deserializeEmpty() {
+        assertEquals(0, ReadBitmap.deserialize(null).cardinality());
+        assertEquals(0, ReadBitmap.deserialize(new byte[0]).cardinality());
+        assertEquals(0, ReadBitmap.deserialize(new ReadBitmap().serialize()).cardinality());
+    }
+
+    @Test
+    public void matchesHashSetOverRandomOperations() {
+        Random random = new Random(28);
+        ReadBitmap bitmap = new ReadBitmap();
+        ReadBitmap other = new ReadBitmap();
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            // Mostly one dense chunk, plus sparse ids spread over a few others
+            int id = random.nextInt(4) == 0 ? random.nextInt(1 << 20) : random.nextInt(8192);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(id), bitmap.add(id));
+            } else {
+                other.add(id);
+            }
+        }
+        for (int id = 0; id < 1 << 20; id++) {
+            if (other.contains(id)) {
+                expected.add(id);
+            }
+        }
+
+        bitmap.or(other);
+        ReadBitmap copy = ReadBitmap.deserialize(bitmap.serialize());
+        assertEquals(expected.size(), bitmap.cardinality());
+        assertEquals(expected.size(), copy.cardinality());
+        for (int id = 0; id < 1 << 20; id++) {
+            assertEquals(expected.contains(id), bitmap.contains(id));
+            assertEquals(expected.contains(id), copy.contains(id));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.bank.crm.search;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AccountNumberTrieTest {
+
+    @Test
+    public void addAndContains() {
+        AccountNumberTrie trie = new AccountNumberTrie();
+        assertTrue(trie.add("ACC1001"));
+        assertTrue(trie.add("ACC1002"));
+        assertFalse(trie.add("ACC1001"));
+
+        assertEquals(2, trie.size());
+        assertTrue(trie.contains("ACC1001"));
+        assertFalse(trie.contains("ACC100"));
+        assertFalse(trie.contains("ACC10011"));
+    }
+
+    @Test
+    public void keyThatIsAPrefixOfAnother() {
+        AccountNumberTrie trie = new AccountNumberTrie();
+        trie.add("ACC10012");
+        trie.add("ACC1001");
+
+        assertTrue(trie.contains("ACC1001"));
+        assertEquals(List.of("ACC1001", "ACC10012"), trie.complete("ACC100", 10));
+
+        assertTrue(trie.remove("ACC1001"));
+        assertFalse(trie.contains("ACC1001"));
+        assertTrue(trie.contains("ACC10012"));
+    }
+
+    @Test
+    public void removeMissingKey() {
+        AccountNumberTrie trie = new AccountNumberTrie();
+        trie.add("ACC1001");
+
+        assertFalse(trie.remove("ACC1002"));
+        assertFalse(trie.remove("ACC100"));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    public void completeRespectsLimitAndOrder() {
+        AccountNumberTrie trie = new AccountNumberTrie();
+        for (String key : new String[]{"ACC3", "ACC1", "ACC2", "BCC1"}) {
+            trie.add(key);
+        }
+
+        assertEquals(List.of("ACC1", "ACC2"), trie.complete("AC", 2));
+        assertEquals(List.of(), trie.complete("ACD", 10));
+        assertEquals(List.of("ACC1", "ACC2", "ACC3", "BCC1"), trie.complete("", 10));
+    }
+
+    // Random adds and removes over a small alphabet force edge splits and merges
+    @Test
+    public void matchesTreeSetOverRandomOperations() {
+        Random random = new Random(42);
+        AccountNumberTrie trie = new AccountNumberTrie();
+        TreeSet<String> expected = new TreeSet<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            String key = randomKey(random);
+            if (random.nextInt(4) == 0) {
+                assertEquals("remove " + key, expected.remove(key), trie.remove(key));
+            } else {
+                assertEquals("add " + key, expected.add(key), trie.add(key));
+            }
+            assertEquals(expected.size(), trie.size());
+
+            if (i % 500 == 0) {
+                String prefix = key.substring(0, random.nextInt(key.length() + 1));
+                assertEquals("complete " + prefix, startingWith(expected, prefix, 25), trie.complete(prefix, 25));
+            }
+        }
+
+        for (String key : expected) {
+            assertTrue(key, trie.contains(key));
+        }
+        assertEquals(new ArrayList<>(expected), trie.complete("", Integer.MAX_VALUE));
+    }
+
+    private static String randomKey(Random random) {
+        StringBuilder key = new StringBuilder("ACC");
+        int length = 1 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            key.append((char) ('0' + random.nextInt(3)));
+        }
+        return key.toString();
+    }
+
+    private static List<String> startingWith(TreeSet<String> keys, String prefix, int limit) {
+        List<String> matches = new ArrayList<>();
+        for (String key : keys.tailSet(prefix)) {
+            if (!key.startsWith(prefix) || matches.size() == limit) {
+                break;
+            }
+            matches.add(key);
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,166 @@
+package com.bank.crm.search;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PrefixIndexTest {
+    private static final int FIELDS = 3;
+
+    @Test
+    public void findsFieldStartsBeforeAndAfterCompaction() {
+        String[][] docs = {
+                {"alice smith", "alice@bank.com", "ACC1001"},
+                {"bob jones", "bob@bank.com", "ACC1002"},
+                {"alicia stone", "astone@bank.com", "ACC2001"},
+        };
+        PrefixIndex index = newIndex(docs, false);
+        markAll(index, docs.length);
+
+        // Dirty slots are scanned directly
+        assertEquals(Set.of("0:0:0", "0:1:0", "2:0:0"), find(index, "ali"));
+        assertEquals(Set.of("0:2:0", "1:2:0"), find(index, "ACC100"));
+
+        compact(index);
+        assertEquals(0, index.dirtyCount());
+        assertEquals(9, index.size());
+        assertEquals(List.of("0:0:0", "0:1:0", "2:0:0"), findInOrder(index, "ali"));
+        assertEquals(Set.of(), find(index, "smith"));
+    }
+
+    @Test
+    public void findsWordStartsAfterTheFirstCharacter() {
+        String[][] docs = {{"alice smith", "alice.smith@bank.com", ""}};
+        PrefixIndex index = newIndex(docs, true);
+        markAll(index, docs.length);
+        compact(index);
+
+        assertEquals(Set.of("0:0:6", "0:1:6"), find(index, "smith"));
+        assertEquals(Set.of("0:1:12"), find(index, "bank"));
+        // The field start itself belongs to the other index
+        assertEquals(Set.of(), find(index, "alice"));
+    }
+
+    @Test
+    public void changedSlotIsNotFoundUnderItsOldKey() {
+        String[][] docs = {{"alice", "", ""}, {"albert", "", ""}};
+        PrefixIndex index = newIndex(docs, false);
+        markAll(index, docs.length);
+        compact(index);
+
+        docs[0][0] = "zoe";
+        index.markDirty(0);
+        assertEquals(Set.of("1:0:0"), find(index, "al"));
+        assertEquals(Set.of("0:0:0"), find(index, "zo"));
+
+        compact(index);
+        assertEquals(Set.of("1:0:0"), find(index, "al"));
+        assertEquals(Set.of("0:0:0"), find(index, "zo"));
+    }
+
+    @Test
+    public void visitorCanStopTheLookup() {
+        String[][] docs = {{"anna", "", ""}, {"andy", "", ""}, {"anton", "", ""}};
+        PrefixIndex index = newIndex(docs, false);
+        markAll(index, docs.length);
+        compact(index);
+
+        List<Integer> visited = new ArrayList<>();
+        index.find("an", (slot, field, offset) -> {
+            visited.add(slot);
+            return visited.size() < 2;
+        });
+        assertEquals(List.of(1, 0), visited);
+    }
+
+    @Test
+    public void matchesBruteForceOverRandomUpdates() {
+        Random random = new Random(36);
+        String[][] docs = new String[200][FIELDS];
+        for (String[] doc : docs) {
+            for (int field = 0; field < FIELDS; field++) {
+                doc[field] = randomText(random, 1 + random.nextInt(12));
+            }
+        }
+        for (boolean wordStarts : new boolean[]{false, true}) {
+            PrefixIndex index = newIndex(docs, wordStarts);
+            markAll(index, docs.length);
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < 10; i++) {
+                    int slot = random.nextInt(docs.length);
+                    docs[slot][random.nextInt(FIELDS)] = randomText(random, 1 + random.nextInt(12));
+                    index.markDirty(slot);
+                }
+                if (random.nextBoolean()) {
+                    compact(index);
+                }
+                for (int i = 0; i < 20; i++) {
+                    String prefix = randomText(random, 1 + random.nextInt(2));
+                    assertEquals(bruteForce(docs, prefix, wordStarts), find(index, prefix));
+                }
+            }
+        }
+    }
+
+    private static PrefixIndex newIndex(String[][] docs, boolean wordStarts) {
+        return new PrefixIndex((slot, field) -> docs[slot][field], FIELDS, wordStarts);
+    }
+
+    private static void markAll(PrefixIndex index, int count) {
+        for (int slot = 0; slot < count; slot++) {
+            index.markDirty(slot);
+        }
+    }
+
+    private static void compact(PrefixIndex index) {
+        index.install(index.buildCompacted());
+    }
+
+    private static Set<String> find(PrefixIndex index, String prefix) {
+        Set<String> found = new HashSet<>();
+        index.find(prefix, (slot, field, offset) -> {
+            assertTrue("visited twice: " + slot + ":" + field + ":" + offset,
+                    found.add(slot + ":" + field + ":" + offset));
+            return true;
+        });
+        return found;
+    }
+
+    private static List<String> findInOrder(PrefixIndex index, String prefix) {
+        List<String> found = new ArrayList<>();
+        index.find(prefix, (slot, field, offset) -> found.add(slot + ":" + field + ":" + offset));
+        return found;
+    }
+
+    private static Set<String> bruteForce(String[][] docs, String prefix, boolean wordStarts) {
+        Set<String> expected = new HashSet<>();
+        for (int slot = 0; slot < docs.length; slot++) {
+            for (int field = 0; field < FIELDS; field++) {
+                String key = docs[slot][field];
+                for (int offset = 0; offset < key.length(); offset++) {
+                    boolean start = wordStarts ? offset > 0 && PrefixIndex.isWordStart(key, offset) : offset == 0;
+                    if (start && key.startsWith(prefix, offset)) {
+                        expected.add(slot + ":" + field + ":" + offset);
+                    }
+                }
+            }
+        }
+        return expected;
+    }
+
+    // Small alphabet so prefixes collide often
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append(random.nextInt(5) == 0 ? ' ' : (char) ('a' + random.nextInt(3)));
+        }
+        return text.toString();
+    }
+}
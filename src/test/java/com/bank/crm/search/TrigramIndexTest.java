@@ -0,0 +1,97 @@
+package com.bank.crm.search;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TrigramIndexTest {
+
+    @Test
+    public void candidatesComeFromTheRarestTrigram() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(0, "alice smith");
+        index.add(1, "bob smithers");
+        index.add(2, "carol smyth");
+
+        // "smi" is in two documents, "ers" only in one
+        assertEquals(List.of(1), candidates(index, "ithers"));
+        assertEquals(List.of(0, 1), candidates(index, "smith"));
+    }
+
+    @Test
+    public void noCandidatesForUnknownOrShortQueries() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(0, "alice smith");
+
+        assertEquals(List.of(), candidates(index, "xyz"));
+        assertEquals(List.of(), candidates(index, "smithx"));
+        assertEquals(List.of(), candidates(index, "sm"));
+    }
+
+    @Test
+    public void repeatedTrigramIsPostedOnce() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(0, "aaaaaa");
+        index.add(1, "aaa");
+
+        assertEquals(1, index.trigramCount());
+        assertEquals(List.of(0, 1), candidates(index, "aaa"));
+    }
+
+    @Test
+    public void visitorCanStopTheWalk() {
+        TrigramIndex index = new TrigramIndex();
+        for (int slot = 0; slot < 10; slot++) {
+            index.add(slot, "account " + slot);
+        }
+
+        List<Integer> visited = new ArrayList<>();
+        index.forEachCandidate("acc", slot -> {
+            visited.add(slot);
+            return visited.size() < 3;
+        });
+        assertEquals(List.of(0, 1, 2), visited);
+    }
+
+    @Test
+    public void candidatesCoverEveryMatch() {
+        Random random = new Random(36);
+        String[] docs = new String[500];
+        TrigramIndex index = new TrigramIndex();
+        for (int slot = 0; slot < docs.length; slot++) {
+            docs[slot] = randomText(random, 5 + random.nextInt(20));
+            index.add(slot, docs[slot]);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String query = randomText(random, 3 + random.nextInt(3));
+            Set<Integer> candidates = new HashSet<>(candidates(index, query));
+            for (int slot = 0; slot < docs.length; slot++) {
+                if (docs[slot].contains(query)) {
+                    assertTrue(query + " in slot " + slot, candidates.contains(slot));
+                }
+            }
+        }
+    }
+
+    private static List<Integer> candidates(TrigramIndex index, String query) {
+        List<Integer> slots = new ArrayList<>();
+        index.forEachCandidate(query, slots::add);
+        return slots;
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(4)));
+        }
+        return text.toString();
+    }
+}